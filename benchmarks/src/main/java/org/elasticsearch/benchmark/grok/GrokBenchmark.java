@@ -0,0 +1,77 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.grok;
+
+import org.elasticsearch.grok.Grok;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class GrokBenchmark {
+    private static final Map<String, String> LINES = Map.of(
+        "COMMONAPACHELOG",
+        "31.184.238.164 - - [24/Jul/2014:05:35:37 +0530] \"GET /logs/access.log HTTP/1.0\" 200 69849",
+        "COMBINEDAPACHELOG",
+        "31.184.238.164 - - [24/Jul/2014:05:35:37 +0530] \"GET /logs/access.log HTTP/1.0\" 200 69849 "
+            + "\"http://8rursodiol.enjin.com\" \"Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.36 (KHTML, like Gecko)\"",
+        "SYSLOGLINE",
+        "Mar 16 00:01:25 evita postfix/smtpd[1713]: connect from camomile.cloud9.net[168.100.1.3]",
+        "HAPROXYHTTP",
+        "Sep 14 06:30:43 localhost haproxy[14389]: 10.0.1.2:33317 [14/Sep/2014:06:30:43.123] frontend backend/server1 "
+            + "10/0/30/69/109 200 2750 - - ---- 1/1/0/1/0 0/0 \"GET /index.html HTTP/1.1\""
+    );
+
+    /**
+     * A line that none of the patterns match, like the ones a grok processor sees when it tries several patterns in turn.
+     */
+    private static final String MISMATCHING_LINE =
+        "java.lang.IllegalStateException: failed to obtain node locks, tried [[/var/lib/elasticsearch]] with lock id [0]";
+
+    @Param({ "COMMONAPACHELOG", "COMBINEDAPACHELOG", "SYSLOGLINE", "HAPROXYHTTP" })
+    private String pattern;
+
+    @Param({ "false", "true" })
+    private boolean ecsCompatibility;
+
+    private Grok grok;
+    private String matchingLine;
+
+    @Setup
+    public void setup() {
+        grok = new Grok(Grok.getBuiltinPatterns(ecsCompatibility), "%{" + pattern + "}", message -> {});
+        matchingLine = LINES.get(pattern);
+    }
+
+    @Benchmark
+    public Map<String, Object> captures() {
+        return grok.captures(matchingLine);
+    }
+
+    @Benchmark
+    public boolean mismatch() {
+        return grok.match(MISMATCHING_LINE);
+    }
+}
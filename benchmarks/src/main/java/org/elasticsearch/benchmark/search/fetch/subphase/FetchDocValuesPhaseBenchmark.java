@@ -0,0 +1,133 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.search.fetch.subphase;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.index.fielddata.IndexFieldDataCache;
+import org.elasticsearch.index.mapper.DocValueFetcher;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.NumberFieldMapper.NumberFieldType;
+import org.elasticsearch.index.mapper.NumberFieldMapper.NumberType;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.search.lookup.SourceLookup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading {@code docvalue_fields} one hit at a time, re-positioning every
+ * field's iterator for each hit, with loading every hit of a segment one field at a time.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class FetchDocValuesPhaseBenchmark {
+    private static final int DOCS = 200_000;
+
+    @Param({ "30" })
+    private int fields;
+    @Param({ "100", "10000" })
+    private int hits;
+
+    private Directory directory;
+    private DirectoryReader reader;
+    private LeafReaderContext context;
+    private MappedFieldType[] fieldTypes;
+    private int[] docIds;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(0);
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter w = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int d = 0; d < DOCS; d++) {
+                Document doc = new Document();
+                for (int f = 0; f < fields; f++) {
+                    doc.add(new SortedNumericDocValuesField("f" + f, random.nextLong()));
+                }
+                w.addDocument(doc);
+            }
+            w.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        context = reader.leaves().get(0);
+        fieldTypes = new MappedFieldType[fields];
+        for (int f = 0; f < fields; f++) {
+            fieldTypes[f] = new NumberFieldType("f" + f, NumberType.LONG);
+        }
+        docIds = random.ints(0, DOCS).distinct().limit(hits).sorted().toArray();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public List<Object> perHit() throws IOException {
+        DocValueFetcher[] fetchers = fetchers();
+        List<Object> results = new ArrayList<>(hits * fields);
+        SourceLookup lookup = new SourceLookup();
+        for (int docId : docIds) {
+            lookup.setSegmentAndDocument(context, docId);
+            for (DocValueFetcher fetcher : fetchers) {
+                results.add(fetcher.fetchValues(lookup, new ArrayList<>()));
+            }
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<Object> perSegment() throws IOException {
+        DocValueFetcher[] fetchers = fetchers();
+        List<Object> results = new ArrayList<>(fields);
+        for (DocValueFetcher fetcher : fetchers) {
+            results.add(fetcher.fetchValues(docIds));
+        }
+        return results;
+    }
+
+    private DocValueFetcher[] fetchers() {
+        return Arrays.stream(fieldTypes).map(ft -> {
+            DocValueFetcher fetcher = new DocValueFetcher(
+                ft.docValueFormat(null, null),
+                ft.fielddataBuilder("test", () -> null).build(new IndexFieldDataCache.None(), new NoneCircuitBreakerService())
+            );
+            fetcher.setNextReader(context);
+            return fetcher;
+        }).toArray(DocValueFetcher[]::new);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.xcontent;
+
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.xcontent.XContent;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.smile.SmileXContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a search response like list of hits as SMILE, with and without sharing repeated string values. The returned size of the
+ * response shows how much sharing saves for a given number of distinct values, the measured time what it costs to look them up.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SmileResponseBenchmark {
+
+    @Param({ "smile", "smile_response" })
+    private String xContentType;
+
+    @Param({ "1", "100", "10000" })
+    private int distinctValues;
+
+    @Param({ "1000" })
+    private int hits;
+
+    private XContent xContent;
+    private String[] ids;
+    private String[] tags;
+
+    @Setup
+    public void setup() {
+        xContent = switch (xContentType) {
+            case "smile" -> SmileXContent.smileXContent;
+            case "smile_response" -> SmileXContent.smileResponseXContent;
+            default -> throw new IllegalArgumentException("Unknown xContentType [" + xContentType + "]");
+        };
+        ids = new String[hits];
+        tags = new String[hits];
+        for (int i = 0; i < hits; i++) {
+            ids[i] = String.format(Locale.ROOT, "%020d", i);
+            tags[i] = "tag-" + (i % distinctValues);
+        }
+    }
+
+    @Benchmark
+    public long writeHits() throws IOException {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            try (XContentBuilder builder = new XContentBuilder(xContent, out)) {
+                builder.startObject().startArray("hits");
+                for (int i = 0; i < hits; i++) {
+                    builder.startObject();
+                    builder.field("_index", "my-index-000001");
+                    builder.field("_id", ids[i]);
+                    builder.field("tag", tags[i]);
+                    builder.endObject();
+                }
+                builder.endArray().endObject();
+            }
+            return out.size();
+        }
+    }
+}
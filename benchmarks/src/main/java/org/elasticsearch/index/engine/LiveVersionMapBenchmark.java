@@ -0,0 +1,108 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.index.engine;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.lucene.uid.Versions;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.index.mapper.Uid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the {@link LiveVersionMap} operations that the engine performs for every indexing operation, i.e.
+ * a lookup of the current version followed by a put, with periodic refreshes that swap the maps. Run with {@code -prof gc} to
+ * compare the allocation rate of the safe (client provided ids) and unsafe (auto-generated ids) access modes.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(LiveVersionMapBenchmark.OPERATIONS)
+@State(Scope.Thread)
+public class LiveVersionMapBenchmark {
+    static final int OPERATIONS = 100_000;
+
+    /**
+     * Number of operations between two refreshes.
+     */
+    @Param({ "1000", "10000" })
+    private int refreshInterval;
+
+    /**
+     * Whether the map tracks every id, as it does once an operation with a client provided id needed safe access.
+     */
+    @Param({ "true", "false" })
+    private boolean safeAccess;
+
+    private BytesRef[] uids;
+
+    @Setup
+    public void setupUids() {
+        Random random = new Random(0);
+        uids = new BytesRef[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            // ids as they are encoded for the _id field, these are what the engine uses as version map keys
+            uids[i] = Uid.encodeId(Long.toString(random.nextLong() & Long.MAX_VALUE, Character.MAX_RADIX));
+        }
+    }
+
+    @Benchmark
+    public void getAndPut(Blackhole bh) throws IOException {
+        LiveVersionMap map = new LiveVersionMap();
+        if (safeAccess) {
+            map.enforceSafeAccess();
+        }
+        for (int i = 0; i < OPERATIONS; i++) {
+            BytesRef uid = uids[i];
+            try (Releasable ignored = map.acquireLock(uid)) {
+                bh.consume(map.getUnderLock(uid));
+                map.maybePutIndexUnderLock(uid, new IndexVersionValue(null, Versions.MATCH_ANY, i, 1));
+            }
+            if ((i + 1) % refreshInterval == 0) {
+                map.beforeRefresh();
+                map.afterRefresh(true);
+            }
+        }
+        bh.consume(map.ramBytesUsed());
+    }
+
+    @Benchmark
+    public void deleteAndPrune(Blackhole bh) throws IOException {
+        LiveVersionMap map = new LiveVersionMap();
+        for (int i = 0; i < OPERATIONS; i++) {
+            BytesRef uid = uids[i];
+            try (Releasable ignored = map.acquireLock(uid)) {
+                bh.consume(map.getUnderLock(uid));
+                map.putDeleteUnderLock(uid, new DeleteVersionValue(Versions.MATCH_ANY, i, 1, i));
+            }
+            if ((i + 1) % refreshInterval == 0) {
+                map.beforeRefresh();
+                map.afterRefresh(true);
+                map.pruneTombstones(i, i);
+            }
+        }
+        bh.consume(map.ramBytesUsed());
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.grok;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Literal strings that any text matching a regular expression must contain. Checking for them is a cheap linear scan
+ * that lets {@link Grok} reject most texts that don't match without running the backtracking matcher, which is where
+ * it spends most of its time when several patterns are tried one after the other.
+ * <p>
+ * The analysis is conservative: it gives up on anything it doesn't understand, like inline options that make the
+ * expression case insensitive, and only extracts literals from parts of the expression that aren't optional or
+ * alternatives.
+ */
+final class RequiredLiterals {
+    /**
+     * The maximum number of literals to check. Checking the longest ones is enough to reject most texts.
+     */
+    private static final int MAX_LITERALS = 4;
+
+    private final byte[][] literals;
+
+    private RequiredLiterals(byte[][] literals) {
+        this.literals = literals;
+    }
+
+    /**
+     * Extracts the required literals from a regular expression in joni's default (Ruby) syntax.
+     * @return the required literals or {@code null} if none could be found
+     */
+    static RequiredLiterals of(String regex) {
+        List<String> found;
+        try {
+            Parser parser = new Parser(regex);
+            found = parser.sequence();
+            if (parser.pos != regex.length()) {
+                return null;
+            }
+        } catch (UnsupportedConstructException e) {
+            return null;
+        }
+        byte[][] literals = found.stream()
+            .distinct()
+            .map(literal -> literal.getBytes(StandardCharsets.UTF_8))
+            .sorted(Comparator.comparingInt((byte[] literal) -> literal.length).reversed())
+            .limit(MAX_LITERALS)
+            .toArray(byte[][]::new);
+        return literals.length == 0 ? null : new RequiredLiterals(literals);
+    }
+
+    /**
+     * Returns {@code false} if the text can't match because it lacks one of the required literals.
+     */
+    boolean mayMatch(byte[] utf8Bytes, int offset, int length) {
+        for (byte[] literal : literals) {
+            if (indexOf(utf8Bytes, offset, offset + length, literal) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    List<String> literals() {
+        return Arrays.stream(literals).map(literal -> new String(literal, StandardCharsets.UTF_8)).toList();
+    }
+
+    static int indexOf(byte[] bytes, int from, int to, byte[] literal) {
+        byte first = literal[0];
+        int last = to - literal.length;
+        for (int i = from; i <= last; i++) {
+            if (bytes[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < literal.length && bytes[i + j] == literal[j]) {
+                j++;
+            }
+            if (j == literal.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Thrown by the {@link Parser} to give up on an expression. It doesn't fill in its stack trace since it never leaves this class
+     * and is thrown for every pattern the parser doesn't understand.
+     */
+    private static final class UnsupportedConstructException extends RuntimeException {
+        UnsupportedConstructException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * Walks the expression and collects the runs of literal characters that every match must contain. Throws
+     * {@link UnsupportedConstructException} when it finds a construct it can't reason about.
+     */
+    private static final class Parser {
+        private final String regex;
+        private int pos;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        /**
+         * Parses a sequence up to the end of the enclosing group.
+         * @return the required literals of the sequence, none if the sequence contains alternatives
+         */
+        List<String> sequence() {
+            List<String> literals = new ArrayList<>();
+            StringBuilder run = new StringBuilder();
+            boolean alternatives = false;
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos);
+                if (c == ')') {
+                    break;
+                }
+                if (c == '|') {
+                    alternatives = true;
+                    pos++;
+                    flush(run, literals);
+                    continue;
+                }
+
+                String literal = null;
+                List<String> groupLiterals = null;
+                switch (c) {
+                    case '(' -> groupLiterals = group();
+                    case '[' -> characterClass();
+                    case '\\' -> literal = escape();
+                    case '.', '^', '$' -> pos++;
+                    case '*', '+', '?' -> throw new UnsupportedConstructException("quantifier without target");
+                    default -> {
+                        int codePoint = regex.codePointAt(pos);
+                        literal = new String(Character.toChars(codePoint));
+                        pos += Character.charCount(codePoint);
+                    }
+                }
+
+                Repetition repetition = repetition();
+                if (literal != null && repetition != Repetition.OPTIONAL) {
+                    run.append(literal);
+                    if (repetition == Repetition.NONE) {
+                        continue;
+                    }
+                }
+                flush(run, literals);
+                if (groupLiterals != null && repetition != Repetition.OPTIONAL) {
+                    literals.addAll(groupLiterals);
+                }
+            }
+            flush(run, literals);
+            return alternatives ? List.of() : literals;
+        }
+
+        private static void flush(StringBuilder run, List<String> literals) {
+            if (run.length() > 0) {
+                literals.add(run.toString());
+                run.setLength(0);
+            }
+        }
+
+        /**
+         * Parses a group.
+         * @return the required literals of the group, or {@code null} if the group doesn't consume any text
+         */
+        private List<String> group() {
+            pos++;
+            boolean consuming = true;
+            if (pos < regex.length() && regex.charAt(pos) == '?') {
+                char kind = charAt(pos + 1);
+                if (kind == ':' || kind == '>') {
+                    pos += 2;
+                } else if (kind == '=' || kind == '!') {
+                    consuming = false;
+                    pos += 2;
+                } else if (kind == '<' && (charAt(pos + 2) == '=' || charAt(pos + 2) == '!')) {
+                    consuming = false;
+                    pos += 3;
+                } else if (kind == '<' || kind == '\'') {
+                    pos = skipPast(kind == '<' ? '>' : '\'', pos + 2);
+                } else {
+                    // inline options, comments, conditionals and the like
+                    throw new UnsupportedConstructException("unsupported group");
+                }
+            }
+            List<String> literals = sequence();
+            if (pos >= regex.length()) {
+                throw new UnsupportedConstructException("unclosed group");
+            }
+            pos++;
+            return consuming ? literals : null;
+        }
+
+        private void characterClass() {
+            pos++;
+            if (charAt(pos) == '^') {
+                pos++;
+            }
+            if (charAt(pos) == ']') {
+                pos++;
+            }
+            int depth = 1;
+            while (depth > 0) {
+                if (pos >= regex.length()) {
+                    throw new UnsupportedConstructException("unclosed character class");
+                }
+                char c = regex.charAt(pos++);
+                if (c == '\\') {
+                    pos++;
+                } else if (c == '[') {
+                    depth++;
+                } else if (c == ']') {
+                    depth--;
+                }
+            }
+        }
+
+        /**
+         * Parses an escape sequence.
+         * @return the escaped character if the sequence stands for a plain character, {@code null} otherwise
+         */
+        private String escape() {
+            pos++;
+            if (pos >= regex.length()) {
+                throw new UnsupportedConstructException("trailing backslash");
+            }
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case 'k', 'g' -> {
+                    // back reference or subexpression call by name
+                    char open = charAt(pos);
+                    if (open == '<' || open == '\'') {
+                        pos = skipPast(open == '<' ? '>' : '\'', pos + 1);
+                    }
+                    return null;
+                }
+                case 'p', 'P', 'x' -> {
+                    // properties and hex escapes
+                    if (charAt(pos) == '{') {
+                        pos = skipPast('}', pos + 1);
+                    } else if (c == 'x') {
+                        for (int i = 0; i < 2 && Character.digit(charAt(pos), 16) >= 0; i++) {
+                            pos++;
+                        }
+                    }
+                    return null;
+                }
+                case 'Q', 'c', 'C', 'M', 'u' -> throw new UnsupportedConstructException("unsupported escape");
+                default -> {
+                    if (Character.isDigit(c)) {
+                        // back references and octal escapes
+                        while (pos < regex.length() && Character.isDigit(regex.charAt(pos))) {
+                            pos++;
+                        }
+                        return null;
+                    }
+                    if (Character.isLetter(c)) {
+                        // character types, anchors and control characters
+                        return null;
+                    }
+                    return String.valueOf(c);
+                }
+            }
+        }
+
+        /**
+         * Parses the quantifiers after an element, if any.
+         */
+        private Repetition repetition() {
+            Repetition repetition = Repetition.NONE;
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos);
+                int min;
+                if (c == '?' || c == '*') {
+                    min = 0;
+                    pos++;
+                } else if (c == '+') {
+                    min = 1;
+                    pos++;
+                } else if (c == '{') {
+                    int end = regex.indexOf('}', pos);
+                    if (end <= pos + 1 || regex.substring(pos + 1, end).matches("\\d*(,\\d*)?") == false) {
+                        // not a quantifier but a literal brace
+                        break;
+                    }
+                    String bounds = regex.substring(pos + 1, end);
+                    int comma = bounds.indexOf(',');
+                    String lower = comma < 0 ? bounds : bounds.substring(0, comma);
+                    min = lower.isEmpty() ? 0 : Integer.parseInt(lower);
+                    pos = end + 1;
+                } else {
+                    break;
+                }
+                // lazy and possessive modifiers don't change how often the element has to match
+                if (charAt(pos) == '?' || charAt(pos) == '+') {
+                    pos++;
+                }
+                if (min == 0) {
+                    repetition = Repetition.OPTIONAL;
+                } else if (repetition == Repetition.NONE) {
+                    repetition = Repetition.REPEATED;
+                }
+            }
+            return repetition;
+        }
+
+        private char charAt(int index) {
+            return index < regex.length() ? regex.charAt(index) : 0;
+        }
+
+        private int skipPast(char c, int from) {
+            int index = regex.indexOf(c, from);
+            if (index < 0) {
+                throw new UnsupportedConstructException("unclosed name");
+            }
+            return index + 1;
+        }
+    }
+
+    private enum Repetition {
+        NONE,
+        OPTIONAL,
+        REPEATED
+    }
+}
@@ -11,6 +11,7 @@ package org.elasticsearch.grok;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.grok.GrokCaptureConfig.NativeExtracterMap;
 import org.elasticsearch.test.ESTestCase;
+import org.joni.Matcher;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -21,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -39,6 +41,7 @@ import static org.elasticsearch.grok.GrokCaptureType.STRING;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
 public class GrokTests extends ESTestCase {
@@ -696,6 +699,35 @@ public class GrokTests extends ESTestCase {
         }
     }
 
+    public void testTextWithoutRequiredLiteralsSkipsMatching() {
+        AtomicInteger matcherRuns = new AtomicInteger();
+        MatcherWatchdog watchdog = new MatcherWatchdog() {
+            @Override
+            public void register(Matcher matcher) {
+                matcherRuns.incrementAndGet();
+            }
+
+            @Override
+            public long maxExecutionTimeInMillis() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public void unregister(Matcher matcher) {}
+        };
+        Grok grok = new Grok(Grok.getBuiltinPatterns(randomBoolean()), "%{COMMONAPACHELOG}", watchdog, logger::warn);
+        int compileRuns = matcherRuns.get();
+
+        assertThat(grok.captures("31.184.238.164 - - 24/Jul/2014:05:35:37 +0530 GET /logs/access.log 200 69849"), nullValue());
+        assertFalse(grok.match("31.184.238.164 - - 24/Jul/2014:05:35:37 +0530 GET /logs/access.log 200 69849"));
+        assertThat(matcherRuns.get(), equalTo(compileRuns));
+
+        String logLine = "31.184.238.164 - - [24/Jul/2014:05:35:37 +0530] \"GET /logs/access.log HTTP/1.0\" 200 69849";
+        assertThat(grok.captures(logLine), notNullValue());
+        assertTrue(grok.match(logLine));
+        assertThat(matcherRuns.get(), equalTo(compileRuns + 2));
+    }
+
     public void testComplete() {
         Map<String, String> bank = new HashMap<>();
         bank.put("MONTHDAY", "(?:(?:0[1-9])|(?:[12][0-9])|(?:3[01])|[1-9])");
@@ -0,0 +1,136 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.grok;
+
+import org.elasticsearch.test.ESTestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+public class RequiredLiteralsTests extends ESTestCase {
+
+    public void testPlainLiteral() {
+        assertThat(RequiredLiterals.of("foo").literals(), contains("foo"));
+    }
+
+    public void testLiteralsAreSplitByVariableParts() {
+        assertThat(RequiredLiterals.of("foo\\d+bar baz").literals(), contains("bar baz", "foo"));
+        assertThat(RequiredLiterals.of("foo.*bar").literals(), contains("foo", "bar"));
+        assertThat(RequiredLiterals.of("a[bc]d").literals(), containsInAnyOrder("a", "d"));
+    }
+
+    public void testOptionalPartsAreSkipped() {
+        assertThat(RequiredLiterals.of("ab?c").literals(), containsInAnyOrder("a", "c"));
+        assertThat(RequiredLiterals.of("ab*c").literals(), containsInAnyOrder("a", "c"));
+        assertThat(RequiredLiterals.of("ab{0,2}c").literals(), containsInAnyOrder("a", "c"));
+        assertThat(RequiredLiterals.of("a(?:bc)?d").literals(), containsInAnyOrder("a", "d"));
+        assertThat(RequiredLiterals.of("(?:foo)?"), nullValue());
+    }
+
+    public void testRepeatedPartsEndTheLiteral() {
+        assertThat(RequiredLiterals.of("ab+c").literals(), contains("ab", "c"));
+        assertThat(RequiredLiterals.of("ab+?c").literals(), contains("ab", "c"));
+        assertThat(RequiredLiterals.of("ab{2,}c").literals(), contains("ab", "c"));
+        assertThat(RequiredLiterals.of("(?:foo)+bar").literals(), contains("foo", "bar"));
+    }
+
+    public void testAlternatives() {
+        assertThat(RequiredLiterals.of("foo|bar"), nullValue());
+        assertThat(RequiredLiterals.of("foo(?:bar|baz)qux").literals(), contains("foo", "qux"));
+        assertThat(RequiredLiterals.of("(?<verb>GET|POST) /").literals(), contains(" /"));
+    }
+
+    public void testGroups() {
+        assertThat(RequiredLiterals.of("(?<name>foo)bar").literals(), contains("foo", "bar"));
+        assertThat(RequiredLiterals.of("(?'name'foo)bar").literals(), contains("foo", "bar"));
+        assertThat(RequiredLiterals.of("(?>foo)").literals(), contains("foo"));
+        assertThat(RequiredLiterals.of("(?=foo)bar").literals(), contains("bar"));
+        assertThat(RequiredLiterals.of("(?<!foo)bar").literals(), contains("bar"));
+        assertThat(RequiredLiterals.of("(foo)\\k<1>bar").literals(), contains("foo", "bar"));
+    }
+
+    public void testEscapes() {
+        assertThat(RequiredLiterals.of("\\[foo\\]").literals(), contains("[foo]"));
+        assertThat(RequiredLiterals.of("a\\.b").literals(), contains("a.b"));
+        assertThat(RequiredLiterals.of("a\\sb").literals(), containsInAnyOrder("a", "b"));
+        assertThat(RequiredLiterals.of("a\\x41b").literals(), containsInAnyOrder("a", "b"));
+        assertThat(RequiredLiterals.of("a\\p{Alpha}b").literals(), containsInAnyOrder("a", "b"));
+        assertThat(RequiredLiterals.of("a{b}").literals(), contains("a{b}"));
+    }
+
+    public void testUnsupportedConstructs() {
+        assertThat(RequiredLiterals.of("(?i)foo"), nullValue());
+        assertThat(RequiredLiterals.of("(?i:foo)"), nullValue());
+        assertThat(RequiredLiterals.of("(?#comment)foo"), nullValue());
+        assertThat(RequiredLiterals.of("\\Qfoo\\E"), nullValue());
+        assertThat(RequiredLiterals.of("(foo"), nullValue());
+        assertThat(RequiredLiterals.of("foo)"), nullValue());
+        assertThat(RequiredLiterals.of("[foo"), nullValue());
+        assertThat(RequiredLiterals.of("\\d+"), nullValue());
+    }
+
+    public void testOnlyTheLongestLiteralsAreKept() {
+        assertThat(RequiredLiterals.of("a.bb.ccc.dddd.eeeee").literals(), contains("eeeee", "dddd", "ccc", "bb"));
+    }
+
+    public void testMayMatch() {
+        RequiredLiterals literals = RequiredLiterals.of("\\[(?<ts>[^\\]]+)\\] \"(?<verb>\\w+) ");
+        assertThat(literals.literals(), contains("] \"", "[", " "));
+        assertTrue(mayMatch(literals, "[24/Jul/2014:05:35:37 +0530] \"GET /"));
+        assertFalse(mayMatch(literals, "24/Jul/2014:05:35:37 +0530 GET /"));
+        assertFalse(mayMatch(literals, "[24/Jul/2014:05:35:37 +0530] GET /"));
+
+        byte[] bytes = "xx[a] \"yy".getBytes(StandardCharsets.UTF_8);
+        assertTrue(literals.mayMatch(bytes, 0, bytes.length));
+        assertTrue(literals.mayMatch(bytes, 2, 5));
+        assertFalse(literals.mayMatch(bytes, 3, 6));
+        assertFalse(literals.mayMatch(bytes, 2, 4));
+    }
+
+    public void testIndexOf() {
+        byte[] bytes = "abcabd".getBytes(StandardCharsets.UTF_8);
+        assertThat(RequiredLiterals.indexOf(bytes, 0, bytes.length, "abd".getBytes(StandardCharsets.UTF_8)), equalTo(3));
+        assertThat(RequiredLiterals.indexOf(bytes, 0, bytes.length, "ab".getBytes(StandardCharsets.UTF_8)), equalTo(0));
+        assertThat(RequiredLiterals.indexOf(bytes, 1, bytes.length, "ab".getBytes(StandardCharsets.UTF_8)), equalTo(3));
+        assertThat(RequiredLiterals.indexOf(bytes, 0, 5, "abd".getBytes(StandardCharsets.UTF_8)), equalTo(-1));
+        assertThat(RequiredLiterals.indexOf(bytes, 0, bytes.length, "abcabdx".getBytes(StandardCharsets.UTF_8)), equalTo(-1));
+    }
+
+    /**
+     * Every built-in pattern has to be either analyzed or rejected, never fail the analysis.
+     */
+    public void testBuiltinPatterns() {
+        for (boolean ecsCompatibility : new boolean[] { false, true }) {
+            Map<String, String> bank = Grok.getBuiltinPatterns(ecsCompatibility);
+            Grok grok = new Grok(bank, "%{DATA}", logger::warn);
+            for (String name : bank.keySet()) {
+                RequiredLiterals literals = RequiredLiterals.of(grok.toRegex("%{" + name + "}"));
+                if (literals != null) {
+                    assertThat(name, literals.literals(), hasSize(lessThanOrEqualTo(4)));
+                    assertThat(name, literals.literals(), everyItem(not(emptyString())));
+                }
+            }
+        }
+    }
+
+    private static boolean mayMatch(RequiredLiterals literals, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return literals.mayMatch(bytes, 0, bytes.length);
+    }
+}
@@ -37,7 +37,14 @@ public class SmileXContent implements XContent {
     }
 
     static final SmileFactory smileFactory;
+    static final SmileFactory responseSmileFactory;
     public static final SmileXContent smileXContent;
+    /**
+     * Like {@link #smileXContent}, but its generators also share short string values that were already written. This turns the values
+     * that repeat across large responses, like the index of every hit or the keys of agg buckets, into back references. Only use it for
+     * content that is sent to clients, so that SMILE that is stored or sent between nodes keeps its encoding.
+     */
+    public static final SmileXContent smileResponseXContent;
 
     static {
         smileFactory = new SmileFactory();
@@ -47,10 +54,18 @@ public class SmileXContent implements XContent {
         // Do not automatically close unclosed objects/arrays in com.fasterxml.jackson.dataformat.smile.SmileGenerator#close() method
         smileFactory.configure(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT, false);
         smileFactory.configure(JsonParser.Feature.STRICT_DUPLICATE_DETECTION, true);
-        smileXContent = new SmileXContent();
+        responseSmileFactory = smileFactory.copy();
+        // field names are shared by default
+        responseSmileFactory.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+        smileXContent = new SmileXContent(smileFactory);
+        smileResponseXContent = new SmileXContent(responseSmileFactory);
     }
 
-    private SmileXContent() {}
+    private final SmileFactory generatorFactory;
+
+    private SmileXContent(SmileFactory generatorFactory) {
+        this.generatorFactory = generatorFactory;
+    }
 
     @Override
     public XContentType type() {
@@ -64,7 +79,7 @@ public class SmileXContent implements XContent {
 
     @Override
     public XContentGenerator createGenerator(OutputStream os, Set<String> includes, Set<String> excludes) throws IOException {
-        return new SmileXContentGenerator(smileFactory.createGenerator(os, JsonEncoding.UTF8), os, includes, excludes);
+        return new SmileXContentGenerator(generatorFactory.createGenerator(os, JsonEncoding.UTF8), os, includes, excludes);
     }
 
     @Override
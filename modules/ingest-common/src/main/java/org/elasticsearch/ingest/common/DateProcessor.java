@@ -101,7 +101,7 @@ public final class DateProcessor extends AbstractProcessor {
         Exception lastException = null;
         for (Function<Map<String, Object>, Function<String, ZonedDateTime>> dateParser : dateParsers) {
             try {
-                dateTime = dateParser.apply(ingestDocument.getSourceAndMetadata()).apply(value);
+                dateTime = dateParser.apply(ingestDocument.getUnmodifiableSourceAndMetadata()).apply(value);
             } catch (Exception e) {
                 // try the next parser and keep track of the exceptions
                 lastException = ExceptionsHelper.useOrSuppress(lastException, e);
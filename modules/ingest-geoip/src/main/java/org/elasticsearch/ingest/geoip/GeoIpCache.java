@@ -7,15 +7,18 @@
  */
 package org.elasticsearch.ingest.geoip;
 
+import com.maxmind.db.Network;
 import com.maxmind.db.NodeCache;
+import com.maxmind.geoip2.model.AbstractCountryResponse;
 import com.maxmind.geoip2.model.AbstractResponse;
+import com.maxmind.geoip2.model.AsnResponse;
 
 import org.elasticsearch.common.cache.Cache;
 import org.elasticsearch.common.cache.CacheBuilder;
 
 import java.net.InetAddress;
 import java.nio.file.Path;
-import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Function;
 
 /**
@@ -23,9 +26,15 @@ import java.util.function.Function;
  * This cache differs from the maxmind's {@link NodeCache} such that this cache stores the deserialized Json objects to avoid the
  * cost of deserialization for each lookup (cached or not). This comes at slight expense of higher memory usage, but significant
  * reduction of CPU usage.
+ * <p>
+ * Responses are cached per network rather than per ip address. All addresses in the network that a database record was found for
+ * share that record, so a single entry serves every address in the network.
  */
 final class GeoIpCache {
     private final Cache<CacheKey, AbstractResponse> cache;
+    // the prefix lengths of the cached networks, bit n of word n / 64 is set if networks with prefix length n are cached
+    private final AtomicLongArray ipv4PrefixLengths = new AtomicLongArray(1);
+    private final AtomicLongArray ipv6PrefixLengths = new AtomicLongArray(3);
 
     // package private for testing
     GeoIpCache(long maxSize) {
@@ -43,13 +52,15 @@ final class GeoIpCache {
     ) {
 
         // can't use cache.computeIfAbsent due to the elevated permissions for the jackson (run via the cache loader)
-        CacheKey cacheKey = new CacheKey(ip, databasePath);
+        byte[] address = ip.getAddress();
         // intentionally non-locking for simplicity...it's OK if we re-put the same key/value in the cache during a race condition.
-        AbstractResponse response = cache.get(cacheKey);
+        AbstractResponse response = get(address, databasePath);
         if (response == null) {
             response = retrieveFunction.apply(ip);
             if (response != null) {
-                cache.put(cacheKey, response);
+                int prefixLength = prefixLength(address, response);
+                prefixLengths(address).getAndUpdate(prefixLength / Long.SIZE, bits -> bits | 1L << prefixLength);
+                cache.put(CacheKey.of(address, prefixLength, databasePath), response);
             }
         }
         return (T) response;
@@ -57,8 +68,56 @@ final class GeoIpCache {
 
     // only useful for testing
     AbstractResponse get(InetAddress ip, String databasePath) {
-        CacheKey cacheKey = new CacheKey(ip, databasePath);
-        return cache.get(cacheKey);
+        return get(ip.getAddress(), databasePath);
+    }
+
+    private AbstractResponse get(byte[] address, String databasePath) {
+        // the networks of a database don't overlap, so at most one of the cached networks contains the address
+        AtomicLongArray prefixLengths = prefixLengths(address);
+        for (int word = prefixLengths.length() - 1; word >= 0; word--) {
+            long bits = prefixLengths.get(word);
+            while (bits != 0) {
+                int bit = Long.SIZE - 1 - Long.numberOfLeadingZeros(bits);
+                bits &= ~(1L << bit);
+                AbstractResponse response = cache.get(CacheKey.of(address, word * Long.SIZE + bit, databasePath));
+                if (response != null) {
+                    return response;
+                }
+            }
+        }
+        return null;
+    }
+
+    private AtomicLongArray prefixLengths(byte[] address) {
+        return address.length == 4 ? ipv4PrefixLengths : ipv6PrefixLengths;
+    }
+
+    /**
+     * The prefix length of the network that the response applies to, or the length of the address if the response doesn't
+     * report a network that contains the address.
+     */
+    static int prefixLength(byte[] address, AbstractResponse response) {
+        int addressLength = address.length * Byte.SIZE;
+        Network network;
+        if (response instanceof AsnResponse asnResponse) {
+            network = asnResponse.getNetwork();
+        } else if (response instanceof AbstractCountryResponse countryResponse && countryResponse.getTraits() != null) {
+            network = countryResponse.getTraits().getNetwork();
+        } else {
+            network = null;
+        }
+        if (network == null || network.getNetworkAddress() == null) {
+            return addressLength;
+        }
+        byte[] networkAddress = network.getNetworkAddress().getAddress();
+        int prefixLength = network.getPrefixLength();
+        if (networkAddress.length != address.length || prefixLength < 0 || prefixLength > addressLength) {
+            return addressLength;
+        }
+        if (CacheKey.of(networkAddress, prefixLength, "").equals(CacheKey.of(address, prefixLength, "")) == false) {
+            return addressLength;
+        }
+        return prefixLength;
     }
 
     public int purgeCacheEntriesForDatabase(Path databaseFile) {
@@ -81,30 +140,31 @@ final class GeoIpCache {
      * The key to use for the cache. Since this cache can span multiple geoip processors that all use different databases, the database
      * path is needed to be included in the cache key. For example, if we only used the IP address as the key the City and ASN the same
      * IP may be in both with different values and we need to cache both.
+     * <p>
+     * The network is stored as the bits of its address, with the bits past the prefix length cleared, in two longs.
      */
-    private static class CacheKey {
-
-        private final InetAddress ip;
-        private final String databasePath;
+    private record CacheKey(boolean ipv6, long high, long low, int prefixLength, String databasePath) {
 
-        private CacheKey(InetAddress ip, String databasePath) {
-            this.ip = ip;
-            this.databasePath = databasePath;
-        }
-
-        // generated
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            CacheKey cacheKey = (CacheKey) o;
-            return Objects.equals(ip, cacheKey.ip) && Objects.equals(databasePath, cacheKey.databasePath);
-        }
-
-        // generated
-        @Override
-        public int hashCode() {
-            return Objects.hash(ip, databasePath);
+        static CacheKey of(byte[] address, int prefixLength, String databasePath) {
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < address.length; i++) {
+                int remaining = prefixLength - i * Byte.SIZE;
+                int b;
+                if (remaining >= Byte.SIZE) {
+                    b = address[i] & 0xFF;
+                } else if (remaining > 0) {
+                    b = address[i] & (0xFF << (Byte.SIZE - remaining)) & 0xFF;
+                } else {
+                    b = 0;
+                }
+                if (i < Long.BYTES) {
+                    high = high << Byte.SIZE | b;
+                } else {
+                    low = low << Byte.SIZE | b;
+                }
+            }
+            return new CacheKey(address.length > 4, high, low, prefixLength, databasePath);
         }
     }
 }
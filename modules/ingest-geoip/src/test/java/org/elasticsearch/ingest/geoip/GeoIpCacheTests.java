@@ -8,12 +8,21 @@
 
 package org.elasticsearch.ingest.geoip;
 
+import com.maxmind.db.Network;
 import com.maxmind.geoip2.model.AbstractResponse;
+import com.maxmind.geoip2.model.AsnResponse;
 
 import org.elasticsearch.common.network.InetAddresses;
+import org.elasticsearch.core.PathUtils;
 import org.elasticsearch.test.ESTestCase;
 
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class GeoIpCacheTests extends ESTestCase {
 
@@ -47,6 +56,52 @@ public class GeoIpCacheTests extends ESTestCase {
         assertSame(response2, cache.get(InetAddresses.forString("127.0.0.1"), "path/to/db2"));
     }
 
+    public void testCachesResultsPerNetwork() {
+        GeoIpCache cache = new GeoIpCache(10);
+        AsnResponse response = asnResponse("81.2.69.0", 24);
+        AtomicInteger lookups = new AtomicInteger();
+        Function<InetAddress, AbstractResponse> lookup = ip -> {
+            lookups.incrementAndGet();
+            return response;
+        };
+
+        assertSame(response, cache.putIfAbsent(InetAddresses.forString("81.2.69.142"), "path/to/db", lookup));
+        assertSame(response, cache.putIfAbsent(InetAddresses.forString("81.2.69.160"), "path/to/db", lookup));
+        assertThat(lookups.get(), equalTo(1));
+        assertThat(cache.count(), equalTo(1));
+        assertSame(response, cache.get(InetAddresses.forString("81.2.69.1"), "path/to/db"));
+        assertNull(cache.get(InetAddresses.forString("81.2.70.1"), "path/to/db"));
+        assertNull(cache.get(InetAddresses.forString("81.2.69.1"), "path/to/other/db"));
+        assertNull(cache.get(InetAddresses.forString("::5102:4501"), "path/to/db"));
+
+        AsnResponse ipv6Response = asnResponse("2001:db8::", 32);
+        assertSame(ipv6Response, cache.putIfAbsent(InetAddresses.forString("2001:db8::1"), "path/to/db", ip -> ipv6Response));
+        assertSame(ipv6Response, cache.get(InetAddresses.forString("2001:db8:ffff::1"), "path/to/db"));
+        assertNull(cache.get(InetAddresses.forString("2001:db9::1"), "path/to/db"));
+        assertSame(response, cache.get(InetAddresses.forString("81.2.69.1"), "path/to/db"));
+    }
+
+    public void testCachesResultsPerAddressWithoutMatchingNetwork() {
+        GeoIpCache cache = new GeoIpCache(10);
+        AsnResponse response = asnResponse("10.0.0.0", 8);
+
+        assertSame(response, cache.putIfAbsent(InetAddresses.forString("81.2.69.142"), "path/to/db", ip -> response));
+        assertSame(response, cache.get(InetAddresses.forString("81.2.69.142"), "path/to/db"));
+        assertNull(cache.get(InetAddresses.forString("81.2.69.143"), "path/to/db"));
+        assertNull(cache.get(InetAddresses.forString("10.0.0.1"), "path/to/db"));
+    }
+
+    public void testPurgesNetworksOfDatabase() {
+        GeoIpCache cache = new GeoIpCache(10);
+        AsnResponse response = asnResponse("81.2.69.0", 24);
+        cache.putIfAbsent(InetAddresses.forString("81.2.69.142"), "path/to/db1", ip -> response);
+        cache.putIfAbsent(InetAddresses.forString("81.2.69.142"), "path/to/db2", ip -> response);
+
+        assertThat(cache.purgeCacheEntriesForDatabase(PathUtils.get("path/to/db1")), equalTo(1));
+        assertNull(cache.get(InetAddresses.forString("81.2.69.1"), "path/to/db1"));
+        assertSame(response, cache.get(InetAddresses.forString("81.2.69.1"), "path/to/db2"));
+    }
+
     public void testThrowsFunctionsException() {
         GeoIpCache cache = new GeoIpCache(1);
         IllegalArgumentException ex = expectThrows(
@@ -64,4 +119,10 @@ public class GeoIpCacheTests extends ESTestCase {
         IllegalArgumentException ex = expectThrows(IllegalArgumentException.class, () -> new GeoIpCache(-1));
         assertEquals("geoip max cache size must be 0 or greater", ex.getMessage());
     }
+
+    private static AsnResponse asnResponse(String networkAddress, int prefixLength) {
+        AsnResponse response = mock(AsnResponse.class);
+        when(response.getNetwork()).thenReturn(new Network(InetAddresses.forString(networkAddress), prefixLength));
+        return response;
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.action.search;
+
+import org.apache.lucene.search.TopDocs;
+
+/**
+ * Utility class to keep track of the score of the bottom doc in a distributed search sorted by score.
+ * Documents that score below the best bottom score seen so far cannot make it into the global top hits,
+ * so shards that are queried later can use it as their minimum competitive score.
+ */
+class BottomScoreCollector {
+    private final int topNSize;
+
+    private volatile long totalHits;
+    private volatile float bottomScore = Float.NEGATIVE_INFINITY;
+
+    BottomScoreCollector(int topNSize) {
+        this.topNSize = topNSize;
+    }
+
+    long getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * @return The best bottom score consumed so far or {@link Float#NEGATIVE_INFINITY} if no shard returned a full top N yet.
+     */
+    float getBottomScore() {
+        return bottomScore;
+    }
+
+    synchronized void consumeTopDocs(TopDocs topDocs) {
+        totalHits += topDocs.totalHits.value;
+        if (topNSize > 0 && topDocs.scoreDocs.length == topNSize) {
+            float shardBottomScore = topDocs.scoreDocs[topNSize - 1].score;
+            if (shardBottomScore > bottomScore) {
+                bottomScore = shardBottomScore;
+            }
+        }
+    }
+}
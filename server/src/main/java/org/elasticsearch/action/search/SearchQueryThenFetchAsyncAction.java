@@ -9,6 +9,7 @@
 package org.elasticsearch.action.search;
 
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopFieldDocs;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.cluster.ClusterState;
@@ -36,6 +37,8 @@ class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<SearchPh
     private final int topDocsSize;
     private final int trackTotalHitsUpTo;
     private volatile BottomSortValuesCollector bottomSortCollector;
+    // score of the best bottom top doc globally, only used for requests sorted by score.
+    private final BottomScoreCollector bottomScoreCollector;
 
     SearchQueryThenFetchAsyncAction(
         final Logger logger,
@@ -74,6 +77,7 @@ class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<SearchPh
         );
         this.topDocsSize = getTopDocsSize(request);
         this.trackTotalHitsUpTo = request.resolveTrackTotalHitsUpTo();
+        this.bottomScoreCollector = canUseBottomScore(request) ? new BottomScoreCollector(topDocsSize) : null;
         this.searchPhaseController = searchPhaseController;
         this.progressListener = task.getProgressListener();
 
@@ -123,16 +127,47 @@ class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<SearchPh
                 }
             }
             bottomSortCollector.consumeTopDocs(topDocs, queryResult.sortValueFormats());
-        }
+        } else if (bottomScoreCollector != null
+            && queryResult.isNull() == false
+            && queryResult.hasConsumedTopDocs() == false
+            && queryResult.topDocs() != null
+            && queryResult.topDocs().topDocs.getClass() == TopDocs.class) {
+                bottomScoreCollector.consumeTopDocs(queryResult.topDocs().topDocs);
+            }
         super.onShardResult(result, shardIt);
     }
 
+    /**
+     * Returns whether the score of the bottom top doc of a shard is also a lower bound for the global top docs of the request,
+     * which is the case for requests sorted by score unless the top docs are rescored or paginated with search_after.
+     */
+    private static boolean canUseBottomScore(SearchRequest request) {
+        return request.scroll() == null
+            && request.source() != null
+            && request.source().sorts() == null
+            && request.source().collapse() == null
+            && request.source().searchAfter() == null
+            && request.source().rescores() == null
+            && getTopDocsSize(request) > 0;
+    }
+
     @Override
     protected SearchPhase getNextPhase(final SearchPhaseResults<SearchPhaseResult> results, SearchPhaseContext context) {
         return new FetchSearchPhase(results, searchPhaseController, null, this);
     }
 
     private ShardSearchRequest rewriteShardSearchRequest(ShardSearchRequest request) {
+        if (bottomScoreCollector != null) {
+            // disable tracking total hits if we already reached the required estimation.
+            if (trackTotalHitsUpTo != SearchContext.TRACK_TOTAL_HITS_ACCURATE && bottomScoreCollector.getTotalHits() > trackTotalHitsUpTo) {
+                request.source(request.source().shallowCopy().trackTotalHits(false));
+            }
+            // documents that score below the current best bottom score can't make it into the top docs
+            if (bottomScoreCollector.getBottomScore() != Float.NEGATIVE_INFINITY) {
+                request.setMinCompetitiveScore(bottomScoreCollector.getBottomScore());
+            }
+            return request;
+        }
         if (bottomSortCollector == null) {
             return request;
         }
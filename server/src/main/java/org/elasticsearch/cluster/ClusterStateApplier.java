@@ -27,4 +27,15 @@ public interface ClusterStateApplier {
      * therefore be fast, so please consider forking work into the background rather than doing everything inline.
      */
     void applyClusterState(ClusterChangedEvent event);
+
+    /**
+     * Whether this applier is independent of the other appliers registered with the same priority, and may therefore be called
+     * concurrently with them on a separate thread when {@code cluster.service.max_concurrent_appliers} is positive. Appliers of a given
+     * priority still all complete before any applier of the next priority is called, and a new cluster state is only applied once every
+     * applier has completed with the previous one. Defaults to {@code false}, which calls this applier on the cluster applier thread in
+     * registration order.
+     */
+    default boolean canApplyConcurrently() {
+        return false;
+    }
 }
@@ -434,6 +434,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
     static final String KEY_SETTINGS = "settings";
     static final String KEY_STATE = "state";
     static final String KEY_MAPPINGS = "mappings";
+    static final String KEY_MAPPINGS_HASH = "mappings_hash";
     static final String KEY_ALIASES = "aliases";
     static final String KEY_ROLLOVER_INFOS = "rollover_info";
     static final String KEY_SYSTEM = "system";
@@ -442,6 +443,12 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
 
     public static final String INDEX_STATE_FILE_PREFIX = "state-";
 
+    /**
+     * Parameter which, in the gateway context, replaces the mapping source with its {@link MappingMetadata#getSha256() hash}. The mapping
+     * itself must then be stored separately and passed to {@link #fromXContent(XContentParser, Map)} when reading the metadata back.
+     */
+    public static final String DEDUPLICATED_MAPPINGS_PARAM = "deduplicated_mappings";
+
     static final Version SYSTEM_INDEX_FLAG_ADDED = Version.V_7_10_0;
 
     private final int routingNumShards;
@@ -930,13 +937,27 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
     }
 
     public static Diff<IndexMetadata> readDiffFrom(StreamInput in) throws IOException {
-        return new IndexMetadataDiff(in);
+        return readDiffFrom(in, null);
+    }
+
+    /**
+     * @param mappingLookup optional lookup function that translates mapping metadata hashes into concrete instances. Required if the
+     *                      stream is on or after {@link Metadata#MAPPINGS_IN_DIFF_AS_HASH_VERSION} and the diff changes the mapping.
+     */
+    public static Diff<IndexMetadata> readDiffFrom(StreamInput in, @Nullable Function<String, MappingMetadata> mappingLookup)
+        throws IOException {
+        return new IndexMetadataDiff(in, mappingLookup);
     }
 
     public static IndexMetadata fromXContent(XContentParser parser) throws IOException {
         return Builder.fromXContent(parser);
     }
 
+    public static IndexMetadata fromXContent(XContentParser parser, @Nullable Map<String, MappingMetadata> mappingsByHash)
+        throws IOException {
+        return Builder.fromXContent(parser, mappingsByHash);
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         Builder.toXContent(this, builder, params);
@@ -954,7 +975,10 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         private final long[] primaryTerms;
         private final State state;
         private final Settings settings;
+        @Nullable // if read from a stream on or after Metadata#MAPPINGS_IN_DIFF_AS_HASH_VERSION
         private final Diff<ImmutableOpenMap<String, MappingMetadata>> mappings;
+        @Nullable // if the mapping did not change
+        private final MappingMetadata mappingUpdate;
         private final Diff<ImmutableOpenMap<String, AliasMetadata>> aliases;
         private final Diff<ImmutableOpenMap<String, DiffableStringMap>> customData;
         private final Diff<ImmutableOpenIntMap<Set<String>>> inSyncAllocationIds;
@@ -982,6 +1006,8 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
                     : ImmutableOpenMap.<String, MappingMetadata>builder(1).fPut(MapperService.SINGLE_MAPPING_NAME, after.mapping).build(),
                 DiffableUtils.getStringKeySerializer()
             );
+            assert after.mapping != null || before.mapping == null : "mapping of [" + index + "] cannot be removed";
+            mappingUpdate = Objects.equals(before.mapping, after.mapping) ? null : after.mapping;
             aliases = DiffableUtils.diff(before.aliases, after.aliases, DiffableUtils.getStringKeySerializer());
             customData = DiffableUtils.diff(before.customData, after.customData, DiffableUtils.getStringKeySerializer());
             inSyncAllocationIds = DiffableUtils.diff(
@@ -1004,7 +1030,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         private static final DiffableUtils.DiffableValueReader<String, RolloverInfo> ROLLOVER_INFO_DIFF_VALUE_READER =
             new DiffableUtils.DiffableValueReader<>(RolloverInfo::new, RolloverInfo::readDiffFrom);
 
-        IndexMetadataDiff(StreamInput in) throws IOException {
+        IndexMetadataDiff(StreamInput in, @Nullable Function<String, MappingMetadata> mappingLookup) throws IOException {
             index = in.readString();
             routingNumShards = in.readInt();
             version = in.readLong();
@@ -1018,7 +1044,22 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             state = State.fromId(in.readByte());
             settings = Settings.readSettingsFromStream(in);
             primaryTerms = in.readVLongArray();
-            mappings = DiffableUtils.readImmutableOpenMapDiff(in, DiffableUtils.getStringKeySerializer(), MAPPING_DIFF_VALUE_READER);
+            if (in.getVersion().onOrAfter(Metadata.MAPPINGS_IN_DIFF_AS_HASH_VERSION)) {
+                // the mapping itself is sent once for all indices as part of the enclosing metadata diff
+                mappings = null;
+                final String mappingHash = in.readOptionalString();
+                if (mappingHash == null) {
+                    mappingUpdate = null;
+                } else {
+                    mappingUpdate = mappingLookup == null ? null : mappingLookup.apply(mappingHash);
+                    if (mappingUpdate == null) {
+                        throw new IllegalStateException("failed to find mapping [" + mappingHash + "] for [" + index + "]");
+                    }
+                }
+            } else {
+                mappings = DiffableUtils.readImmutableOpenMapDiff(in, DiffableUtils.getStringKeySerializer(), MAPPING_DIFF_VALUE_READER);
+                mappingUpdate = null;
+            }
             aliases = DiffableUtils.readImmutableOpenMapDiff(in, DiffableUtils.getStringKeySerializer(), ALIAS_METADATA_DIFF_VALUE_READER);
             customData = DiffableUtils.readImmutableOpenMapDiff(in, DiffableUtils.getStringKeySerializer(), CUSTOM_DIFF_VALUE_READER);
             inSyncAllocationIds = DiffableUtils.readImmutableOpenIntMapDiff(
@@ -1052,7 +1093,12 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             out.writeByte(state.id);
             Settings.writeSettingsToStream(settings, out);
             out.writeVLongArray(primaryTerms);
-            mappings.writeTo(out);
+            if (out.getVersion().onOrAfter(Metadata.MAPPINGS_IN_DIFF_AS_HASH_VERSION)) {
+                out.writeOptionalString(mappingUpdate == null ? null : mappingUpdate.getSha256());
+            } else {
+                assert mappings != null : "a diff received in the hashed mapping format cannot be sent to an older node";
+                mappings.writeTo(out);
+            }
             aliases.writeTo(out);
             customData.writeTo(out);
             inSyncAllocationIds.writeTo(out);
@@ -1074,9 +1120,13 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             builder.state(state);
             builder.settings(settings);
             builder.primaryTerms(primaryTerms);
-            builder.mapping = mappings.apply(
-                ImmutableOpenMap.<String, MappingMetadata>builder(1).fPut(MapperService.SINGLE_MAPPING_NAME, part.mapping).build()
-            ).get(MapperService.SINGLE_MAPPING_NAME);
+            if (mappings == null) {
+                builder.mapping = mappingUpdate == null ? part.mapping : mappingUpdate;
+            } else {
+                builder.mapping = mappings.apply(
+                    ImmutableOpenMap.<String, MappingMetadata>builder(1).fPut(MapperService.SINGLE_MAPPING_NAME, part.mapping).build()
+                ).get(MapperService.SINGLE_MAPPING_NAME);
+            }
             builder.aliases.putAll(aliases.apply(part.aliases));
             builder.customMetadata.putAll(customData.apply(part.customData));
             builder.inSyncAllocationIds.putAll(inSyncAllocationIds.apply(part.inSyncAllocationIds));
@@ -1675,7 +1725,12 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             }
             builder.endObject();
 
-            if (context != Metadata.XContentContext.API) {
+            if (context != Metadata.XContentContext.API && params.paramAsBoolean(DEDUPLICATED_MAPPINGS_PARAM, false)) {
+                MappingMetadata mmd = indexMetadata.mapping();
+                if (mmd != null) {
+                    builder.field(KEY_MAPPINGS_HASH, mmd.getSha256());
+                }
+            } else if (context != Metadata.XContentContext.API) {
                 builder.startArray(KEY_MAPPINGS);
                 MappingMetadata mmd = indexMetadata.mapping();
                 if (mmd != null) {
@@ -1756,6 +1811,15 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         }
 
         public static IndexMetadata fromXContent(XContentParser parser) throws IOException {
+            return fromXContent(parser, null);
+        }
+
+        /**
+         * Parses index metadata, resolving a mapping which was written as a {@link IndexMetadata#DEDUPLICATED_MAPPINGS_PARAM hash} from the
+         * given map.
+         */
+        public static IndexMetadata fromXContent(XContentParser parser, @Nullable Map<String, MappingMetadata> mappingsByHash)
+            throws IOException {
             if (parser.currentToken() == null) { // fresh parser? move to the first token
                 parser.nextToken();
             }
@@ -1876,6 +1940,13 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
                         builder.setRoutingNumShards(parser.intValue());
                     } else if (KEY_SYSTEM.equals(currentFieldName)) {
                         builder.system(parser.booleanValue());
+                    } else if (KEY_MAPPINGS_HASH.equals(currentFieldName)) {
+                        final String mappingsHash = parser.text();
+                        final MappingMetadata mappingMetadata = mappingsByHash == null ? null : mappingsByHash.get(mappingsHash);
+                        if (mappingMetadata == null) {
+                            throw new IllegalArgumentException("mapping with hash [" + mappingsHash + "] not found");
+                        }
+                        builder.putMapping(mappingMetadata);
                     } else {
                         throw new IllegalArgumentException("Unexpected field [" + currentFieldName + "]");
                     }
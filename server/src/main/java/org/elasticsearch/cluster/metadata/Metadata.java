@@ -962,6 +962,8 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
         private final Settings transientSettings;
         private final Settings persistentSettings;
         private final Diff<DiffableStringMap> hashesOfConsistentSettings;
+        // the distinct mappings of the indices which were added or whose mapping changed, which the indices refer to by hash
+        private final Map<String, MappingMetadata> mappingsByHash;
         private final Diff<ImmutableOpenMap<String, IndexMetadata>> indices;
         private final Diff<ImmutableOpenMap<String, IndexTemplateMetadata>> templates;
         private final Diff<ImmutableOpenMap<String, Custom>> customs;
@@ -974,13 +976,63 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
             transientSettings = after.transientSettings;
             persistentSettings = after.persistentSettings;
             hashesOfConsistentSettings = after.hashesOfConsistentSettings.diff(before.hashesOfConsistentSettings);
-            indices = DiffableUtils.diff(before.indices, after.indices, DiffableUtils.getStringKeySerializer());
+            mappingsByHash = changedMappings(before, after);
+            indices = DiffableUtils.diff(
+                before.indices,
+                after.indices,
+                DiffableUtils.getStringKeySerializer(),
+                IndexMetadataDiffValueSerializer.WRITE_ONLY_INSTANCE
+            );
             templates = DiffableUtils.diff(before.templates, after.templates, DiffableUtils.getStringKeySerializer());
             customs = DiffableUtils.diff(before.customs, after.customs, DiffableUtils.getStringKeySerializer(), CUSTOM_VALUE_SERIALIZER);
         }
 
-        private static final DiffableUtils.DiffableValueReader<String, IndexMetadata> INDEX_METADATA_DIFF_VALUE_READER =
-            new DiffableUtils.DiffableValueReader<>(IndexMetadata::readFrom, IndexMetadata::readDiffFrom);
+        private static Map<String, MappingMetadata> changedMappings(Metadata before, Metadata after) {
+            final Map<String, MappingMetadata> changedMappings = new HashMap<>();
+            for (IndexMetadata indexMetadata : after.indices.values()) {
+                final MappingMetadata mapping = indexMetadata.mapping();
+                if (mapping == null) {
+                    continue;
+                }
+                final IndexMetadata previousIndexMetadata = before.indices.get(indexMetadata.getIndex().getName());
+                if (previousIndexMetadata == null || Objects.equals(previousIndexMetadata.mapping(), mapping) == false) {
+                    changedMappings.putIfAbsent(mapping.getSha256(), mapping);
+                }
+            }
+            return changedMappings;
+        }
+
+        /**
+         * From {@link #MAPPINGS_IN_DIFF_AS_HASH_VERSION} the indices in a diff refer to their mapping by hash, so that a mapping shared
+         * by many added or updated indices (e.g. the backing indices of a data stream) is only sent once.
+         */
+        private static final class IndexMetadataDiffValueSerializer extends DiffableUtils.DiffableValueSerializer<String, IndexMetadata> {
+
+            private static final IndexMetadataDiffValueSerializer WRITE_ONLY_INSTANCE = new IndexMetadataDiffValueSerializer(null);
+
+            @Nullable
+            private final Function<String, MappingMetadata> mappingLookup;
+
+            private IndexMetadataDiffValueSerializer(@Nullable Function<String, MappingMetadata> mappingLookup) {
+                this.mappingLookup = mappingLookup;
+            }
+
+            @Override
+            public void write(IndexMetadata value, StreamOutput out) throws IOException {
+                value.writeTo(out, out.getVersion().onOrAfter(MAPPINGS_IN_DIFF_AS_HASH_VERSION));
+            }
+
+            @Override
+            public IndexMetadata read(StreamInput in, String key) throws IOException {
+                return IndexMetadata.readFrom(in, mappingLookup);
+            }
+
+            @Override
+            public Diff<IndexMetadata> readDiff(StreamInput in, String key) throws IOException {
+                return IndexMetadata.readDiffFrom(in, mappingLookup);
+            }
+        }
+
         private static final DiffableUtils.DiffableValueReader<String, IndexTemplateMetadata> TEMPLATES_DIFF_VALUE_READER =
             new DiffableUtils.DiffableValueReader<>(IndexTemplateMetadata::readFrom, IndexTemplateMetadata::readDiffFrom);
 
@@ -996,7 +1048,20 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
             } else {
                 hashesOfConsistentSettings = DiffableStringMap.DiffableStringMapDiff.EMPTY;
             }
-            indices = DiffableUtils.readImmutableOpenMapDiff(in, DiffableUtils.getStringKeySerializer(), INDEX_METADATA_DIFF_VALUE_READER);
+            final IndexMetadataDiffValueSerializer indexMetadataSerializer;
+            if (in.getVersion().onOrAfter(MAPPINGS_IN_DIFF_AS_HASH_VERSION)) {
+                final int mappings = in.readVInt();
+                mappingsByHash = Maps.newMapWithExpectedSize(mappings);
+                for (int i = 0; i < mappings; i++) {
+                    final MappingMetadata mappingMetadata = new MappingMetadata(in);
+                    mappingsByHash.put(mappingMetadata.getSha256(), mappingMetadata);
+                }
+                indexMetadataSerializer = new IndexMetadataDiffValueSerializer(mappingsByHash::get);
+            } else {
+                mappingsByHash = Map.of();
+                indexMetadataSerializer = new IndexMetadataDiffValueSerializer(null);
+            }
+            indices = DiffableUtils.readImmutableOpenMapDiff(in, DiffableUtils.getStringKeySerializer(), indexMetadataSerializer);
             templates = DiffableUtils.readImmutableOpenMapDiff(in, DiffableUtils.getStringKeySerializer(), TEMPLATES_DIFF_VALUE_READER);
             customs = DiffableUtils.readImmutableOpenMapDiff(in, DiffableUtils.getStringKeySerializer(), CUSTOM_VALUE_SERIALIZER);
         }
@@ -1012,6 +1077,9 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
             if (out.getVersion().onOrAfter(Version.V_7_3_0)) {
                 hashesOfConsistentSettings.writeTo(out);
             }
+            if (out.getVersion().onOrAfter(MAPPINGS_IN_DIFF_AS_HASH_VERSION)) {
+                out.writeCollection(mappingsByHash.values());
+            }
             indices.writeTo(out);
             templates.writeTo(out);
             customs.writeTo(out);
@@ -1038,6 +1106,8 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
 
     public static final Version MAPPINGS_AS_HASH_VERSION = Version.V_8_1_0;
 
+    public static final Version MAPPINGS_IN_DIFF_AS_HASH_VERSION = Version.V_8_2_0;
+
     public static Metadata readFrom(StreamInput in) throws IOException {
         Builder builder = new Builder();
         builder.version = in.readLong();
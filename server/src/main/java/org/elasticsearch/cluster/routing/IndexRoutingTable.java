@@ -11,7 +11,9 @@ package org.elasticsearch.cluster.routing;
 import com.carrotsearch.hppc.cursors.IntCursor;
 
 import org.apache.lucene.util.CollectionUtil;
+import org.elasticsearch.Version;
 import org.elasticsearch.cluster.Diff;
+import org.elasticsearch.cluster.Diffable;
 import org.elasticsearch.cluster.SimpleDiffable;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
@@ -25,6 +27,7 @@ import org.elasticsearch.common.collect.ImmutableOpenIntMap;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.util.CollectionUtils;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.shard.ShardId;
 
@@ -52,7 +55,12 @@ import java.util.function.Predicate;
  * represented as {@link ShardRouting}.
  * </p>
  */
-public class IndexRoutingTable implements SimpleDiffable<IndexRoutingTable>, Iterable<IndexShardRoutingTable> {
+public class IndexRoutingTable implements Diffable<IndexRoutingTable>, Iterable<IndexShardRoutingTable> {
+
+    /**
+     * Starting with this version, diffs of an index routing table only contain the shard routing tables that changed.
+     */
+    static final Version SHARD_LEVEL_DIFF_VERSION = Version.V_8_2_0;
 
     private static final List<Predicate<ShardRouting>> PRIORITY_REMOVE_CLAUSES = List.of(
         ShardRouting::unassigned,
@@ -314,7 +322,15 @@ public class IndexRoutingTable implements SimpleDiffable<IndexRoutingTable>, Ite
         return builder.build();
     }
 
+    @Override
+    public Diff<IndexRoutingTable> diff(IndexRoutingTable previousState) {
+        return new IndexRoutingTableDiff(previousState, this);
+    }
+
     public static Diff<IndexRoutingTable> readDiffFrom(StreamInput in) throws IOException {
+        if (in.getVersion().onOrAfter(SHARD_LEVEL_DIFF_VERSION)) {
+            return new IndexRoutingTableDiff(in);
+        }
         return SimpleDiffable.readDiffFrom(IndexRoutingTable::readFrom, in);
     }
 
@@ -331,6 +347,115 @@ public class IndexRoutingTable implements SimpleDiffable<IndexRoutingTable>, Ite
         return new Builder(index);
     }
 
+    /**
+     * Diff that only contains the shard routing tables that changed, so that its size and the work needed to apply it are proportional
+     * to the number of changed shards rather than to the number of shards of the index. The complete table is sent instead if the set
+     * of shards changed.
+     */
+    private static class IndexRoutingTableDiff implements Diff<IndexRoutingTable> {
+
+        private final Index index;
+
+        @Nullable
+        private final IndexRoutingTable complete;
+
+        private final List<IndexShardRoutingTable> changedShards;
+
+        // only available on the node that computed the diff, used to send a complete table to nodes that do not read shard-level diffs
+        @Nullable
+        private final IndexRoutingTable after;
+
+        IndexRoutingTableDiff(IndexRoutingTable before, IndexRoutingTable after) {
+            this.index = after.index;
+            this.after = after;
+            final List<IndexShardRoutingTable> changedShards = changedShards(before, after);
+            if (changedShards == null) {
+                this.complete = after;
+                this.changedShards = List.of();
+            } else {
+                this.complete = null;
+                this.changedShards = changedShards;
+            }
+        }
+
+        /**
+         * @return the shard routing tables of {@code after} that differ from {@code before}, or {@code null} if the two tables do not
+         *         belong to the same index or do not have the same shards
+         */
+        @Nullable
+        private static List<IndexShardRoutingTable> changedShards(IndexRoutingTable before, IndexRoutingTable after) {
+            if (before.index.equals(after.index) == false || before.shards.size() != after.shards.size()) {
+                return null;
+            }
+            final List<IndexShardRoutingTable> changedShards = new ArrayList<>();
+            for (IndexShardRoutingTable indexShard : after) {
+                final IndexShardRoutingTable previous = before.shards.get(indexShard.shardId().id());
+                if (previous == null) {
+                    return null;
+                }
+                if (previous != indexShard && previous.equals(indexShard) == false) {
+                    changedShards.add(indexShard);
+                }
+            }
+            return changedShards;
+        }
+
+        IndexRoutingTableDiff(StreamInput in) throws IOException {
+            this.after = null;
+            if (in.readBoolean()) {
+                this.complete = IndexRoutingTable.readFrom(in);
+                this.index = complete.index;
+                this.changedShards = List.of();
+            } else {
+                final Index index = new Index(in);
+                this.complete = null;
+                this.index = index;
+                this.changedShards = in.readList(i -> IndexShardRoutingTable.Builder.readFromThin(i, index));
+            }
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            if (out.getVersion().before(SHARD_LEVEL_DIFF_VERSION)) {
+                // same format as a SimpleDiffable diff
+                if (complete != null) {
+                    out.writeBoolean(true);
+                    complete.writeTo(out);
+                } else if (changedShards.isEmpty()) {
+                    out.writeBoolean(false);
+                } else {
+                    assert after != null : "shard-level diff of [" + index + "] read from the wire cannot be written to an older node";
+                    out.writeBoolean(true);
+                    after.writeTo(out);
+                }
+            } else if (complete != null) {
+                out.writeBoolean(true);
+                complete.writeTo(out);
+            } else {
+                out.writeBoolean(false);
+                index.writeTo(out);
+                out.writeCollection(changedShards, (o, indexShard) -> IndexShardRoutingTable.Builder.writeToThin(indexShard, o));
+            }
+        }
+
+        @Override
+        public IndexRoutingTable apply(IndexRoutingTable part) {
+            if (complete != null) {
+                return complete;
+            }
+            if (changedShards.isEmpty()) {
+                return part;
+            }
+            assert part.index.equals(index) : "diff of [" + index + "] applied to [" + part.index + "]";
+            final ImmutableOpenIntMap.Builder<IndexShardRoutingTable> shards = ImmutableOpenIntMap.builder(part.shards);
+            for (IndexShardRoutingTable indexShard : changedShards) {
+                assert shards.containsKey(indexShard.shardId().id()) : "diff contains unknown shard " + indexShard.shardId();
+                shards.put(indexShard.shardId().id(), indexShard);
+            }
+            return new IndexRoutingTable(index, shards.build());
+        }
+    }
+
     public static class Builder {
 
         private final Index index;
@@ -327,7 +327,7 @@ public class IndexShardRoutingTable implements Iterable<ShardRouting> {
                     avgServiceTime.addValue((minStats.serviceTime + stats.serviceTime) / 2);
                     final long updatedService = (long) avgServiceTime.getAverage();
 
-                    collector.addNodeStatistics(nodeId, updatedQueue, updatedResponse, updatedService);
+                    collector.adjustNodeStatistics(nodeId, updatedQueue, updatedResponse, updatedService);
                 }
             }
         }
@@ -85,6 +85,16 @@ public final class ClusterApplierRecordingService {
             recordings.add(new Tuple<>(currentAction, timeSpentMS));
         }
 
+        /**
+         * Records an action which was timed elsewhere, e.g. an applier that ran concurrently on another thread.
+         */
+        void record(String action, long timeSpentMS) {
+            if (recording) {
+                throw new IllegalStateException("already recording");
+            }
+            recordings.add(new Tuple<>(action, timeSpentMS));
+        }
+
         List<Tuple<String, Long>> getRecordings() {
             return recordings;
         }
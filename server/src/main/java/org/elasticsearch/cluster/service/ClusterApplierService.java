@@ -11,6 +11,7 @@ package org.elasticsearch.cluster.service;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterState;
@@ -29,6 +30,7 @@ import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.util.concurrent.FutureUtils;
 import org.elasticsearch.common.util.concurrent.PrioritizedEsThreadPoolExecutor;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Nullable;
@@ -38,12 +40,16 @@ import org.elasticsearch.indices.store.IndicesStore;
 import org.elasticsearch.threadpool.Scheduler;
 import org.elasticsearch.threadpool.ThreadPool;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -63,8 +69,22 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         Setting.Property.NodeScope
     );
 
+    /**
+     * The number of threads used to call the appliers which declare {@link ClusterStateApplier#canApplyConcurrently()}, concurrently with
+     * the other appliers of the same priority. Defaults to {@code 0} which calls every applier on the cluster applier thread.
+     */
+    public static final Setting<Integer> CLUSTER_SERVICE_MAX_CONCURRENT_APPLIERS_SETTING = Setting.intSetting(
+        "cluster.service.max_concurrent_appliers",
+        0,
+        0,
+        32,
+        Setting.Property.NodeScope
+    );
+
     public static final String CLUSTER_UPDATE_THREAD_NAME = "clusterApplierService#updateTask";
 
+    static final String CONCURRENT_APPLIER_THREAD_NAME = CLUSTER_UPDATE_THREAD_NAME + "#concurrent";
+
     private final ClusterSettings clusterSettings;
     private final ThreadPool threadPool;
 
@@ -72,6 +92,11 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
 
     private volatile PrioritizedEsThreadPoolExecutor threadPoolExecutor;
 
+    private final int maxConcurrentAppliers;
+
+    @Nullable // if all appliers are called on the cluster applier thread
+    private volatile ExecutorService concurrentAppliersExecutor;
+
     /**
      * Those 3 state listeners are changing infrequently - CopyOnWriteArrayList is just fine
      */
@@ -96,6 +121,7 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         this.state = new AtomicReference<>();
         this.nodeName = nodeName;
         this.recordingService = new ClusterApplierRecordingService();
+        this.maxConcurrentAppliers = CLUSTER_SERVICE_MAX_CONCURRENT_APPLIERS_SETTING.get(settings);
 
         this.slowTaskLoggingThreshold = CLUSTER_SERVICE_SLOW_TASK_LOGGING_THRESHOLD_SETTING.get(settings);
         this.clusterSettings.addSettingsUpdateConsumer(
@@ -127,6 +153,9 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         Objects.requireNonNull(nodeConnectionsService, "please set the node connection service before starting");
         Objects.requireNonNull(state.get(), "please set initial state before starting");
         threadPoolExecutor = createThreadPoolExecutor();
+        if (maxConcurrentAppliers > 0) {
+            concurrentAppliersExecutor = createConcurrentAppliersExecutor(maxConcurrentAppliers);
+        }
     }
 
     protected PrioritizedEsThreadPoolExecutor createThreadPoolExecutor() {
@@ -139,6 +168,24 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         );
     }
 
+    /**
+     * Creates the bounded executor which calls the appliers that may run concurrently with the other appliers of the same priority. Its
+     * threads are named after the cluster applier thread so that appliers may still assert that they run as part of cluster state
+     * application.
+     */
+    protected ExecutorService createConcurrentAppliersExecutor(int maxThreads) {
+        return EsExecutors.newScaling(
+            nodeName + "/" + CONCURRENT_APPLIER_THREAD_NAME,
+            0,
+            maxThreads,
+            60,
+            TimeUnit.SECONDS,
+            true,
+            daemonThreadFactory(nodeName, CONCURRENT_APPLIER_THREAD_NAME),
+            threadPool.getThreadContext()
+        );
+    }
+
     class UpdateTask extends SourcePrioritizedRunnable {
         private final ActionListener<Void> listener;
         private final Function<ClusterState, ClusterState> updateFunction;
@@ -166,6 +213,9 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
             }
         }
         ThreadPool.terminate(threadPoolExecutor, 10, TimeUnit.SECONDS);
+        if (concurrentAppliersExecutor != null) {
+            ThreadPool.terminate(concurrentAppliersExecutor, 10, TimeUnit.SECONDS);
+        }
     }
 
     @Override
@@ -532,17 +582,56 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         callClusterStateAppliers(clusterChangedEvent, stopWatch, lowPriorityStateAppliers);
     }
 
-    private static void callClusterStateAppliers(
+    /**
+     * Calls the given appliers, which all have the same priority. Appliers that declare {@link ClusterStateApplier#canApplyConcurrently()}
+     * are forked to the concurrent appliers executor (if enabled) and the others are called in order on this thread. All appliers of this
+     * priority have completed by the time this method returns, so that the appliers of the next priority may depend on them.
+     */
+    private void callClusterStateAppliers(
         ClusterChangedEvent clusterChangedEvent,
         Recorder stopWatch,
         Collection<ClusterStateApplier> clusterStateAppliers
     ) {
-        for (ClusterStateApplier applier : clusterStateAppliers) {
-            logger.trace("calling [{}] with change to version [{}]", applier, clusterChangedEvent.state().version());
-            final String name = applier.toString();
-            try (Releasable ignored = stopWatch.record(name)) {
-                applier.applyClusterState(clusterChangedEvent);
+        final ExecutorService concurrentExecutor = concurrentAppliersExecutor;
+        final List<String> concurrentApplierNames = new ArrayList<>();
+        final List<Future<Long>> concurrentApplications = new ArrayList<>();
+        RuntimeException failure = null;
+        try {
+            for (ClusterStateApplier applier : clusterStateAppliers) {
+                logger.trace("calling [{}] with change to version [{}]", applier, clusterChangedEvent.state().version());
+                final String name = applier.toString();
+                if (concurrentExecutor != null && applier.canApplyConcurrently()) {
+                    try {
+                        concurrentApplications.add(concurrentExecutor.submit(() -> {
+                            final long startTimeMillis = threadPool.rawRelativeTimeInMillis();
+                            applier.applyClusterState(clusterChangedEvent);
+                            return threadPool.rawRelativeTimeInMillis() - startTimeMillis;
+                        }));
+                        concurrentApplierNames.add(name);
+                        continue;
+                    } catch (EsRejectedExecutionException e) {
+                        logger.debug(() -> new ParameterizedMessage("could not fork [{}], calling it inline", name), e);
+                    }
+                }
+                try (Releasable ignored = stopWatch.record(name)) {
+                    applier.applyClusterState(clusterChangedEvent);
+                }
             }
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            // wait for every forked applier even if an inline one failed, including with an Error, so that the next state is never applied
+            // concurrently
+            for (int i = 0; i < concurrentApplications.size(); i++) {
+                try {
+                    stopWatch.record(concurrentApplierNames.get(i), FutureUtils.get(concurrentApplications.get(i)));
+                } catch (RuntimeException e) {
+                    failure = ExceptionsHelper.useOrSuppress(failure, e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
     }
 
@@ -11,6 +11,7 @@ package org.elasticsearch.common.breaker;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.indices.breaker.BreakerSettings;
 import org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService;
 
@@ -26,6 +27,7 @@ public class ChildMemoryCircuitBreaker implements CircuitBreaker {
     private final AtomicLong used;
     private final AtomicLong trippedCount;
     private final Logger logger;
+    @Nullable
     private final HierarchyCircuitBreakerService parent;
     private final String name;
 
@@ -35,10 +37,15 @@ public class ChildMemoryCircuitBreaker implements CircuitBreaker {
      * the given overheadConstant. Uses the given oldBreaker to initialize
      * the starting offset.
      * @param settings settings to configure this breaker
-     * @param parent parent circuit breaker service to delegate tripped breakers to
+     * @param parent parent circuit breaker service to delegate tripped breakers to, or {@code null} if this breaker has no parent
      * @param name the name of the breaker
      */
-    public ChildMemoryCircuitBreaker(BreakerSettings settings, Logger logger, HierarchyCircuitBreakerService parent, String name) {
+    public ChildMemoryCircuitBreaker(
+        BreakerSettings settings,
+        Logger logger,
+        @Nullable HierarchyCircuitBreakerService parent,
+        String name
+    ) {
         this.name = name;
         this.limitAndOverhead = new LimitAndOverhead(settings.getLimit(), settings.getOverhead());
         this.durability = settings.getDurability();
@@ -104,14 +111,16 @@ public class ChildMemoryCircuitBreaker implements CircuitBreaker {
         }
 
         // Additionally, we need to check that we haven't exceeded the parent's limit
-        try {
-            parent.checkParentLimit((long) (bytes * overheadConstant), label);
-        } catch (CircuitBreakingException e) {
-            // If the parent breaker is tripped, this breaker has to be
-            // adjusted back down because the allocation is "blocked" but the
-            // breaker has already been incremented
-            this.addWithoutBreaking(-bytes);
-            throw e;
+        if (parent != null) {
+            try {
+                parent.checkParentLimit((long) (bytes * overheadConstant), label);
+            } catch (CircuitBreakingException e) {
+                // If the parent breaker is tripped, this breaker has to be
+                // adjusted back down because the allocation is "blocked" but the
+                // breaker has already been incremented
+                this.addWithoutBreaking(-bytes);
+                throw e;
+            }
         }
         assert newUsed >= 0 : "Used bytes: [" + newUsed + "] must be >= 0";
     }
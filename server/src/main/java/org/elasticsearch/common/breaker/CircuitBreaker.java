@@ -42,6 +42,12 @@ public interface CircuitBreaker {
      * writing requests on the network layer.
      */
     String IN_FLIGHT_REQUESTS = "inflight_requests";
+    /**
+     * The off-heap breaker tracks direct memory used by big arrays when they
+     * are configured to allocate their pages off-heap. It is not part of the
+     * parent breaker since this memory does not live on the heap.
+     */
+    String OFF_HEAP = "off_heap";
 
     enum Type {
         // A regular or ChildMemoryCircuitBreaker
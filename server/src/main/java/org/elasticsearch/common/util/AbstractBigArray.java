@@ -14,6 +14,7 @@ import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.core.Releasables;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /** Common implementation for array lists that slice data into fixed-size blocks. */
@@ -93,18 +94,18 @@ abstract class AbstractBigArray extends AbstractArray {
         return array;
     }
 
-    private <T> T registerNewPage(Recycler.V<T> v, int page, int expectedSize) {
+    private <T> T registerNewPage(Recycler.V<T> v, int page) {
         cache = grow(cache, page + 1);
         assert cache[page] == null;
         cache[page] = v;
-        assert Array.getLength(v.v()) == expectedSize;
         return v.v();
     }
 
     protected final byte[] newBytePage(int page) {
         if (recycler != null) {
             final Recycler.V<byte[]> v = recycler.bytePage(clearOnResize);
-            return registerNewPage(v, page, PageCacheRecycler.BYTE_PAGE_SIZE);
+            assert Array.getLength(v.v()) == PageCacheRecycler.BYTE_PAGE_SIZE;
+            return registerNewPage(v, page);
         } else {
             return new byte[PageCacheRecycler.BYTE_PAGE_SIZE];
         }
@@ -113,12 +114,20 @@ abstract class AbstractBigArray extends AbstractArray {
     protected final Object[] newObjectPage(int page) {
         if (recycler != null) {
             final Recycler.V<Object[]> v = recycler.objectPage();
-            return registerNewPage(v, page, PageCacheRecycler.OBJECT_PAGE_SIZE);
+            assert Array.getLength(v.v()) == PageCacheRecycler.OBJECT_PAGE_SIZE;
+            return registerNewPage(v, page);
         } else {
             return new Object[PageCacheRecycler.OBJECT_PAGE_SIZE];
         }
     }
 
+    protected final ByteBuffer newDirectPage(int page) {
+        assert recycler != null && recycler.isOffHeapEnabled() : "off-heap pages require a recycler with off-heap pages enabled";
+        final Recycler.V<ByteBuffer> v = recycler.directPage(clearOnResize);
+        assert v.v().capacity() == PageCacheRecycler.BYTE_PAGE_SIZE;
+        return registerNewPage(v, page);
+    }
+
     protected final void releasePage(int page) {
         if (recycler != null) {
             cache[page].close();
@@ -0,0 +1,92 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Common implementation for big arrays whose pages are allocated in direct memory by the {@link PageCacheRecycler}. Pages use the
+ * platform's native byte order so that bulk copies from heap arrays written with native {@link java.lang.invoke.VarHandle}s keep
+ * their values.
+ */
+abstract class AbstractOffHeapBigArray extends AbstractBigArray {
+
+    protected ByteBuffer[] pages;
+
+    AbstractOffHeapBigArray(int pageSize, long size, BigArrays bigArrays, boolean clearOnResize) {
+        super(pageSize, bigArrays, clearOnResize);
+        this.size = size;
+        pages = new ByteBuffer[numPages(size)];
+        boolean success = false;
+        try {
+            for (int i = 0; i < pages.length; ++i) {
+                pages[i] = newDirectPage(i);
+            }
+            success = true;
+        } finally {
+            if (success == false) {
+                // gives back the pages we got so far and the bytes that were added to the breaker for this array
+                close();
+            }
+        }
+    }
+
+    /** Change the size of this array. Content between indexes <code>0</code> and <code>min(size(), newSize)</code> will be preserved. */
+    @Override
+    public final void resize(long newSize) {
+        final int numPages = numPages(newSize);
+        if (numPages > pages.length) {
+            pages = Arrays.copyOf(pages, ArrayUtil.oversize(numPages, RamUsageEstimator.NUM_BYTES_OBJECT_REF));
+        }
+        // pages are only ever allocated from the start of the array, so the pages of the current size are all there
+        final int currentNumPages = numPages(size);
+        int page = currentNumPages;
+        boolean success = false;
+        try {
+            for (; page < numPages; ++page) {
+                pages[page] = newDirectPage(page);
+            }
+            success = true;
+        } finally {
+            if (success == false) {
+                // gives back the pages we got in this call so that the array keeps its size without holes
+                for (int i = currentNumPages; i < page; ++i) {
+                    pages[i] = null;
+                    releasePage(i);
+                }
+            }
+        }
+        for (int i = numPages; i < pages.length && pages[i] != null; ++i) {
+            pages[i] = null;
+            releasePage(i);
+        }
+        this.size = newSize;
+    }
+
+    /**
+     * Bulk copies values that are encoded in native byte order into this array.
+     */
+    protected final void setBytes(long index, byte[] buf, int offset, int len, int shift) {
+        assert index + len <= size();
+        int pageIndex = pageIndex(index);
+        int indexInPage = indexInPage(index);
+        while (len > 0) {
+            final int copyLen = Math.min(len, pageSize() - indexInPage);
+            pages[pageIndex].put(indexInPage << shift, buf, offset << shift, copyLen << shift);
+            offset += copyLen;
+            len -= copyLen;
+            indexInPage = 0;
+            ++pageIndex;
+        }
+    }
+}
@@ -398,6 +398,12 @@ public class BigArrays {
     private final boolean checkBreaker;
     private final BigArrays circuitBreakingInstance;
     private final String breakerName;
+    /**
+     * Allocates large numeric arrays in direct memory and accounts for them in the {@link CircuitBreaker#OFF_HEAP} breaker, or
+     * {@code null} if off-heap pages are disabled.
+     */
+    @Nullable
+    private final BigArrays offHeapInstance;
 
     public BigArrays(PageCacheRecycler recycler, @Nullable final CircuitBreakerService breakerService, String breakerName) {
         // Checking the breaker is disabled if not specified
@@ -424,6 +430,11 @@ public class BigArrays {
         } else {
             this.circuitBreakingInstance = new BigArrays(recycler, breakerService, breakerName, true);
         }
+        if (recycler != null && recycler.isOffHeapEnabled() && CircuitBreaker.OFF_HEAP.equals(breakerName) == false) {
+            this.offHeapInstance = new BigArrays(recycler, breakerService, CircuitBreaker.OFF_HEAP, checkBreaker);
+        } else {
+            this.offHeapInstance = null;
+        }
     }
 
     /**
@@ -492,7 +503,16 @@ public class BigArrays {
                 + array.ramBytesEstimated(oldSize);
         final long estimatedIncreaseInBytes = array.ramBytesEstimated(newSize) - oldMemSize;
         adjustBreaker(estimatedIncreaseInBytes, false);
-        array.resize(newSize);
+        boolean success = false;
+        try {
+            array.resize(newSize);
+            success = true;
+        } finally {
+            if (success == false) {
+                // the array keeps its size and gave back any pages it got before failing
+                adjustBreaker(-estimatedIncreaseInBytes, false);
+            }
+        }
         return array;
     }
 
@@ -602,6 +622,10 @@ public class BigArrays {
         if (size > PageCacheRecycler.INT_PAGE_SIZE || (size >= PageCacheRecycler.INT_PAGE_SIZE / 2 && recycler != null)) {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
+            if (offHeapInstance != null) {
+                offHeapInstance.adjustBreaker(BigIntArray.estimateRamBytes(size), false);
+                return new OffHeapBigIntArray(size, offHeapInstance, clearOnResize);
+            }
             adjustBreaker(BigIntArray.estimateRamBytes(size), false);
             return new BigIntArray(size, this, clearOnResize);
         } else {
@@ -621,6 +645,9 @@ public class BigArrays {
     public IntArray resize(IntArray array, long size) {
         if (array instanceof BigIntArray) {
             return resizeInPlace((BigIntArray) array, size);
+        } else if (array instanceof OffHeapBigIntArray) {
+            assert offHeapInstance != null : "off-heap array resized by big arrays without off-heap pages";
+            return offHeapInstance.resizeInPlace((OffHeapBigIntArray) array, size);
         } else {
             AbstractArray arr = (AbstractArray) array;
             final IntArray newArray = newIntArray(size, arr.clearOnResize);
@@ -649,6 +676,10 @@ public class BigArrays {
         if (size > PageCacheRecycler.LONG_PAGE_SIZE || (size >= PageCacheRecycler.LONG_PAGE_SIZE / 2 && recycler != null)) {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
+            if (offHeapInstance != null) {
+                offHeapInstance.adjustBreaker(BigLongArray.estimateRamBytes(size), false);
+                return new OffHeapBigLongArray(size, offHeapInstance, clearOnResize);
+            }
             adjustBreaker(BigLongArray.estimateRamBytes(size), false);
             return new BigLongArray(size, this, clearOnResize);
         } else {
@@ -668,6 +699,9 @@ public class BigArrays {
     public LongArray resize(LongArray array, long size) {
         if (array instanceof BigLongArray) {
             return resizeInPlace((BigLongArray) array, size);
+        } else if (array instanceof OffHeapBigLongArray) {
+            assert offHeapInstance != null : "off-heap array resized by big arrays without off-heap pages";
+            return offHeapInstance.resizeInPlace((OffHeapBigLongArray) array, size);
         } else {
             AbstractArray arr = (AbstractArray) array;
             final LongArray newArray = newLongArray(size, arr.clearOnResize);
@@ -696,6 +730,10 @@ public class BigArrays {
         if (size > PageCacheRecycler.DOUBLE_PAGE_SIZE || (size >= PageCacheRecycler.DOUBLE_PAGE_SIZE / 2 && recycler != null)) {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
+            if (offHeapInstance != null) {
+                offHeapInstance.adjustBreaker(BigDoubleArray.estimateRamBytes(size), false);
+                return new OffHeapBigDoubleArray(size, offHeapInstance, clearOnResize);
+            }
             adjustBreaker(BigDoubleArray.estimateRamBytes(size), false);
             return new BigDoubleArray(size, this, clearOnResize);
         } else {
@@ -712,6 +750,9 @@ public class BigArrays {
     public DoubleArray resize(DoubleArray array, long size) {
         if (array instanceof BigDoubleArray) {
             return resizeInPlace((BigDoubleArray) array, size);
+        } else if (array instanceof OffHeapBigDoubleArray) {
+            assert offHeapInstance != null : "off-heap array resized by big arrays without off-heap pages";
+            return offHeapInstance.resizeInPlace((OffHeapBigDoubleArray) array, size);
         } else {
             AbstractArray arr = (AbstractArray) array;
             final DoubleArray newArray = newDoubleArray(size, arr.clearOnResize);
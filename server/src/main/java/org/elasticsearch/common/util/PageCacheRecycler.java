@@ -9,6 +9,8 @@
 package org.elasticsearch.common.util;
 
 import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.recycler.AbstractRecyclerC;
 import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.common.settings.Setting;
@@ -16,9 +18,13 @@ import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.monitor.jvm.JvmInfo;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.elasticsearch.common.recycler.Recyclers.concurrent;
 import static org.elasticsearch.common.recycler.Recyclers.concurrentDeque;
@@ -66,6 +72,29 @@ public class PageCacheRecycler {
         0d,
         Property.NodeScope
     );
+    /**
+     * Whether large {@link LongArray}s, {@link IntArray}s and {@link DoubleArray}s allocated by {@link BigArrays} should be backed by
+     * pages in direct memory rather than on the heap. Such arrays are accounted for in the {@code off_heap} circuit breaker.
+     */
+    public static final Setting<Boolean> OFF_HEAP_ENABLED_SETTING = Setting.boolSetting(
+        "cache.recycler.page.off_heap.enabled",
+        false,
+        Property.NodeScope
+    );
+    /**
+     * Maximum amount of direct memory that off-heap pages may use. Released pages are always kept for reuse rather than left to the
+     * garbage collector, so this is both the size of the pool and a hard limit on the direct memory of all off-heap big arrays.
+     * Defaults to 10% of the maximum direct memory of the JVM. The {@code off_heap} circuit breaker defaults to this limit and can't
+     * be set any higher, so that it trips before the pool runs out.
+     */
+    public static final Setting<ByteSizeValue> LIMIT_OFF_HEAP_SETTING = Setting.byteSizeSetting(
+        "cache.recycler.page.limit.off_heap",
+        s -> {
+            final long directMemoryMax = JvmInfo.jvmInfo().getMem().getDirectMemoryMax().getBytes();
+            return directMemoryMax > 0 ? new ByteSizeValue(directMemoryMax / 10).getStringRep() : "64mb";
+        },
+        Property.NodeScope
+    );
 
     /** Page size in bytes: 16KB */
     public static final int PAGE_SIZE_IN_BYTES = 1 << 14;
@@ -76,8 +105,13 @@ public class PageCacheRecycler {
     public static final int DOUBLE_PAGE_SIZE = PAGE_SIZE_IN_BYTES / Double.BYTES;
     public static final int BYTE_PAGE_SIZE = PAGE_SIZE_IN_BYTES;
 
+    private static final byte[] ZERO_PAGE = new byte[BYTE_PAGE_SIZE];
+
     private final Recycler<byte[]> bytePage;
     private final Recycler<Object[]> objectPage;
+    private final boolean offHeapEnabled;
+    private final Recycler<ByteBuffer> directPage;
+    private final AtomicInteger directPageCount = new AtomicInteger();
 
     public static final PageCacheRecycler NON_RECYCLING_INSTANCE;
 
@@ -125,6 +159,65 @@ public class PageCacheRecycler {
         });
 
         assert PAGE_SIZE_IN_BYTES * (maxBytePageCount + maxObjectPageCount) <= limit;
+
+        offHeapEnabled = OFF_HEAP_ENABLED_SETTING.get(settings);
+        if (offHeapEnabled) {
+            final long offHeapLimit = LIMIT_OFF_HEAP_SETTING.get(settings).getBytes();
+            final int maxDirectPageCount = (int) Math.min(Integer.MAX_VALUE, offHeapLimit / PAGE_SIZE_IN_BYTES);
+            if (maxDirectPageCount == 0) {
+                throw new IllegalArgumentException(
+                    "["
+                        + LIMIT_OFF_HEAP_SETTING.getKey()
+                        + "] must be at least ["
+                        + new ByteSizeValue(PAGE_SIZE_IN_BYTES)
+                        + "] if ["
+                        + OFF_HEAP_ENABLED_SETTING.getKey()
+                        + "] is set"
+                );
+            }
+            // The breaker is released as soon as a page is released, but a dropped page would only be freed by the garbage collector.
+            // So we never allocate more pages than the pool can hold and every released page goes back to the pool. The pool is a
+            // single deque whatever the type since a per-processor split could drop pages while other deques still have room.
+            directPage = concurrentDeque(new AbstractRecyclerC<ByteBuffer>() {
+                @Override
+                public ByteBuffer newInstance() {
+                    if (directPageCount.incrementAndGet() > maxDirectPageCount) {
+                        directPageCount.decrementAndGet();
+                        throw new CircuitBreakingException(
+                            "[off_heap] all ["
+                                + new ByteSizeValue((long) maxDirectPageCount * PAGE_SIZE_IN_BYTES)
+                                + "] of off-heap pages allowed by ["
+                                + LIMIT_OFF_HEAP_SETTING.getKey()
+                                + "] are in use",
+                            PAGE_SIZE_IN_BYTES,
+                            (long) maxDirectPageCount * PAGE_SIZE_IN_BYTES,
+                            CircuitBreaker.Durability.TRANSIENT
+                        );
+                    }
+                    return ByteBuffer.allocateDirect(BYTE_PAGE_SIZE).order(ByteOrder.nativeOrder());
+                }
+
+                @Override
+                public void recycle(ByteBuffer value) {
+                    // nothing to do
+                }
+
+                @Override
+                public void destroy(ByteBuffer value) {
+                    assert false : "off-heap pages must always be recycled";
+                    directPageCount.decrementAndGet();
+                }
+            }, maxDirectPageCount);
+        } else {
+            directPage = null;
+        }
+    }
+
+    /**
+     * Whether {@link BigArrays} should allocate large numeric arrays in direct memory using {@link #directPage(boolean)}.
+     */
+    public boolean isOffHeapEnabled() {
+        return offHeapEnabled;
     }
 
     public Recycler.V<byte[]> bytePage(boolean clear) {
@@ -140,6 +233,26 @@ public class PageCacheRecycler {
         return objectPage.obtain();
     }
 
+    /**
+     * Returns a page in direct memory, throwing a {@link CircuitBreakingException} if all pages allowed by
+     * {@link #LIMIT_OFF_HEAP_SETTING} are in use.
+     */
+    public Recycler.V<ByteBuffer> directPage(boolean clear) {
+        assert offHeapEnabled : "off-heap pages are disabled";
+        final Recycler.V<ByteBuffer> v = directPage.obtain();
+        if (v.isRecycled() && clear) {
+            v.v().put(0, ZERO_PAGE);
+        }
+        return v;
+    }
+
+    /**
+     * Number of pages in direct memory, whether in use or pooled.
+     */
+    int directPageCount() {
+        return directPageCount.get();
+    }
+
     private static <T> Recycler<T> build(Type type, int limit, int availableProcessors, Recycler.C<T> c) {
         final Recycler<T> recycler;
         if (limit == 0) {
@@ -0,0 +1,115 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.common.util.concurrent;
+
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.core.Tuple;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Groups the items that arrive within a delay of each other and processes each group with a single {@link #write} call.
+ * The first item of a group schedules the write on the given executor, so unlike {@link AsyncIOProcessor} no caller
+ * is blocked while the group fills up and every item waits at most the delay it was added with.
+ */
+public abstract class DelayedIOProcessor<Item> {
+    private final Logger logger;
+    private final ThreadPool threadPool;
+    private final String executor;
+    private final Object mutex = new Object();
+    private List<Tuple<Item, Consumer<Exception>>> pending; // guarded by mutex, null if no write is scheduled
+
+    protected DelayedIOProcessor(Logger logger, ThreadPool threadPool, String executor) {
+        this.logger = logger;
+        this.threadPool = threadPool;
+        this.executor = executor;
+    }
+
+    /**
+     * Adds the given item to the current group, scheduling the group's write after {@code delay} if this is its first item.
+     * The listener is notified once the group is processed.
+     */
+    public final void put(Item item, TimeValue delay, Consumer<Exception> listener) {
+        Objects.requireNonNull(item, "item must not be null");
+        Objects.requireNonNull(listener, "listener must not be null");
+        final Tuple<Item, Consumer<Exception>> tuple = new Tuple<>(item, preserveContext(listener));
+        final boolean schedule;
+        synchronized (mutex) {
+            schedule = pending == null;
+            if (schedule) {
+                pending = new ArrayList<>();
+            }
+            pending.add(tuple);
+        }
+        if (schedule) {
+            try {
+                threadPool.schedule(new AbstractRunnable() {
+                    @Override
+                    protected void doRun() {
+                        processPending(null);
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        processPending(e);
+                    }
+                }, delay, executor);
+            } catch (Exception e) {
+                processPending(e);
+            }
+        }
+    }
+
+    private void processPending(Exception failure) {
+        final List<Tuple<Item, Consumer<Exception>>> candidates;
+        synchronized (mutex) {
+            candidates = pending;
+            pending = null;
+        }
+        if (candidates == null) {
+            return;
+        }
+        Exception exception = failure;
+        if (exception == null) {
+            try {
+                write(candidates);
+            } catch (Exception ex) {
+                logger.debug("failed to write candidates", ex);
+                exception = ex;
+            }
+        }
+        for (Tuple<Item, Consumer<Exception>> tuple : candidates) {
+            try {
+                tuple.v2().accept(exception);
+            } catch (Exception ex) {
+                logger.warn("failed to notify callback", ex);
+            }
+        }
+    }
+
+    private Consumer<Exception> preserveContext(Consumer<Exception> consumer) {
+        Supplier<ThreadContext.StoredContext> restorableContext = threadPool.getThreadContext().newRestorableContext(false);
+        return e -> {
+            try (ThreadContext.StoredContext ignore = restorableContext.get()) {
+                consumer.accept(e);
+            }
+        };
+    }
+
+    /**
+     * Writes or processes a group of items.
+     */
+    protected abstract void write(List<Tuple<Item, Consumer<Exception>>> candidates) throws IOException;
+}
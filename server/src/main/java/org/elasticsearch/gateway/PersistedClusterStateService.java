@@ -42,10 +42,12 @@ import org.apache.lucene.util.SetOnce;
 import org.elasticsearch.Version;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.MappingMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.compress.CompressorFactory;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.logging.Loggers;
@@ -56,6 +58,7 @@ import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.xcontent.LoggingDeprecationHandler;
+import org.elasticsearch.common.xcontent.XContentParserUtils;
 import org.elasticsearch.core.CheckedConsumer;
 import org.elasticsearch.core.CheckedFunction;
 import org.elasticsearch.core.Nullable;
@@ -127,8 +130,11 @@ public class PersistedClusterStateService {
     public static final String TYPE_FIELD_NAME = "type";
     public static final String GLOBAL_TYPE_NAME = "global";
     public static final String INDEX_TYPE_NAME = "index";
+    public static final String MAPPING_TYPE_NAME = "mapping";
     private static final String DATA_FIELD_NAME = "data";
     private static final String INDEX_UUID_FIELD_NAME = "index_uuid";
+    private static final String MAPPING_HASH_FIELD_NAME = "mapping_hash";
+    private static final String MAPPING_CONTENT_FIELD_NAME = "content";
     public static final String PAGE_FIELD_NAME = "page";
     public static final String LAST_PAGE_FIELD_NAME = "last_page";
     public static final int IS_LAST_PAGE = 1;
@@ -490,11 +496,21 @@ public class PersistedClusterStateService {
             throw new CorruptStateException("no global metadata found in [" + dataPath + "]");
         }
 
-        logger.trace("got global metadata, now reading index metadata");
+        logger.trace("got global metadata, now reading mapping metadata");
+
+        // mappings are shared by all the indices that use them, keyed by their hash, so identical mappings are only read once
+        final Map<String, MappingMetadata> mappingsByHash = new HashMap<>();
+        consumeFromType(searcher, MAPPING_TYPE_NAME, bytes -> {
+            final MappingMetadata mappingMetadata = readXContent(bytes, PersistedClusterStateService::readMappingMetadata);
+            logger.trace("found mapping metadata with hash [{}]", mappingMetadata.getSha256());
+            mappingsByHash.put(mappingMetadata.getSha256(), mappingMetadata);
+        });
+
+        logger.trace("got metadata for [{}] mappings, now reading index metadata", mappingsByHash.size());
 
         final Set<String> indexUUIDs = new HashSet<>();
         consumeFromType(searcher, INDEX_TYPE_NAME, bytes -> {
-            final IndexMetadata indexMetadata = readXContent(bytes, IndexMetadata::fromXContent);
+            final IndexMetadata indexMetadata = readXContent(bytes, parser -> IndexMetadata.fromXContent(parser, mappingsByHash));
             logger.trace("found index metadata for {}", indexMetadata.getIndex());
             if (indexUUIDs.add(indexMetadata.getIndexUUID()) == false) {
                 throw new CorruptStateException("duplicate metadata found for " + indexMetadata.getIndex() + " in [" + dataPath + "]");
@@ -527,6 +543,18 @@ public class PersistedClusterStateService {
         }
     }
 
+    private static MappingMetadata readMappingMetadata(XContentParser parser) throws IOException {
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.FIELD_NAME, parser.nextToken(), parser);
+        if (MAPPING_CONTENT_FIELD_NAME.equals(parser.currentName()) == false) {
+            throw new IllegalArgumentException("unexpected field [" + parser.currentName() + "] in mapping metadata");
+        }
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.VALUE_EMBEDDED_OBJECT, parser.nextToken(), parser);
+        final MappingMetadata mappingMetadata = new MappingMetadata(new CompressedXContent(parser.binaryValue()));
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.END_OBJECT, parser.nextToken(), parser);
+        return mappingMetadata;
+    }
+
     private static void consumeFromType(
         IndexSearcher indexSearcher,
         String type,
@@ -578,6 +606,8 @@ public class PersistedClusterStateService {
                         final String key;
                         if (type.equals(GLOBAL_TYPE_NAME)) {
                             key = GLOBAL_TYPE_NAME;
+                        } else if (type.equals(MAPPING_TYPE_NAME)) {
+                            key = document.getField(MAPPING_HASH_FIELD_NAME).stringValue();
                         } else {
                             key = document.getField(INDEX_UUID_FIELD_NAME).stringValue();
                         }
@@ -611,11 +641,22 @@ public class PersistedClusterStateService {
 
     private static final ToXContent.Params FORMAT_PARAMS;
 
+    /**
+     * Index metadata refers to its mapping by hash, and each distinct mapping is written once as a separate {@link #MAPPING_TYPE_NAME}
+     * document, so that the many indices sharing a mapping (e.g. the backing indices of a data stream) do not each store a copy of it.
+     */
+    private static final ToXContent.Params INDEX_FORMAT_PARAMS;
+
     static {
         Map<String, String> params = Maps.newMapWithExpectedSize(2);
         params.put("binary", "true");
         params.put(Metadata.CONTEXT_MODE_PARAM, Metadata.CONTEXT_MODE_GATEWAY);
         FORMAT_PARAMS = new ToXContent.MapParams(params);
+
+        Map<String, String> indexParams = Maps.newMapWithExpectedSize(3);
+        indexParams.putAll(params);
+        indexParams.put(IndexMetadata.DEDUPLICATED_MAPPINGS_PARAM, "true");
+        INDEX_FORMAT_PARAMS = new ToXContent.MapParams(indexParams);
     }
 
     @SuppressForbidden(reason = "merges are only temporarily suppressed, the merge scheduler does not need changing")
@@ -671,6 +712,11 @@ public class PersistedClusterStateService {
             indexWriter.deleteDocuments(new Term(INDEX_UUID_FIELD_NAME, indexUUID));
         }
 
+        void deleteMappingMetadata(String mappingHash) throws IOException {
+            this.logger.trace("removing mapping metadata for [{}]", mappingHash);
+            indexWriter.deleteDocuments(new Term(MAPPING_HASH_FIELD_NAME, mappingHash));
+        }
+
         void flush() throws IOException {
             this.logger.trace("flushing");
             this.indexWriter.flush();
@@ -844,6 +890,27 @@ public class PersistedClusterStateService {
                 addGlobalMetadataDocuments(metadata);
             }
 
+            // write the mappings before the indices that refer to them, and only remove mappings which are no longer used by any index
+            final Map<String, MappingMetadata> previousMappingsByHash = mappingsByHash(previouslyWrittenMetadata);
+            final Map<String, MappingMetadata> mappingsByHash = mappingsByHash(metadata);
+            int numMappingsAdded = 0;
+            for (Map.Entry<String, MappingMetadata> entry : mappingsByHash.entrySet()) {
+                if (previousMappingsByHash.containsKey(entry.getKey()) == false) {
+                    numMappingsAdded++;
+                    addMappingDocuments(entry.getValue());
+                }
+            }
+            int numMappingsRemoved = 0;
+            for (String previousMappingHash : previousMappingsByHash.keySet()) {
+                if (mappingsByHash.containsKey(previousMappingHash) == false) {
+                    numMappingsRemoved++;
+                    for (MetadataIndexWriter metadataIndexWriter : metadataIndexWriters) {
+                        metadataIndexWriter.deleteMappingMetadata(previousMappingHash);
+                    }
+                }
+            }
+            logger.trace("wrote [{}] new mappings and removed [{}] unused mappings", numMappingsAdded, numMappingsRemoved);
+
             final Map<String, Long> indexMetadataVersionByUUID = Maps.newMapWithExpectedSize(previouslyWrittenMetadata.indices().size());
             for (IndexMetadata indexMetadata : previouslyWrittenMetadata.indices().values()) {
                 final Long previousValue = indexMetadataVersionByUUID.putIfAbsent(indexMetadata.getIndexUUID(), indexMetadata.getVersion());
@@ -901,11 +968,42 @@ public class PersistedClusterStateService {
             return isLastPage ? IS_LAST_PAGE : IS_NOT_LAST_PAGE;
         }
 
+        private static Map<String, MappingMetadata> mappingsByHash(Metadata metadata) {
+            final Map<String, MappingMetadata> mappingsByHash = new HashMap<>();
+            for (IndexMetadata indexMetadata : metadata.indices().values()) {
+                final MappingMetadata mappingMetadata = indexMetadata.mapping();
+                if (mappingMetadata != null) {
+                    mappingsByHash.putIfAbsent(mappingMetadata.getSha256(), mappingMetadata);
+                }
+            }
+            return mappingsByHash;
+        }
+
+        private void addMappingDocuments(MappingMetadata mappingMetadata) throws IOException {
+            final String mappingHash = mappingMetadata.getSha256();
+            logger.trace("writing mapping metadata with hash [{}]", mappingHash);
+            writePages(
+                (builder, params) -> builder.field(MAPPING_CONTENT_FIELD_NAME, mappingMetadata.source().compressed()),
+                FORMAT_PARAMS,
+                (bytesRef, pageIndex, isLastPage) -> {
+                    final Document document = new Document();
+                    document.add(new StringField(TYPE_FIELD_NAME, MAPPING_TYPE_NAME, Field.Store.NO));
+                    document.add(new StringField(MAPPING_HASH_FIELD_NAME, mappingHash, Field.Store.YES));
+                    document.add(new StoredField(PAGE_FIELD_NAME, pageIndex));
+                    document.add(new StoredField(LAST_PAGE_FIELD_NAME, lastPageValue(isLastPage)));
+                    document.add(new StoredField(DATA_FIELD_NAME, bytesRef));
+                    for (MetadataIndexWriter metadataIndexWriter : metadataIndexWriters) {
+                        metadataIndexWriter.indexWriter.addDocument(document);
+                    }
+                }
+            );
+        }
+
         private void addIndexMetadataDocuments(IndexMetadata indexMetadata) throws IOException {
             final String indexUUID = indexMetadata.getIndexUUID();
             assert indexUUID.equals(IndexMetadata.INDEX_UUID_NA_VALUE) == false;
             logger.trace("updating metadata for [{}]", indexMetadata.getIndex());
-            writePages(indexMetadata, ((bytesRef, pageIndex, isLastPage) -> {
+            writePages(indexMetadata, INDEX_FORMAT_PARAMS, ((bytesRef, pageIndex, isLastPage) -> {
                 final Document document = new Document();
                 document.add(new StringField(TYPE_FIELD_NAME, INDEX_TYPE_NAME, Field.Store.NO));
                 document.add(new StringField(INDEX_UUID_FIELD_NAME, indexUUID, Field.Store.YES));
@@ -920,7 +1018,7 @@ public class PersistedClusterStateService {
 
         private void addGlobalMetadataDocuments(Metadata metadata) throws IOException {
             logger.trace("updating global metadata doc");
-            writePages(metadata, (bytesRef, pageIndex, isLastPage) -> {
+            writePages(metadata, FORMAT_PARAMS, (bytesRef, pageIndex, isLastPage) -> {
                 final Document document = new Document();
                 document.add(new StringField(TYPE_FIELD_NAME, GLOBAL_TYPE_NAME, Field.Store.NO));
                 document.add(new StoredField(PAGE_FIELD_NAME, pageIndex));
@@ -932,14 +1030,14 @@ public class PersistedClusterStateService {
             });
         }
 
-        private void writePages(ToXContent metadata, PageWriter pageWriter) throws IOException {
+        private void writePages(ToXContent metadata, ToXContent.Params params, PageWriter pageWriter) throws IOException {
             try (
                 PageWriterOutputStream paginatedStream = new PageWriterOutputStream(documentBuffer, pageWriter);
                 OutputStream compressedStream = CompressorFactory.COMPRESSOR.threadLocalOutputStream(paginatedStream);
                 XContentBuilder xContentBuilder = XContentFactory.contentBuilder(XContentType.SMILE, compressedStream)
             ) {
                 xContentBuilder.startObject();
-                metadata.toXContent(xContentBuilder, FORMAT_PARAMS);
+                metadata.toXContent(xContentBuilder, params);
                 xContentBuilder.endObject();
             }
         }
@@ -960,6 +1058,10 @@ public class PersistedClusterStateService {
         private WriterStats addMetadata(Metadata metadata) throws IOException {
             addGlobalMetadataDocuments(metadata);
 
+            for (MappingMetadata mappingMetadata : mappingsByHash(metadata).values()) {
+                addMappingDocuments(mappingMetadata);
+            }
+
             for (IndexMetadata indexMetadata : metadata.indices().values()) {
                 addIndexMetadataDocuments(indexMetadata);
             }
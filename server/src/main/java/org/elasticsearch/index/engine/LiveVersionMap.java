@@ -272,7 +272,12 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
             return value;
         }
 
-        return tombstones.get(uid);
+        return getTombstone(uid);
+    }
+
+    private DeleteVersionValue getTombstone(BytesRef uid) {
+        // BytesRef does not cache its hash code, so we skip the lookup entirely for the common append-only case without deletes
+        return tombstones.isEmpty() ? null : tombstones.get(uid);
     }
 
     VersionValue getVersionForAssert(final BytesRef uid) {
@@ -354,6 +359,10 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
      */
     void removeTombstoneUnderLock(BytesRef uid) {
         assert assertKeyedLockHeldByCurrentThread(uid);
+        if (tombstones.isEmpty()) {
+            // avoids hashing the uid on every indexing operation of append-only workloads
+            return;
+        }
         long uidRAMBytesUsed = BASE_BYTES_PER_BYTESREF + uid.bytes.length;
         final VersionValue prev = tombstones.remove(uid);
         if (prev != null) {
@@ -151,6 +151,13 @@ public class FieldsVisitor extends FieldNamesProvidingStoredFieldsVisitor {
         addValue(fieldInfo.name, object);
     }
 
+    /**
+     * Was this visitor asked to load {@code _source}?
+     */
+    public boolean loadSource() {
+        return loadSource;
+    }
+
     public BytesReference source() {
         return source;
     }
@@ -224,10 +224,12 @@ public final class ShardGetService extends AbstractIndexShardComponent {
         if (fieldVisitor != null) {
             try {
                 docIdAndVersion.reader.document(docIdAndVersion.docId, fieldVisitor);
+                if (fieldVisitor.loadSource()) {
+                    source = mappingLookup.newSourceLoader().leaf(docIdAndVersion.reader).source(fieldVisitor, docIdAndVersion.docId);
+                }
             } catch (IOException e) {
                 throw new ElasticsearchException("Failed to get id [" + id + "]", e);
             }
-            source = fieldVisitor.source();
 
             // put stored fields into result objects
             if (fieldVisitor.fields().isEmpty() == false) {
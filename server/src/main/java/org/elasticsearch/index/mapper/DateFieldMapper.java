@@ -48,6 +48,7 @@ import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.lookup.FieldValues;
 import org.elasticsearch.search.lookup.SearchLookup;
 import org.elasticsearch.search.runtime.LongScriptFieldDistanceFeatureQuery;
+import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.text.NumberFormat;
@@ -545,7 +546,11 @@ public final class DateFieldMapper extends FieldMapper {
             Resolution resolution,
             BiFunction<Long, Long, Query> builder
         ) {
-            return handleNow(context, nowSupplier -> {
+            // rounded date math like `now/d` resolves to the same bounds for a whole rounding unit, so rather than making the
+            // request uncacheable we make the resolved bounds part of the request cache key
+            boolean usesNow = usesNow(lowerTerm) || usesNow(upperTerm);
+            boolean roundedNow = usesNow && isRoundedOrConstant(lowerTerm) && isRoundedOrConstant(upperTerm);
+            return handleNow(roundedNow ? context::roundedNowInMillis : context::nowInMillis, nowSupplier -> {
                 long l, u;
                 if (lowerTerm == null) {
                     l = Long.MIN_VALUE;
@@ -563,10 +568,26 @@ public final class DateFieldMapper extends FieldMapper {
                         --u;
                     }
                 }
+                if (roundedNow) {
+                    context.addResolvedRoundedDateMath(l);
+                    context.addResolvedRoundedDateMath(u);
+                }
                 return builder.apply(l, u);
             });
         }
 
+        private static boolean usesNow(Object term) {
+            return term != null && term instanceof Number == false && BytesRefs.toString(term).startsWith("now");
+        }
+
+        /**
+         * Whether {@code term} is either a constant or date math on {@code now} that includes a rounding step, in which
+         * case the resolved value only changes once per rounding unit.
+         */
+        private static boolean isRoundedOrConstant(Object term) {
+            return usesNow(term) == false || BytesRefs.toString(term).indexOf('/') >= 0;
+        }
+
         /**
          * Handle {@code now} in queries.
          * @param context context from which to read the current time
@@ -574,10 +595,14 @@ public final class DateFieldMapper extends FieldMapper {
          * @return the result of the builder, wrapped in {@link DateRangeIncludingNowQuery} if {@code now} was used.
          */
         public static Query handleNow(SearchExecutionContext context, Function<LongSupplier, Query> builder) {
+            return handleNow(context::nowInMillis, builder);
+        }
+
+        private static Query handleNow(LongSupplier now, Function<LongSupplier, Query> builder) {
             boolean[] nowUsed = new boolean[1];
             LongSupplier nowSupplier = () -> {
                 nowUsed[0] = true;
-                return context.nowInMillis();
+                return now.getAsLong();
             };
             Query query = builder.apply(nowSupplier);
             return nowUsed[0] ? new DateRangeIncludingNowQuery(query) : query;
@@ -665,9 +690,20 @@ public final class DateFieldMapper extends FieldMapper {
                 }
             }
 
+            // like in rangeQuery, rounded `now` keeps the request cacheable and the resolved bounds become part of the cache key
+            SearchExecutionContext searchExecutionContext = context.convertToSearchExecutionContext();
+            boolean roundedNow = searchExecutionContext != null
+                && (usesNow(from) || usesNow(to))
+                && isRoundedOrConstant(from)
+                && isRoundedOrConstant(to);
+            LongSupplier now = roundedNow ? searchExecutionContext::roundedNowInMillis : context::nowInMillis;
+
             long fromInclusive = Long.MIN_VALUE;
             if (from != null) {
-                fromInclusive = parseToLong(from, includeLower == false, timeZone, dateParser, context::nowInMillis, resolution);
+                fromInclusive = parseToLong(from, includeLower == false, timeZone, dateParser, now, resolution);
+                if (roundedNow) {
+                    searchExecutionContext.addResolvedRoundedDateMath(fromInclusive);
+                }
                 if (includeLower == false) {
                     if (fromInclusive == Long.MAX_VALUE) {
                         return Relation.DISJOINT;
@@ -678,7 +714,10 @@ public final class DateFieldMapper extends FieldMapper {
 
             long toInclusive = Long.MAX_VALUE;
             if (to != null) {
-                toInclusive = parseToLong(to, includeUpper, timeZone, dateParser, context::nowInMillis, resolution);
+                toInclusive = parseToLong(to, includeUpper, timeZone, dateParser, now, resolution);
+                if (roundedNow) {
+                    searchExecutionContext.addResolvedRoundedDateMath(toInclusive);
+                }
                 if (includeUpper == false) {
                     if (toInclusive == Long.MIN_VALUE) {
                         return Relation.DISJOINT;
@@ -850,4 +889,28 @@ public final class DateFieldMapper extends FieldMapper {
     public Long getNullValue() {
         return nullValue;
     }
+
+    @Override
+    public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
+        if (hasScript()) {
+            return SourceLoader.SyntheticFieldLoader.NOTHING;
+        }
+        if (hasDocValues == false) {
+            throw new IllegalArgumentException(
+                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it doesn't have doc values"
+            );
+        }
+        if (ignoreMalformed) {
+            throw new IllegalArgumentException(
+                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it ignores malformed dates"
+            );
+        }
+        DocValueFormat.DateTime format = new DocValueFormat.DateTime(fieldType().dateTimeFormatter(), ZoneOffset.UTC, resolution);
+        return new SortedNumericDocValuesSyntheticFieldLoader(name(), simpleName()) {
+            @Override
+            protected void writeValue(XContentBuilder b, long value) throws IOException {
+                b.value(format.format(value));
+            }
+        };
+    }
 }
@@ -50,4 +50,30 @@ public final class DocValueFetcher implements ValueFetcher {
         return result;
     }
 
+    /**
+     * Load the values of many documents in a single forward pass over the doc values.
+     * @param docIds ids of the documents relative to the current reader, in increasing order
+     * @return the values of each document, in the same order as {@code docIds}
+     */
+    public List<List<Object>> fetchValues(int[] docIds) throws IOException {
+        List<List<Object>> results = new ArrayList<>(docIds.length);
+        List<Object> previous = emptyList();
+        for (int i = 0; i < docIds.length; i++) {
+            if (i > 0 && docIds[i] == docIds[i - 1]) {
+                // doc values can't be read twice for the same document
+                results.add(previous);
+                continue;
+            }
+            previous = emptyList();
+            if (formattedDocValues.advanceExact(docIds[i])) {
+                int count = formattedDocValues.docValueCount();
+                previous = new ArrayList<>(count);
+                for (int v = 0; v < count; ++v) {
+                    previous.add(formattedDocValues.nextValue());
+                }
+            }
+            results.add(previous);
+        }
+        return results;
+    }
 }
@@ -114,6 +114,10 @@ public class DocumentMapper {
                 }
             }
         }
+        if (sourceMapper().isSynthetic()) {
+            // fail the mapping update up front rather than every request that loads _source
+            mappingLookup.newSourceLoader();
+        }
         if (checkLimits) {
             this.mappingLookup.checkLimits(settings);
         }
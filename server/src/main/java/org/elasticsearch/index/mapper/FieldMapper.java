@@ -339,6 +339,12 @@ public abstract class FieldMapper extends Mapper implements Cloneable {
             if (mappers.isMultiField(this.name())) {
                 throw new IllegalArgumentException("[copy_to] may not be used to copy from a multi-field: [" + this.name() + "]");
             }
+            if (mappers.isSourceSynthetic()) {
+                // the doc values of the targets hold the copied values too, so they'd show up in the rebuilt _source
+                throw new IllegalArgumentException(
+                    "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it declares copy_to"
+                );
+            }
 
             final String sourceScope = mappers.nestedLookup().getNestedParent(this.name());
             for (String copyTo : this.copyTo().copyToFields()) {
@@ -361,6 +367,14 @@ public abstract class FieldMapper extends Mapper implements Cloneable {
 
     protected void doValidate(MappingLookup mappers) {}
 
+    /**
+     * Build a loader that rebuilds this field's values for a synthetic {@code _source}.
+     * @throws IllegalArgumentException if the field's values can't be rebuilt from what is indexed
+     */
+    public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
+        throw new IllegalArgumentException("field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source");
+    }
+
     private static void checkNestedScopeCompatibility(String source, String target) {
         boolean targetIsParentOfSource;
         if (source == null || target == null) {
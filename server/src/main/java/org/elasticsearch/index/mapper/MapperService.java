@@ -353,7 +353,12 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
             Mapping mapping = mergeMappings(this.mapper, incomingMapping, reason);
             // TODO: In many cases the source here is equal to mappingSource so we need not serialize again.
             // We should identify these cases reliably and save expensive serialization here
-            DocumentMapper newMapper = newDocumentMapper(mapping, reason, mapping.toCompressedXContent());
+            CompressedXContent mergedMappingSource = mapping.toCompressedXContent();
+            if (mergedMappingSource.equals(mappingSource)) {
+                // keep the incoming instance, which is usually shared with the cluster state and with other indices, rather than a copy
+                mergedMappingSource = mappingSource;
+            }
+            DocumentMapper newMapper = newDocumentMapper(mapping, reason, mergedMappingSource);
             if (reason == MergeReason.MAPPING_UPDATE_PREFLIGHT) {
                 return newMapper;
             }
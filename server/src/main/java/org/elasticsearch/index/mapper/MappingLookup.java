@@ -400,6 +400,20 @@ public final class MappingLookup {
         return sfm != null && sfm.enabled();
     }
 
+    public boolean isSourceSynthetic() {
+        SourceFieldMapper sfm = mapping.getMetadataMapperByClass(SourceFieldMapper.class);
+        return sfm != null && sfm.isSynthetic();
+    }
+
+    /**
+     * Build something to load {@code _source}, either from the stored field or, when the
+     * {@code _source} is synthetic, from the doc values of the mapped fields.
+     * @throws IllegalArgumentException if the source is synthetic and a mapped field can't be rebuilt from doc values
+     */
+    public SourceLoader newSourceLoader() {
+        return isSourceSynthetic() ? new SourceLoader.Synthetic(mapping) : SourceLoader.FROM_STORED_SOURCE;
+    }
+
     /**
      * Returns if this mapping contains a data-stream's timestamp meta-field and this field is enabled.
      * Only indices that are a part of a data-stream have this meta-field enabled.
@@ -117,6 +117,11 @@ public class NestedObjectMapper extends ObjectMapper {
         return true;
     }
 
+    @Override
+    public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
+        throw new IllegalArgumentException("field [" + name() + "] of type [" + CONTENT_TYPE + "] doesn't support synthetic source");
+    }
+
     public boolean isIncludeInParent() {
         return this.includeInParent.value();
     }
@@ -1509,4 +1509,47 @@ public class NumberFieldMapper extends FieldMapper {
             .metric(metricType)
             .init(this);
     }
+
+    @Override
+    public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
+        if (hasScript()) {
+            return SourceLoader.SyntheticFieldLoader.NOTHING;
+        }
+        if (hasDocValues == false) {
+            throw new IllegalArgumentException(
+                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it doesn't have doc values"
+            );
+        }
+        if (ignoreMalformed()) {
+            throw new IllegalArgumentException(
+                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it ignores malformed numbers"
+            );
+        }
+        return switch (type.numericType()) {
+            case DOUBLE -> new SortedNumericDocValuesSyntheticFieldLoader(name(), simpleName()) {
+                @Override
+                protected void writeValue(XContentBuilder b, long value) throws IOException {
+                    b.value(NumericUtils.sortableLongToDouble(value));
+                }
+            };
+            case FLOAT -> new SortedNumericDocValuesSyntheticFieldLoader(name(), simpleName()) {
+                @Override
+                protected void writeValue(XContentBuilder b, long value) throws IOException {
+                    b.value(NumericUtils.sortableIntToFloat((int) value));
+                }
+            };
+            case HALF_FLOAT -> new SortedNumericDocValuesSyntheticFieldLoader(name(), simpleName()) {
+                @Override
+                protected void writeValue(XContentBuilder b, long value) throws IOException {
+                    b.value(HalfFloatPoint.sortableShortToHalfFloat((short) value));
+                }
+            };
+            default -> new SortedNumericDocValuesSyntheticFieldLoader(name(), simpleName()) {
+                @Override
+                protected void writeValue(XContentBuilder b, long value) throws IOException {
+                    b.value(value);
+                }
+            };
+        };
+    }
 }
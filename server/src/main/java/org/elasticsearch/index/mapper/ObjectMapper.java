@@ -487,4 +487,60 @@ public class ObjectMapper extends Mapper implements Cloneable {
     protected void doXContent(XContentBuilder builder, Params params) throws IOException {
 
     }
+
+    /**
+     * Build a loader that rebuilds this object for a synthetic {@code _source} from the values of its sub-fields.
+     * @throws IllegalArgumentException if any of the sub-fields can't be rebuilt from what is indexed
+     */
+    public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
+        if (isEnabled() == false) {
+            throw new IllegalArgumentException("object [" + name() + "] doesn't support synthetic source because it is disabled");
+        }
+        Mapper[] sortedMappers = mappers.values().toArray(Mapper[]::new);
+        Arrays.sort(sortedMappers, Comparator.comparing(Mapper::simpleName));
+        List<SourceLoader.SyntheticFieldLoader> fields = new ArrayList<>(sortedMappers.length);
+        for (Mapper mapper : sortedMappers) {
+            if (mapper instanceof ObjectMapper objectMapper) {
+                fields.add(objectMapper.syntheticFieldLoader());
+            } else if (mapper instanceof FieldMapper fieldMapper && (mapper instanceof MetadataFieldMapper) == false) {
+                fields.add(fieldMapper.syntheticFieldLoader());
+            }
+            // field aliases have no values of their own
+        }
+        boolean root = this instanceof RootObjectMapper;
+        return reader -> {
+            SourceLoader.SyntheticFieldLoader.Leaf[] leaves = new SourceLoader.SyntheticFieldLoader.Leaf[fields.size()];
+            for (int i = 0; i < leaves.length; i++) {
+                leaves[i] = fields.get(i).leaf(reader);
+            }
+            return new SourceLoader.SyntheticFieldLoader.Leaf() {
+                private final boolean[] hasValue = new boolean[leaves.length];
+
+                @Override
+                public boolean advanceToDoc(int docId) throws IOException {
+                    boolean any = false;
+                    for (int i = 0; i < leaves.length; i++) {
+                        hasValue[i] = leaves[i].advanceToDoc(docId);
+                        any |= hasValue[i];
+                    }
+                    return any;
+                }
+
+                @Override
+                public void write(XContentBuilder b) throws IOException {
+                    if (root) {
+                        b.startObject();
+                    } else {
+                        b.startObject(simpleName());
+                    }
+                    for (int i = 0; i < leaves.length; i++) {
+                        if (hasValue[i]) {
+                            leaves[i].write(b);
+                        }
+                    }
+                    b.endObject();
+                }
+            };
+        };
+    }
 }
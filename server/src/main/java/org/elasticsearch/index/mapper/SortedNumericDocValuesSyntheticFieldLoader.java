@@ -0,0 +1,60 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * Load values for a synthetic {@code _source} from {@link SortedNumericDocValues}.
+ */
+public abstract class SortedNumericDocValuesSyntheticFieldLoader implements SourceLoader.SyntheticFieldLoader {
+    private final String name;
+    private final String simpleName;
+
+    protected SortedNumericDocValuesSyntheticFieldLoader(String name, String simpleName) {
+        this.name = name;
+        this.simpleName = simpleName;
+    }
+
+    /**
+     * Write a single value, decoded from its doc values representation.
+     */
+    protected abstract void writeValue(XContentBuilder b, long value) throws IOException;
+
+    @Override
+    public Leaf leaf(LeafReader reader) throws IOException {
+        SortedNumericDocValues dv = DocValues.getSortedNumeric(reader, name);
+        return new Leaf() {
+            @Override
+            public boolean advanceToDoc(int docId) throws IOException {
+                return dv.advanceExact(docId);
+            }
+
+            @Override
+            public void write(XContentBuilder b) throws IOException {
+                int count = dv.docValueCount();
+                if (count == 1) {
+                    b.field(simpleName);
+                    writeValue(b, dv.nextValue());
+                    return;
+                }
+                b.startArray(simpleName);
+                for (int i = 0; i < count; i++) {
+                    writeValue(b, dv.nextValue());
+                }
+                b.endArray();
+            }
+        };
+    }
+}
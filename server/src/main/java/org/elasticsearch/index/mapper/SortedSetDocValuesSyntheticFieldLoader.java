@@ -0,0 +1,68 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * Load values for a synthetic {@code _source} from {@link SortedSetDocValues}. The values
+ * come back sorted and without duplicates.
+ */
+public class SortedSetDocValuesSyntheticFieldLoader implements SourceLoader.SyntheticFieldLoader {
+    private final String name;
+    private final String simpleName;
+
+    public SortedSetDocValuesSyntheticFieldLoader(String name, String simpleName) {
+        this.name = name;
+        this.simpleName = simpleName;
+    }
+
+    @Override
+    public Leaf leaf(LeafReader reader) throws IOException {
+        SortedSetDocValues dv = DocValues.getSortedSet(reader, name);
+        return new Leaf() {
+            private long firstOrd;
+
+            @Override
+            public boolean advanceToDoc(int docId) throws IOException {
+                if (dv.advanceExact(docId) == false) {
+                    return false;
+                }
+                firstOrd = dv.nextOrd();
+                return true;
+            }
+
+            @Override
+            public void write(XContentBuilder b) throws IOException {
+                long nextOrd = dv.nextOrd();
+                if (nextOrd == SortedSetDocValues.NO_MORE_ORDS) {
+                    b.field(simpleName);
+                    writeValue(b, dv.lookupOrd(firstOrd));
+                    return;
+                }
+                b.startArray(simpleName);
+                writeValue(b, dv.lookupOrd(firstOrd));
+                for (long ord = nextOrd; ord != SortedSetDocValues.NO_MORE_ORDS; ord = dv.nextOrd()) {
+                    writeValue(b, dv.lookupOrd(ord));
+                }
+                b.endArray();
+            }
+        };
+    }
+
+    private static void writeValue(XContentBuilder b, BytesRef value) throws IOException {
+        b.utf8Value(value.bytes, value.offset, value.length);
+    }
+}
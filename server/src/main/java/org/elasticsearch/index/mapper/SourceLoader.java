@@ -0,0 +1,120 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.apache.lucene.index.LeafReader;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.fieldvisitor.FieldsVisitor;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.json.JsonXContent;
+
+import java.io.IOException;
+
+/**
+ * Loads {@code _source} during a GET or {@code _search}.
+ */
+public interface SourceLoader {
+    /**
+     * Build the loader for some segment.
+     */
+    Leaf leaf(LeafReader reader) throws IOException;
+
+    /**
+     * Loads {@code _source} from some segment.
+     */
+    interface Leaf {
+        /**
+         * Load the {@code _source} for a document.
+         * @param storedFields the stored fields that have already been loaded for the document
+         * @param docId the doc to load
+         */
+        @Nullable
+        BytesReference source(FieldsVisitor storedFields, int docId) throws IOException;
+    }
+
+    /**
+     * Load {@code _source} from a stored field.
+     */
+    SourceLoader FROM_STORED_SOURCE = reader -> (storedFields, docId) -> storedFields.source();
+
+    /**
+     * Reconstructs {@code _source} from doc values of the mapped fields.
+     */
+    class Synthetic implements SourceLoader {
+        private final SyntheticFieldLoader loader;
+
+        public Synthetic(Mapping mapping) {
+            this.loader = mapping.getRoot().syntheticFieldLoader();
+        }
+
+        @Override
+        public Leaf leaf(LeafReader reader) throws IOException {
+            return new Leaf() {
+                private SyntheticFieldLoader.Leaf leaf = loader.leaf(reader);
+                private int lastDocId = -1;
+
+                @Override
+                public BytesReference source(FieldsVisitor storedFields, int docId) throws IOException {
+                    if (docId < lastDocId) {
+                        // doc values iterators only move forwards
+                        leaf = loader.leaf(reader);
+                    }
+                    lastDocId = docId;
+                    XContentBuilder b = JsonXContent.contentBuilder();
+                    if (leaf.advanceToDoc(docId)) {
+                        leaf.write(b);
+                    } else {
+                        b.startObject().endObject();
+                    }
+                    return BytesReference.bytes(b);
+                }
+            };
+        }
+    }
+
+    /**
+     * Load a field for {@link Synthetic}.
+     */
+    interface SyntheticFieldLoader {
+        /**
+         * Load no values.
+         */
+        SyntheticFieldLoader NOTHING = reader -> new Leaf() {
+            @Override
+            public boolean advanceToDoc(int docId) {
+                return false;
+            }
+
+            @Override
+            public void write(XContentBuilder b) {}
+        };
+
+        /**
+         * Build a loader for this field in the provided segment.
+         */
+        Leaf leaf(LeafReader reader) throws IOException;
+
+        /**
+         * Loads values for a field in a particular leaf.
+         */
+        interface Leaf {
+            /**
+             * Position the loader at a document. Documents must be visited in increasing order.
+             * @return {@code true} if the field has any values in this document
+             */
+            boolean advanceToDoc(int docId) throws IOException;
+
+            /**
+             * Write the values of the current document. Only called if {@link #advanceToDoc} returned {@code true}.
+             */
+            void write(XContentBuilder b) throws IOException;
+        }
+    }
+}
@@ -46,6 +46,7 @@ import org.elasticsearch.index.mapper.MappingParserContext;
 import org.elasticsearch.index.mapper.NestedLookup;
 import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.mapper.RuntimeField;
+import org.elasticsearch.index.mapper.SourceLoader;
 import org.elasticsearch.index.mapper.SourceToParse;
 import org.elasticsearch.index.mapper.TextFieldMapper;
 import org.elasticsearch.index.query.support.NestedScope;
@@ -62,6 +63,7 @@ import org.elasticsearch.xcontent.XContentParser;
 import org.elasticsearch.xcontent.XContentParserConfiguration;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -97,6 +99,7 @@ public class SearchExecutionContext extends QueryRewriteContext {
     private final int shardRequestIndex;
     private final IndexSearcher searcher;
     private boolean cacheable = true;
+    private final List<Long> resolvedRoundedDateMath = new ArrayList<>();
     private final SetOnce<Boolean> frozen = new SetOnce<>();
     private Set<String> fieldsInIndex = null;
 
@@ -460,12 +463,20 @@ public class SearchExecutionContext extends QueryRewriteContext {
         if (this.lookup == null) {
             this.lookup = new SearchLookup(
                 this::getFieldType,
-                (fieldType, searchLookup) -> indexFieldDataService.apply(fieldType, fullyQualifiedIndex.getName(), searchLookup)
+                (fieldType, searchLookup) -> indexFieldDataService.apply(fieldType, fullyQualifiedIndex.getName(), searchLookup),
+                mappingLookup.newSourceLoader()
             );
         }
         return this.lookup;
     }
 
+    /**
+     * Build something to load {@code _source}, see {@link MappingLookup#newSourceLoader()}.
+     */
+    public SourceLoader newSourceLoader() {
+        return mappingLookup.newSourceLoader();
+    }
+
     public NestedScope nestedScope() {
         return nestedScope;
     }
@@ -551,6 +562,10 @@ public class SearchExecutionContext extends QueryRewriteContext {
      */
     protected final void failIfFrozen() {
         this.cacheable = false;
+        ensureNotFrozen();
+    }
+
+    private void ensureNotFrozen() {
         if (frozen.get() == Boolean.TRUE) {
             throw new IllegalArgumentException("features that prevent cachability are disabled on this context");
         } else {
@@ -599,6 +614,31 @@ public class SearchExecutionContext extends QueryRewriteContext {
         return super.nowInMillis();
     }
 
+    /**
+     * Returns the current time for date math that is rounded, like {@code now/d}. Unlike {@link #nowInMillis()} this
+     * keeps the request cacheable: the caller must register the values it resolved with {@link #addResolvedRoundedDateMath(long)}
+     * so that they become part of the request cache key instead of {@code now} itself.
+     */
+    public final long roundedNowInMillis() {
+        ensureNotFrozen();
+        return super.nowInMillis();
+    }
+
+    /**
+     * Registers a value that was resolved from rounded date math using {@link #roundedNowInMillis()}.
+     */
+    public final void addResolvedRoundedDateMath(long value) {
+        resolvedRoundedDateMath.add(value);
+    }
+
+    /**
+     * Returns the values resolved from rounded date math, in the order they were registered. Requests that use rounded
+     * {@code now} must add them to their cache key.
+     */
+    public final List<Long> getResolvedRoundedDateMath() {
+        return Collections.unmodifiableList(resolvedRoundedDateMath);
+    }
+
     public Client getClient() {
         failIfFrozen(); // we somebody uses a terms filter with lookup for instance can't be cached...
         return client;
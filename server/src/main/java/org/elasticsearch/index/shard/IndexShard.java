@@ -58,6 +58,7 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.CollectionUtils;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.util.concurrent.AsyncIOProcessor;
+import org.elasticsearch.common.util.concurrent.DelayedIOProcessor;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.core.Booleans;
@@ -328,6 +329,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         this.indexEventListener = indexEventListener;
         this.threadPool = threadPool;
         this.translogSyncProcessor = createTranslogSyncProcessor(logger, threadPool.getThreadContext(), this::getEngine);
+        this.translogGroupCommitProcessor = createTranslogGroupCommitProcessor(logger, threadPool, this::getEngine);
         this.mapperService = mapperService;
         this.indexCache = indexCache;
         this.internalIndexingStats = new InternalIndexingStats();
@@ -3585,6 +3587,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     }
 
     private final AsyncIOProcessor<Translog.Location> translogSyncProcessor;
+    private final DelayedIOProcessor<Translog.Location> translogGroupCommitProcessor;
 
     private static AsyncIOProcessor<Translog.Location> createTranslogSyncProcessor(
         Logger logger,
@@ -3594,19 +3597,41 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         return new AsyncIOProcessor<>(logger, 1024, threadContext) {
             @Override
             protected void write(List<Tuple<Translog.Location, Consumer<Exception>>> candidates) throws IOException {
-                try {
-                    engineSupplier.get().ensureTranslogSynced(candidates.stream().map(Tuple::v1));
-                } catch (AlreadyClosedException ex) {
-                    // that's fine since we already synced everything on engine close - this also is conform with the methods
-                    // documentation
-                } catch (IOException ex) { // if this fails we are in deep shit - fail the request
-                    logger.debug("failed to sync translog", ex);
-                    throw ex;
-                }
+                syncTranslog(logger, engineSupplier, candidates);
+            }
+        };
+    }
+
+    private static DelayedIOProcessor<Translog.Location> createTranslogGroupCommitProcessor(
+        Logger logger,
+        ThreadPool threadPool,
+        Supplier<Engine> engineSupplier
+    ) {
+        return new DelayedIOProcessor<>(logger, threadPool, ThreadPool.Names.FLUSH) {
+            @Override
+            protected void write(List<Tuple<Translog.Location, Consumer<Exception>>> candidates) throws IOException {
+                // a single fsync up to the highest location covers all operations of the group
+                syncTranslog(logger, engineSupplier, candidates);
             }
         };
     }
 
+    private static void syncTranslog(
+        Logger logger,
+        Supplier<Engine> engineSupplier,
+        List<Tuple<Translog.Location, Consumer<Exception>>> candidates
+    ) throws IOException {
+        try {
+            engineSupplier.get().ensureTranslogSynced(candidates.stream().map(Tuple::v1));
+        } catch (AlreadyClosedException ex) {
+            // that's fine since we already synced everything on engine close - this also is conform with the methods
+            // documentation
+        } catch (IOException ex) { // if this fails we are in deep shit - fail the request
+            logger.debug("failed to sync translog", ex);
+            throw ex;
+        }
+    }
+
     /**
      * Syncs the given location with the underlying storage unless already synced. This method might return immediately without
      * actually fsyncing the location until the sync listener is called. Yet, unless there is already another thread fsyncing
@@ -3618,7 +3643,13 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
      */
     public final void sync(Translog.Location location, Consumer<Exception> syncListener) {
         verifyNotClosed();
-        translogSyncProcessor.put(location, syncListener);
+        final TimeValue groupCommitDelay = indexSettings.getTranslogGroupCommitDelay();
+        if (groupCommitDelay.millis() > 0) {
+            // collect the syncs that arrive within the delay and fsync them together on a background thread
+            translogGroupCommitProcessor.put(location, groupCommitDelay, syncListener);
+        } else {
+            translogSyncProcessor.put(location, syncListener);
+        }
     }
 
     public void sync() throws IOException {
@@ -1498,7 +1498,19 @@ public class IndicesService extends AbstractLifecycleComponent
         final DirectoryReader directoryReader = context.searcher().getDirectoryReader();
 
         boolean[] loadedFromCache = new boolean[] { true };
-        BytesReference cacheKey = request.cacheKey(requestCacheKeyDifferentiator);
+        final List<Long> resolvedRoundedDateMath = context.getSearchExecutionContext().getResolvedRoundedDateMath();
+        final BytesReference cacheKey;
+        if (resolvedRoundedDateMath.isEmpty()) {
+            cacheKey = request.cacheKey(requestCacheKeyDifferentiator);
+        } else {
+            // the request used rounded `now`, the values it resolved to determine the result along with the request itself
+            cacheKey = request.cacheKey((r, out) -> {
+                if (requestCacheKeyDifferentiator != null) {
+                    requestCacheKeyDifferentiator.accept(r, out);
+                }
+                out.writeCollection(resolvedRoundedDateMath, StreamOutput::writeLong);
+            });
+        }
         BytesReference bytesReference = cacheShardLevelResult(
             context.indexShard(),
             context.getSearchExecutionContext().mappingCacheKey(),
@@ -139,6 +139,13 @@ public class TimestampFieldMapperService extends AbstractLifecycleComponent impl
         }
     }
 
+    @Override
+    public boolean canApplyConcurrently() {
+        // only reads the new state and the index services, which the high priority appliers have already created, and only updates
+        // its own map, but has to look at every index whenever the metadata changes
+        return true;
+    }
+
     private static boolean hasUsefulTimestampField(IndexMetadata indexMetadata) {
         if (indexMetadata == null) {
             return false;
@@ -21,8 +21,10 @@ import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.ReleasableLock;
 import org.elasticsearch.core.Booleans;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.monitor.jvm.GcNames;
 import org.elasticsearch.monitor.jvm.JvmInfo;
@@ -136,8 +138,21 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
         Property.NodeScope
     );
 
+    /**
+     * Limit for the {@link CircuitBreaker#OFF_HEAP} breaker, which only exists if big arrays are configured to allocate their pages
+     * off-heap with {@link PageCacheRecycler#OFF_HEAP_ENABLED_SETTING}. It can't be more than the pool of off-heap pages set by
+     * {@link PageCacheRecycler#LIMIT_OFF_HEAP_SETTING}, which is also the default, so that the breaker trips before the pool runs out.
+     */
+    public static final Setting<ByteSizeValue> OFF_HEAP_CIRCUIT_BREAKER_LIMIT_SETTING = Setting.byteSizeSetting(
+        "indices.breaker.off_heap.limit",
+        s -> PageCacheRecycler.LIMIT_OFF_HEAP_SETTING.get(s).getStringRep(),
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
     private volatile boolean trackRealMemoryUsage;
     private volatile BreakerSettings parentSettings;
+    private final ByteSizeValue offHeapPoolLimit;
 
     // Tripped count for when redistribution was attempted but wasn't successful
     private final AtomicLong parentTripCount = new AtomicLong(0);
@@ -193,6 +208,24 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
                 )
             )
         );
+        this.offHeapPoolLimit = PageCacheRecycler.LIMIT_OFF_HEAP_SETTING.get(settings);
+        if (PageCacheRecycler.OFF_HEAP_ENABLED_SETTING.get(settings)) {
+            validateOffHeapCircuitBreakerLimit(OFF_HEAP_CIRCUIT_BREAKER_LIMIT_SETTING.get(settings));
+            // off-heap memory does not count towards the heap based parent breaker
+            childCircuitBreakers.put(
+                CircuitBreaker.OFF_HEAP,
+                validateAndCreateBreaker(
+                    new BreakerSettings(
+                        CircuitBreaker.OFF_HEAP,
+                        OFF_HEAP_CIRCUIT_BREAKER_LIMIT_SETTING.get(settings).getBytes(),
+                        1.0,
+                        CircuitBreaker.Type.MEMORY,
+                        CircuitBreaker.Durability.TRANSIENT
+                    ),
+                    null
+                )
+            );
+        }
         for (BreakerSettings breakerSettings : customBreakers) {
             if (childCircuitBreakers.containsKey(breakerSettings.getName())) {
                 throw new IllegalArgumentException(
@@ -235,6 +268,15 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
             REQUEST_CIRCUIT_BREAKER_OVERHEAD_SETTING,
             (limit, overhead) -> updateCircuitBreakerSettings(CircuitBreaker.REQUEST, limit, overhead)
         );
+        clusterSettings.addSettingsUpdateConsumer(
+            OFF_HEAP_CIRCUIT_BREAKER_LIMIT_SETTING,
+            limit -> updateCircuitBreakerSettings(CircuitBreaker.OFF_HEAP, limit, 1.0),
+            limit -> {
+                if (breakers.containsKey(CircuitBreaker.OFF_HEAP)) {
+                    validateOffHeapCircuitBreakerLimit(limit);
+                }
+            }
+        );
         clusterSettings.addAffixUpdateConsumer(
             CIRCUIT_BREAKER_LIMIT_SETTING,
             CIRCUIT_BREAKER_OVERHEAD_SETTING,
@@ -266,6 +308,26 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
         validateSettings(new BreakerSettings[] { newParentSettings });
     }
 
+    /**
+     * The off-heap breaker must trip before the pool of off-heap pages runs out, because the pool would otherwise fail allocations that
+     * the breaker doesn't count as trips.
+     */
+    private void validateOffHeapCircuitBreakerLimit(ByteSizeValue limit) {
+        if (limit.getBytes() < 0 || limit.getBytes() > offHeapPoolLimit.getBytes()) {
+            throw new IllegalArgumentException(
+                "["
+                    + OFF_HEAP_CIRCUIT_BREAKER_LIMIT_SETTING.getKey()
+                    + "] must be between [0b] and ["
+                    + PageCacheRecycler.LIMIT_OFF_HEAP_SETTING.getKey()
+                    + "] of ["
+                    + offHeapPoolLimit
+                    + "] but was ["
+                    + limit
+                    + "]"
+            );
+        }
+    }
+
     private void setTotalCircuitBreakerLimit(ByteSizeValue byteSizeValue) {
         this.parentSettings = new BreakerSettings(CircuitBreaker.PARENT, byteSizeValue.getBytes(), 1.0, CircuitBreaker.Type.PARENT, null);
     }
@@ -351,6 +413,9 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
         long permanentUsage = 0;
 
         for (CircuitBreaker breaker : this.breakers.values()) {
+            if (isOffHeap(breaker)) {
+                continue;
+            }
             long breakerUsed = (long) (breaker.getUsed() * breaker.getOverhead());
             if (breaker.getDurability() == CircuitBreaker.Durability.TRANSIENT) {
                 transientUsage += breakerUsed;
@@ -425,7 +490,7 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
                 message.append("]");
             }
             message.append(", usages [");
-            message.append(this.breakers.entrySet().stream().map(e -> {
+            message.append(this.breakers.entrySet().stream().filter(e -> isOffHeap(e.getValue()) == false).map(e -> {
                 final CircuitBreaker breaker = e.getValue();
                 final long breakerUsed = (long) (breaker.getUsed() * breaker.getOverhead());
                 return e.getKey() + "=" + breakerUsed + "/" + new ByteSizeValue(breakerUsed);
@@ -441,7 +506,18 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
         }
     }
 
+    private static boolean isOffHeap(CircuitBreaker breaker) {
+        return CircuitBreaker.OFF_HEAP.equals(breaker.getName());
+    }
+
     private CircuitBreaker validateAndCreateBreaker(BreakerSettings breakerSettings) {
+        return validateAndCreateBreaker(breakerSettings, this);
+    }
+
+    private static CircuitBreaker validateAndCreateBreaker(
+        BreakerSettings breakerSettings,
+        @Nullable HierarchyCircuitBreakerService parent
+    ) {
         // Validate the settings
         validateSettings(new BreakerSettings[] { breakerSettings });
         return breakerSettings.getType() == CircuitBreaker.Type.NOOP
@@ -449,7 +525,7 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
             : new ChildMemoryCircuitBreaker(
                 breakerSettings,
                 LogManager.getLogger(CHILD_LOGGER_PREFIX + breakerSettings.getName()),
-                this,
+                parent,
                 breakerSettings.getName()
             );
     }
@@ -175,6 +175,8 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
     protected void doStart() {
         // Doesn't make sense to manage shards on non-data nodes
         if (DiscoveryNode.canContainData(settings)) {
+            // not applied concurrently: shards that recover from a snapshot need the repositories that the RepositoriesService, which
+            // has the same priority, creates from the same state
             clusterService.addHighPriorityApplier(this);
         }
     }
@@ -251,12 +251,14 @@ public class RecoverySettings {
 
     /**
      * Controls the maximum number of file chunk requests that can be sent concurrently from the source node to the target node.
+     * Chunks that arrive out of order are buffered on the target until they can be written, so the upper bound also limits the
+     * heap that a single recovery can hold on the target to {@code max_concurrent_file_chunks * chunk_size}.
      */
     public static final Setting<Integer> INDICES_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS_SETTING = Setting.intSetting(
         "indices.recovery.max_concurrent_file_chunks",
         2,
         1,
-        8,
+        16,
         Property.Dynamic,
         Property.NodeScope
     );
@@ -9,6 +9,8 @@
 package org.elasticsearch.ingest;
 
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.common.util.concurrent.AtomicArray;
+import org.elasticsearch.common.util.concurrent.CountDown;
 import org.elasticsearch.core.Tuple;
 
 import java.util.ArrayList;
@@ -16,7 +18,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
@@ -35,6 +39,11 @@ public class CompoundProcessor implements Processor {
     private final List<Processor> onFailureProcessors;
     private final List<Tuple<Processor, IngestMetric>> processorsWithMetrics;
     private final LongSupplier relativeTimeProvider;
+    /*
+     * For each processor whether it is a conditional processor with the same condition as the processor right before it.
+     * If the processor before it completed inline, such a condition isn't evaluated again unless the document changed since.
+     */
+    private final boolean[] sharesConditionWithPrevious;
 
     CompoundProcessor(LongSupplier relativeTimeProvider, Processor... processor) {
         this(false, Arrays.asList(processor), Collections.emptyList(), relativeTimeProvider);
@@ -61,6 +70,12 @@ public class CompoundProcessor implements Processor {
         this.relativeTimeProvider = relativeTimeProvider;
         this.processorsWithMetrics = new ArrayList<>(processors.size());
         processors.forEach(p -> processorsWithMetrics.add(new Tuple<>(p, new IngestMetric())));
+        this.sharesConditionWithPrevious = new boolean[processors.size()];
+        for (int i = 1; i < processors.size(); i++) {
+            sharesConditionWithPrevious[i] = processors.get(i) instanceof ConditionalProcessor current
+                && processors.get(i - 1) instanceof ConditionalProcessor previous
+                && current.getConditionScript().equals(previous.getConditionScript());
+        }
     }
 
     List<Tuple<Processor, IngestMetric>> getProcessorsWithMetrics() {
@@ -122,9 +137,152 @@ public class CompoundProcessor implements Processor {
         innerExecute(0, ingestDocument, handler);
     }
 
+    /**
+     * Runs the document through the processors from the given one on. Processors are called one after the other in a loop
+     * for as long as they complete before their execute method returns, which is the case for all processors that don't make
+     * an asynchronous call. Once one doesn't, the pipeline continues from its handler.
+     */
     void innerExecute(int currentProcessor, IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
+        // the result of the last condition evaluated in this loop, and the modification count of the document at that time
+        boolean conditionMatched = false;
+        long conditionModificationCount = -1;
+        for (int i = currentProcessor; i < processorsWithMetrics.size(); i++) {
+            Tuple<Processor, IngestMetric> processorWithMetric = processorsWithMetrics.get(i);
+            final Processor processor = processorWithMetric.v1();
+            final ProcessorHandler processorHandler = new ProcessorHandler(i, ingestDocument, handler);
+            if (processor instanceof ConditionalProcessor conditionalProcessor) {
+                if (i == currentProcessor
+                    || sharesConditionWithPrevious[i] == false
+                    || conditionModificationCount != ingestDocument.getModificationCount()) {
+                    conditionModificationCount = -1;
+                    try {
+                        conditionMatched = conditionalProcessor.evaluate(ingestDocument);
+                        conditionModificationCount = ingestDocument.getModificationCount();
+                    } catch (Exception e) {
+                        processorHandler.accept(null, e);
+                    }
+                }
+                if (processorHandler.isDone() == false) {
+                    conditionalProcessor.execute(ingestDocument, conditionMatched, processorHandler);
+                }
+            } else {
+                processor.execute(ingestDocument, processorHandler);
+            }
+            if (processorHandler.completedInline() == false) {
+                return;
+            }
+            ingestDocument = processorHandler.nextDocument();
+            if (ingestDocument == null) {
+                return;
+            }
+        }
+        handler.accept(ingestDocument, null);
+    }
+
+    /**
+     * The handler of a single processor. If the processor completes before its execute method returns then
+     * {@link #innerExecute} picks up the result and moves on to the next processor itself, which avoids growing the stack
+     * for every processor. Otherwise the pipeline continues from this handler once the processor completes.
+     */
+    private final class ProcessorHandler implements BiConsumer<IngestDocument, Exception> {
+        private static final int PENDING = 0;
+        private static final int COMPLETED_INLINE = 1;
+        private static final int CONTINUES_FROM_HANDLER = 2;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final int currentProcessor;
+        private final IngestDocument ingestDocument;
+        private final BiConsumer<IngestDocument, Exception> handler;
+        private final long startTimeInNanos;
+        private IngestDocument result;
+        private Exception failure;
+
+        ProcessorHandler(int currentProcessor, IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
+            this.currentProcessor = currentProcessor;
+            this.ingestDocument = ingestDocument;
+            this.handler = handler;
+            this.startTimeInNanos = relativeTimeProvider.getAsLong();
+            processorsWithMetrics.get(currentProcessor).v2().preIngest();
+        }
+
+        @Override
+        public void accept(IngestDocument result, Exception e) {
+            this.result = result;
+            this.failure = e;
+            if (state.compareAndSet(PENDING, COMPLETED_INLINE) == false) {
+                assert state.get() == CONTINUES_FROM_HANDLER : "processor completed more than once";
+                IngestDocument next = nextDocument();
+                if (next != null) {
+                    innerExecute(currentProcessor + 1, next, handler);
+                }
+            }
+        }
+
+        boolean isDone() {
+            return state.get() != PENDING;
+        }
+
+        /**
+         * Called once the execute method of the processor returned.
+         * @return whether the processor completed before that, if not the pipeline continues from this handler
+         */
+        boolean completedInline() {
+            return state.compareAndSet(PENDING, CONTINUES_FROM_HANDLER) == false;
+        }
+
+        /**
+         * Records the metrics of the completed processor and deals with a failure or a dropped document.
+         * @return the document to continue with at the next processor, or {@code null} if the handler has been called
+         */
+        IngestDocument nextDocument() {
+            Tuple<Processor, IngestMetric> processorWithMetric = processorsWithMetrics.get(currentProcessor);
+            final Processor processor = processorWithMetric.v1();
+            final IngestMetric metric = processorWithMetric.v2();
+            metric.postIngest(relativeTimeProvider.getAsLong() - startTimeInNanos);
+            if (failure != null) {
+                metric.ingestFailed();
+                if (ignoreFailure) {
+                    return ingestDocument;
+                }
+                IngestProcessorException compoundProcessorException = newCompoundProcessorException(failure, processor, ingestDocument);
+                if (onFailureProcessors.isEmpty()) {
+                    handler.accept(null, compoundProcessorException);
+                } else {
+                    executeOnFailureAsync(0, ingestDocument, compoundProcessorException, handler);
+                }
+                return null;
+            }
+            if (result == null) {
+                handler.accept(null, null);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Runs each processor over all documents of the batch that are still in flight before moving on to the next processor,
+     * so that processors can share work between documents. A document that fails and has {@code on_failure} processors
+     * continues on its own.
+     */
+    @Override
+    public void executeBatch(List<IngestDocument> ingestDocuments, Consumer<List<Tuple<IngestDocument, Exception>>> handler) {
+        if (ingestDocuments.isEmpty()) {
+            handler.accept(List.of());
+            return;
+        }
+        BatchResults results = new BatchResults(ingestDocuments.size(), handler);
+        List<Integer> slots = new ArrayList<>(ingestDocuments.size());
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            slots.add(i);
+        }
+        innerExecuteBatch(0, ingestDocuments, slots, results);
+    }
+
+    private void innerExecuteBatch(int currentProcessor, List<IngestDocument> ingestDocuments, List<Integer> slots, BatchResults results) {
         if (currentProcessor == processorsWithMetrics.size()) {
-            handler.accept(ingestDocument, null);
+            for (int i = 0; i < ingestDocuments.size(); i++) {
+                results.set(slots.get(i), ingestDocuments.get(i), null);
+            }
             return;
         }
 
@@ -132,33 +290,70 @@ public class CompoundProcessor implements Processor {
         final Processor processor = processorWithMetric.v1();
         final IngestMetric metric = processorWithMetric.v2();
         final long startTimeInNanos = relativeTimeProvider.getAsLong();
-        metric.preIngest();
-        processor.execute(ingestDocument, (result, e) -> {
+        metric.preIngest(ingestDocuments.size());
+        processor.executeBatch(ingestDocuments, processed -> {
             long ingestTimeInNanos = relativeTimeProvider.getAsLong() - startTimeInNanos;
-            metric.postIngest(ingestTimeInNanos);
-
-            if (e != null) {
-                metric.ingestFailed();
-                if (ignoreFailure) {
-                    innerExecute(currentProcessor + 1, ingestDocument, handler);
-                } else {
-                    IngestProcessorException compoundProcessorException = newCompoundProcessorException(e, processor, ingestDocument);
-                    if (onFailureProcessors.isEmpty()) {
-                        handler.accept(null, compoundProcessorException);
+            metric.postIngest(ingestDocuments.size(), ingestTimeInNanos);
+
+            List<IngestDocument> nextDocuments = new ArrayList<>(ingestDocuments.size());
+            List<Integer> nextSlots = new ArrayList<>(ingestDocuments.size());
+            int failed = 0;
+            for (int i = 0; i < ingestDocuments.size(); i++) {
+                IngestDocument ingestDocument = ingestDocuments.get(i);
+                int slot = slots.get(i);
+                IngestDocument result = processed.get(i).v1();
+                Exception e = processed.get(i).v2();
+                if (e != null) {
+                    failed++;
+                    if (ignoreFailure) {
+                        nextDocuments.add(ingestDocument);
+                        nextSlots.add(slot);
                     } else {
-                        executeOnFailureAsync(0, ingestDocument, compoundProcessorException, handler);
+                        IngestProcessorException compoundProcessorException = newCompoundProcessorException(e, processor, ingestDocument);
+                        if (onFailureProcessors.isEmpty()) {
+                            results.set(slot, null, compoundProcessorException);
+                        } else {
+                            executeOnFailureAsync(0, ingestDocument, compoundProcessorException, (r, ex) -> results.set(slot, r, ex));
+                        }
                     }
-                }
-            } else {
-                if (result != null) {
-                    innerExecute(currentProcessor + 1, result, handler);
+                } else if (result != null) {
+                    nextDocuments.add(result);
+                    nextSlots.add(slot);
                 } else {
-                    handler.accept(null, null);
+                    results.set(slot, null, null);
                 }
             }
+            if (failed > 0) {
+                metric.ingestFailed(failed);
+            }
+            if (nextDocuments.isEmpty() == false) {
+                innerExecuteBatch(currentProcessor + 1, nextDocuments, nextSlots, results);
+            }
         });
     }
 
+    /**
+     * Collects the results of a batch, which may complete in any order, and hands them over once all are in.
+     */
+    private static final class BatchResults {
+        private final AtomicArray<Tuple<IngestDocument, Exception>> results;
+        private final CountDown countDown;
+        private final Consumer<List<Tuple<IngestDocument, Exception>>> handler;
+
+        BatchResults(int size, Consumer<List<Tuple<IngestDocument, Exception>>> handler) {
+            this.results = new AtomicArray<>(size);
+            this.countDown = new CountDown(size);
+            this.handler = handler;
+        }
+
+        void set(int slot, IngestDocument ingestDocument, Exception e) {
+            results.set(slot, new Tuple<>(ingestDocument, e));
+            if (countDown.countDown()) {
+                handler.accept(results.asList());
+            }
+        }
+    }
+
     void executeOnFailureAsync(
         int currentOnFailureProcessor,
         IngestDocument ingestDocument,
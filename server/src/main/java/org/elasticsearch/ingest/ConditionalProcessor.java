@@ -10,6 +10,7 @@ package org.elasticsearch.ingest;
 
 import org.elasticsearch.common.logging.DeprecationCategory;
 import org.elasticsearch.common.logging.DeprecationLogger;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.script.DynamicMap;
 import org.elasticsearch.script.IngestConditionalScript;
 import org.elasticsearch.script.Script;
@@ -27,6 +28,7 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
@@ -95,7 +97,14 @@ public class ConditionalProcessor extends AbstractProcessor implements WrappingP
             handler.accept(null, e);
             return;
         }
+        execute(ingestDocument, matches, handler);
+    }
 
+    /**
+     * Runs the wrapped processor if the condition matched, otherwise hands the document back unchanged.
+     * @param matches the result of {@link #evaluate(IngestDocument)} for the document
+     */
+    void execute(IngestDocument ingestDocument, boolean matches, BiConsumer<IngestDocument, Exception> handler) {
         if (matches) {
             final long startTimeInNanos = relativeTimeProvider.getAsLong();
             metric.preIngest();
@@ -114,6 +123,49 @@ public class ConditionalProcessor extends AbstractProcessor implements WrappingP
         }
     }
 
+    @Override
+    public void executeBatch(List<IngestDocument> ingestDocuments, Consumer<List<Tuple<IngestDocument, Exception>>> handler) {
+        List<Tuple<IngestDocument, Exception>> results = new ArrayList<>(ingestDocuments.size());
+        List<IngestDocument> matching = new ArrayList<>(ingestDocuments.size());
+        List<Integer> matchingSlots = new ArrayList<>(ingestDocuments.size());
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            IngestDocument ingestDocument = ingestDocuments.get(i);
+            try {
+                if (evaluate(ingestDocument)) {
+                    matching.add(ingestDocument);
+                    matchingSlots.add(i);
+                }
+                results.add(new Tuple<>(ingestDocument, null));
+            } catch (Exception e) {
+                results.add(new Tuple<>(null, e));
+            }
+        }
+        if (matching.isEmpty()) {
+            handler.accept(results);
+            return;
+        }
+
+        final long startTimeInNanos = relativeTimeProvider.getAsLong();
+        metric.preIngest(matching.size());
+        processor.executeBatch(matching, processed -> {
+            long ingestTimeInNanos = relativeTimeProvider.getAsLong() - startTimeInNanos;
+            metric.postIngest(matching.size(), ingestTimeInNanos);
+            int failed = 0;
+            for (int i = 0; i < processed.size(); i++) {
+                Tuple<IngestDocument, Exception> result = processed.get(i);
+                if (result.v2() != null) {
+                    failed++;
+                    result = new Tuple<>(null, result.v2());
+                }
+                results.set(matchingSlots.get(i), result);
+            }
+            if (failed > 0) {
+                metric.ingestFailed(failed);
+            }
+            handler.accept(results);
+        });
+    }
+
     @Override
     public IngestDocument execute(IngestDocument ingestDocument) throws Exception {
         throw new UnsupportedOperationException("this method should not get executed");
@@ -125,7 +177,7 @@ public class ConditionalProcessor extends AbstractProcessor implements WrappingP
             IngestConditionalScript.Factory factory = scriptService.compile(condition, IngestConditionalScript.CONTEXT);
             script = factory.newInstance(condition.getParams());
         }
-        return script.execute(new UnmodifiableIngestData(new DynamicMap(ingestDocument.getSourceAndMetadata(), FUNCTIONS)));
+        return script.execute(new UnmodifiableIngestData(new DynamicMap(ingestDocument.getUnmodifiableSourceAndMetadata(), FUNCTIONS)));
     }
 
     public Processor getInnerProcessor() {
@@ -141,6 +193,10 @@ public class ConditionalProcessor extends AbstractProcessor implements WrappingP
         return TYPE;
     }
 
+    Script getConditionScript() {
+        return condition;
+    }
+
     public String getCondition() {
         return condition.getIdOrCode();
     }
@@ -9,8 +9,12 @@
 package org.elasticsearch.ingest;
 
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
 import org.elasticsearch.common.util.LazyMap;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.VersionType;
 import org.elasticsearch.index.mapper.IdFieldMapper;
 import org.elasticsearch.index.mapper.IndexFieldMapper;
@@ -18,7 +22,11 @@ import org.elasticsearch.index.mapper.RoutingFieldMapper;
 import org.elasticsearch.index.mapper.SourceFieldMapper;
 import org.elasticsearch.index.mapper.VersionFieldMapper;
 import org.elasticsearch.script.TemplateScript;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentFactory;
+import org.elasticsearch.xcontent.XContentType;
 
+import java.io.IOException;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -35,6 +43,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Represents a single document being captured before indexing and holds the source and metadata (like id, type and index).
@@ -48,12 +58,31 @@ public final class IngestDocument {
 
     static final String TIMESTAMP = "timestamp";
 
+    private static final Set<String> METADATA_FIELD_NAMES = Arrays.stream(Metadata.values())
+        .map(Metadata::getFieldName)
+        .collect(Collectors.toUnmodifiableSet());
+
     private final Map<String, Object> sourceAndMetadata;
     private final Map<String, Object> ingestMetadata;
 
     // Contains all pipelines that have been executed for this document
     private final Set<String> executedPipelines = new LinkedHashSet<>();
 
+    /*
+     * The top level source fields that were added while running the pipelines, in the order they were added. While
+     * the pipelines only add new top level fields the source can be written back by appending them to the original
+     * bytes. This is null if the source isn't tracked or if it changed in any other way, in which case it has to be
+     * encoded again from scratch.
+     */
+    private Set<String> appendedSourceFields;
+    private boolean originalSourceEmpty;
+
+    /*
+     * Counts the changes to the document, so that consecutive processors with the same condition only evaluate it again
+     * if the document changed in between, see CompoundProcessor.
+     */
+    private long modificationCount;
+
     public IngestDocument(String index, String id, String routing, Long version, VersionType versionType, Map<String, Object> source) {
         this.sourceAndMetadata = new HashMap<>();
         this.sourceAndMetadata.putAll(source);
@@ -103,6 +132,10 @@ public final class IngestDocument {
         for (String pathElement : fieldPath.pathElements) {
             context = resolve(pathElement, path, context);
         }
+        if (context instanceof Map || context instanceof List || context instanceof byte[]) {
+            // the caller may modify the returned value in place
+            trackSourceChange(fieldPath, false);
+        }
         return cast(path, context, clazz);
     }
 
@@ -284,6 +317,7 @@ public final class IngestDocument {
      */
     public void removeField(String path) {
         FieldPath fieldPath = new FieldPath(path);
+        trackSourceChange(fieldPath, false);
         Object context = fieldPath.initialContext;
         for (int i = 0; i < fieldPath.pathElements.length - 1; i++) {
             context = resolve(fieldPath.pathElements[i], path, context);
@@ -516,6 +550,7 @@ public final class IngestDocument {
 
     private void setFieldValue(String path, Object value, boolean append, boolean allowDuplicates) {
         FieldPath fieldPath = new FieldPath(path);
+        trackSourceChange(fieldPath, true);
         Object context = fieldPath.initialContext;
         for (int i = 0; i < fieldPath.pathElements.length - 1; i++) {
             String pathElement = fieldPath.pathElements[i];
@@ -704,6 +739,7 @@ public final class IngestDocument {
         for (Metadata metadata : Metadata.values()) {
             metadataMap.put(metadata, sourceAndMetadata.remove(metadata.getFieldName()));
         }
+        modificationCount++;
         return metadataMap;
     }
 
@@ -732,9 +768,126 @@ public final class IngestDocument {
      * Modify the document instead using {@link #setFieldValue(String, Object)} and {@link #removeField(String)}
      */
     public Map<String, Object> getSourceAndMetadata() {
+        // the caller may modify anything
+        appendedSourceFields = null;
+        modificationCount++;
         return this.sourceAndMetadata;
     }
 
+    /**
+     * Returns a read-only view of the document including its metadata fields, for rendering templates or evaluating
+     * conditions. Prefer this to {@link #getSourceAndMetadata()} when the document isn't modified because it allows
+     * {@link #updatedSource} to append new fields to the original source rather than encoding it again.
+     */
+    public Map<String, Object> getUnmodifiableSourceAndMetadata() {
+        return Collections.unmodifiableMap(sourceAndMetadata);
+    }
+
+    /**
+     * Start tracking changes to the source so that {@link #updatedSource} can reuse the bytes it was parsed from.
+     * @param originalSource the source this document was built from
+     */
+    void trackSourceChanges(Map<String, Object> originalSource) {
+        for (String field : METADATA_FIELD_NAMES) {
+            if (originalSource.containsKey(field)) {
+                // encoding the source again drops metadata fields that were sent as part of the source
+                return;
+            }
+        }
+        appendedSourceFields = new LinkedHashSet<>();
+        originalSourceEmpty = originalSource.isEmpty();
+    }
+
+    private void trackSourceChange(FieldPath fieldPath, boolean set) {
+        modificationCount++;
+        if (appendedSourceFields == null || fieldPath.initialContext != sourceAndMetadata) {
+            return;
+        }
+        String field = fieldPath.pathElements[0];
+        if (METADATA_FIELD_NAMES.contains(field) || appendedSourceFields.contains(field)) {
+            return;
+        }
+        if (set && sourceAndMetadata.containsKey(field) == false) {
+            appendedSourceFields.add(field);
+        } else {
+            appendedSourceFields = null;
+        }
+    }
+
+    /**
+     * Builds the source to index once the pipelines have run and {@link #extractMetadata()} has removed the metadata fields.
+     * If the pipelines left the original fields untouched and only added top level fields then the new fields are appended
+     * to the original JSON bytes. Otherwise the whole document is encoded again.
+     */
+    BytesReference updatedSource(BytesReference originalSource, XContentType contentType) throws IOException {
+        if (appendedSourceFields != null && contentType == XContentType.JSON) {
+            int end = rootObjectEnd(originalSource);
+            if (end >= 0) {
+                XContentBuilder appended = XContentFactory.contentBuilder(XContentType.JSON).startObject();
+                for (String field : appendedSourceFields) {
+                    if (sourceAndMetadata.containsKey(field)) {
+                        appended.field(field, sourceAndMetadata.get(field));
+                    }
+                }
+                BytesReference appendedBytes = BytesReference.bytes(appended.endObject());
+                if (appendedBytes.length() == 2) {
+                    // nothing was added
+                    return originalSource;
+                }
+                return CompositeBytesReference.of(
+                    originalSource.slice(0, end),
+                    originalSourceEmpty ? BytesArray.EMPTY : new BytesArray(","),
+                    // the appended fields without the enclosing braces
+                    appendedBytes.slice(1, appendedBytes.length() - 2),
+                    new BytesArray("}")
+                );
+            }
+        }
+        XContentBuilder builder = XContentFactory.contentBuilder(contentType);
+        builder.map(sourceAndMetadata);
+        return BytesReference.bytes(builder);
+    }
+
+    /**
+     * Returns the offset of the brace that closes the root object of the given JSON, or {@code -1} if the JSON contains comments
+     * or anything other than whitespace follows that brace. Comments may hide the last brace, e.g. {@code {"a":1} // }, so only
+     * JSON without them can have fields spliced in before its last brace.
+     */
+    static int rootObjectEnd(BytesReference json) {
+        int depth = 0;
+        boolean inString = false;
+        int end = -1;
+        for (int i = 0; i < json.length(); i++) {
+            byte b = json.get(i);
+            if (end >= 0) {
+                if (Character.isWhitespace(b) == false) {
+                    return -1;
+                }
+            } else if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+                if (depth == 0) {
+                    if (b != '}') {
+                        return -1;
+                    }
+                    end = i;
+                }
+            } else if (b == '/' || b == '#') {
+                return -1;
+            }
+        }
+        return end;
+    }
+
     @SuppressWarnings("unchecked")
     public static <K, V> Map<K, V> deepCopyMap(Map<K, V> source) {
         return (Map<K, V>) deepCopy(source);
@@ -809,6 +962,57 @@ public final class IngestDocument {
         }
     }
 
+    /**
+     * The number of times the document was changed, or might have been changed because a mutable part of it was handed out.
+     */
+    long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Executes the given pipeline for a batch of documents, see {@link Pipeline#executeBatch(List, Consumer)}.
+     * @param handler called once with a result for each document, in the same order as the documents
+     */
+    static void executePipeline(
+        Pipeline pipeline,
+        List<IngestDocument> ingestDocuments,
+        Consumer<List<Tuple<IngestDocument, Exception>>> handler
+    ) {
+        List<Tuple<IngestDocument, Exception>> results = new ArrayList<>(ingestDocuments.size());
+        List<IngestDocument> executing = new ArrayList<>(ingestDocuments.size());
+        List<Integer> slots = new ArrayList<>(ingestDocuments.size());
+        List<Object> previousPipelines = new ArrayList<>(ingestDocuments.size());
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            IngestDocument ingestDocument = ingestDocuments.get(i);
+            if (ingestDocument.executedPipelines.add(pipeline.getId())) {
+                previousPipelines.add(ingestDocument.ingestMetadata.put("pipeline", pipeline.getId()));
+                executing.add(ingestDocument);
+                slots.add(i);
+                results.add(null);
+            } else {
+                results.add(new Tuple<>(null, new IllegalStateException(PIPELINE_CYCLE_ERROR_MESSAGE + pipeline.getId())));
+            }
+        }
+        if (executing.isEmpty()) {
+            handler.accept(results);
+            return;
+        }
+        pipeline.executeBatch(executing, processed -> {
+            for (int i = 0; i < executing.size(); i++) {
+                IngestDocument ingestDocument = executing.get(i);
+                ingestDocument.executedPipelines.remove(pipeline.getId());
+                Object previousPipeline = previousPipelines.get(i);
+                if (previousPipeline != null) {
+                    ingestDocument.ingestMetadata.put("pipeline", previousPipeline);
+                } else {
+                    ingestDocument.ingestMetadata.remove("pipeline");
+                }
+                results.set(slots.get(i), processed.get(i));
+            }
+            handler.accept(results);
+        });
+    }
+
     /**
      * @return a pipeline stack; all pipelines that are in execution by this document in reverse order
      */
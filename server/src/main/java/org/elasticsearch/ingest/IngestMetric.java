@@ -58,6 +58,26 @@ class IngestMetric {
         ingestCount.inc();
     }
 
+    /**
+     * Call this prior to an ingest action that handles a batch of things at once.
+     * @param count The number of things in the batch.
+     */
+    void preIngest(int count) {
+        ingestCurrent.addAndGet(count);
+    }
+
+    /**
+     * Call this after performing an ingest action on a batch of things, even if the action failed for some of them.
+     * @param count The number of things in the batch.
+     * @param ingestTimeInNanos The time it took to perform the action on the whole batch.
+     */
+    void postIngest(int count, long ingestTimeInNanos) {
+        long current = ingestCurrent.addAndGet(-count);
+        assert current >= 0 : "ingest metric current count double-decremented";
+        this.ingestTimeInNanos.inc(ingestTimeInNanos);
+        ingestCount.inc(count);
+    }
+
     /**
      * Call this if the ingest action failed.
      */
@@ -65,6 +85,14 @@ class IngestMetric {
         ingestFailed.inc();
     }
 
+    /**
+     * Call this if the ingest action failed for some of the things in a batch.
+     * @param count The number of failures.
+     */
+    void ingestFailed(int count) {
+        ingestFailed.inc(count);
+    }
+
     /**
      * <p>Add two sets of metrics together.
      * <p><strong>Note -</strong> this method does <strong>not</strong> add the current count values.
@@ -56,14 +56,17 @@ import org.elasticsearch.plugins.IngestPlugin;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentType;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -89,6 +92,12 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
 
     private static final Logger logger = LogManager.getLogger(IngestService.class);
 
+    /**
+     * The maximum number of documents of a bulk request that go through the ingest pipelines together. This bounds the number
+     * of ingest documents, which hold a parsed copy of their source, that are in memory at once.
+     */
+    static final int MAX_BATCH_SIZE = 128;
+
     private final ClusterService clusterService;
     private final ScriptService scriptService;
     private final Map<String, Processor.Factory> processorFactories;
@@ -613,6 +622,7 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
             protected void doRun() {
                 final Thread originalThread = Thread.currentThread();
                 final AtomicInteger counter = new AtomicInteger(numberOfActionRequests);
+                final List<PendingDocument> pendingDocuments = new ArrayList<>();
                 int i = 0;
                 for (DocWriteRequest<?> actionRequest : actionRequests) {
                     IndexRequest indexRequest = TransportBulkAction.getIndexWriteRequest(actionRequest);
@@ -648,67 +658,141 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
                         continue;
                     }
 
-                    executePipelines(
-                        i,
-                        pipelines.iterator(),
-                        hasFinalPipeline,
-                        indexRequest,
-                        onDropped,
-                        onFailure,
-                        counter,
-                        onCompletion,
-                        originalThread
-                    );
-
+                    pendingDocuments.add(new PendingDocument(i, indexRequest, pipelines.iterator(), hasFinalPipeline));
                     i++;
                 }
+
+                if (pendingDocuments.isEmpty() == false) {
+                    Runnable onDocumentCompleted = () -> onDocumentCompleted(counter, onCompletion, originalThread);
+                    executeBatches(batches(pendingDocuments), onDropped, onFailure, onDocumentCompleted);
+                }
             }
         });
     }
 
+    /**
+     * Splits the pending documents of a bulk request into batches of at most {@link #MAX_BATCH_SIZE} documents.
+     */
+    private static Iterator<List<PendingDocument>> batches(List<PendingDocument> pendingDocuments) {
+        List<List<PendingDocument>> batches = new ArrayList<>();
+        for (int from = 0; from < pendingDocuments.size(); from += MAX_BATCH_SIZE) {
+            batches.add(pendingDocuments.subList(from, Math.min(from + MAX_BATCH_SIZE, pendingDocuments.size())));
+        }
+        return batches.iterator();
+    }
+
+    /**
+     * Runs the batches one after the other, each through all of its pipelines, so that only the ingest documents of a single
+     * batch are in memory at any time. Batches that complete synchronously are looped over rather than recursed into.
+     */
+    private void executeBatches(
+        final Iterator<List<PendingDocument>> batches,
+        final IntConsumer onDropped,
+        final BiConsumer<Integer, Exception> onFailure,
+        final Runnable onDocumentCompleted
+    ) {
+        while (batches.hasNext()) {
+            List<PendingDocument> batch = batches.next();
+            // one extra count is held by this loop so that a batch which completes synchronously continues the loop
+            AtomicInteger remaining = new AtomicInteger(batch.size() + 1);
+            executePipelines(batch, onDropped, onFailure, () -> {
+                onDocumentCompleted.run();
+                if (remaining.decrementAndGet() == 0) {
+                    executeBatches(batches, onDropped, onFailure, onDocumentCompleted);
+                }
+            });
+            if (remaining.decrementAndGet() != 0) {
+                // the batch completes asynchronously and its last document continues with the next batch
+                return;
+            }
+        }
+    }
+
+    /**
+     * A document of a bulk request together with the pipelines that it still has to go through.
+     */
+    private record PendingDocument(int slot, IndexRequest indexRequest, Iterator<String> pipelines, boolean hasFinalPipeline) {}
+
+    /**
+     * Executes the next pipeline of each document, grouping the documents by pipeline so that every pipeline processes
+     * its documents as a single batch.
+     */
     private void executePipelines(
-        final int slot,
-        final Iterator<String> it,
-        final boolean hasFinalPipeline,
-        final IndexRequest indexRequest,
+        final List<PendingDocument> documents,
         final IntConsumer onDropped,
         final BiConsumer<Integer, Exception> onFailure,
-        final AtomicInteger counter,
-        final BiConsumer<Thread, Exception> onCompletion,
-        final Thread originalThread
+        final Runnable onDocumentCompleted
     ) {
-        assert it.hasNext();
-        final String pipelineId = it.next();
-        try {
-            PipelineHolder holder = pipelines.get(pipelineId);
-            if (holder == null) {
-                throw new IllegalArgumentException("pipeline with id [" + pipelineId + "] does not exist");
+        Map<String, List<PendingDocument>> documentsByPipeline = new LinkedHashMap<>();
+        for (PendingDocument document : documents) {
+            assert document.pipelines().hasNext();
+            documentsByPipeline.computeIfAbsent(document.pipelines().next(), k -> new ArrayList<>()).add(document);
+        }
+        for (Map.Entry<String, List<PendingDocument>> entry : documentsByPipeline.entrySet()) {
+            executePipeline(entry.getKey(), entry.getValue(), onDropped, onFailure, onDocumentCompleted);
+        }
+    }
+
+    private void executePipeline(
+        final String pipelineId,
+        final List<PendingDocument> documents,
+        final IntConsumer onDropped,
+        final BiConsumer<Integer, Exception> onFailure,
+        final Runnable onDocumentCompleted
+    ) {
+        PipelineHolder holder = pipelines.get(pipelineId);
+        if (holder == null) {
+            Exception e = new IllegalArgumentException("pipeline with id [" + pipelineId + "] does not exist");
+            for (PendingDocument document : documents) {
+                onPipelineFailure(pipelineId, document, e, onFailure);
+                onDocumentCompleted.run();
             }
-            Pipeline pipeline = holder.pipeline;
-            String originalIndex = indexRequest.indices()[0];
-            innerExecute(slot, indexRequest, pipeline, onDropped, e -> {
+            return;
+        }
+        Pipeline pipeline = holder.pipeline;
+
+        List<PendingDocument> executing = new ArrayList<>(documents.size());
+        List<IngestDocument> ingestDocuments = new ArrayList<>(documents.size());
+        List<String> originalIndices = new ArrayList<>(documents.size());
+        for (PendingDocument document : documents) {
+            IndexRequest indexRequest = document.indexRequest();
+            IngestDocument ingestDocument = null;
+            if (pipeline.getProcessors().isEmpty() == false) {
+                try {
+                    ingestDocument = newIngestDocument(indexRequest);
+                } catch (Exception e) {
+                    onPipelineFailure(pipelineId, document, e, onFailure);
+                    onDocumentCompleted.run();
+                    continue;
+                }
+            }
+            executing.add(document);
+            ingestDocuments.add(ingestDocument);
+            originalIndices.add(indexRequest.indices()[0]);
+        }
+        if (executing.isEmpty()) {
+            return;
+        }
+
+        innerExecute(pipeline, executing, ingestDocuments, onDropped, exceptions -> {
+            List<PendingDocument> next = new ArrayList<>(executing.size());
+            for (int i = 0; i < executing.size(); i++) {
+                PendingDocument document = executing.get(i);
+                IndexRequest indexRequest = document.indexRequest();
+                Exception e = exceptions.get(i);
                 if (e != null) {
-                    logger.debug(
-                        () -> new ParameterizedMessage(
-                            "failed to execute pipeline [{}] for document [{}/{}]",
-                            pipelineId,
-                            indexRequest.index(),
-                            indexRequest.id()
-                        ),
-                        e
-                    );
-                    onFailure.accept(slot, e);
+                    onPipelineFailure(pipelineId, document, e, onFailure);
                 }
 
-                Iterator<String> newIt = it;
-                boolean newHasFinalPipeline = hasFinalPipeline;
+                Iterator<String> newIt = document.pipelines();
+                boolean newHasFinalPipeline = document.hasFinalPipeline();
                 String newIndex = indexRequest.indices()[0];
 
-                if (Objects.equals(originalIndex, newIndex) == false) {
-                    if (hasFinalPipeline && it.hasNext() == false) {
+                if (Objects.equals(originalIndices.get(i), newIndex) == false) {
+                    if (document.hasFinalPipeline() && newIt.hasNext() == false) {
                         totalMetrics.ingestFailed();
                         onFailure.accept(
-                            slot,
+                            document.slot(),
                             new IllegalStateException("final pipeline [" + pipelineId + "] can't change the target index")
                         );
                     } else {
@@ -724,40 +808,40 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
                 }
 
                 if (newIt.hasNext()) {
-                    executePipelines(
-                        slot,
-                        newIt,
-                        newHasFinalPipeline,
-                        indexRequest,
-                        onDropped,
-                        onFailure,
-                        counter,
-                        onCompletion,
-                        originalThread
-                    );
+                    next.add(new PendingDocument(document.slot(), indexRequest, newIt, newHasFinalPipeline));
                 } else {
-                    if (counter.decrementAndGet() == 0) {
-                        onCompletion.accept(originalThread, null);
-                    }
-                    assert counter.get() >= 0;
+                    onDocumentCompleted.run();
                 }
-            });
-        } catch (Exception e) {
-            logger.debug(
-                () -> new ParameterizedMessage(
-                    "failed to execute pipeline [{}] for document [{}/{}]",
-                    pipelineId,
-                    indexRequest.index(),
-                    indexRequest.id()
-                ),
-                e
-            );
-            onFailure.accept(slot, e);
-            if (counter.decrementAndGet() == 0) {
-                onCompletion.accept(originalThread, null);
             }
-            assert counter.get() >= 0;
+            if (next.isEmpty() == false) {
+                executePipelines(next, onDropped, onFailure, onDocumentCompleted);
+            }
+        });
+    }
+
+    private static void onPipelineFailure(
+        String pipelineId,
+        PendingDocument document,
+        Exception e,
+        BiConsumer<Integer, Exception> onFailure
+    ) {
+        logger.debug(
+            () -> new ParameterizedMessage(
+                "failed to execute pipeline [{}] for document [{}/{}]",
+                pipelineId,
+                document.indexRequest().index(),
+                document.indexRequest().id()
+            ),
+            e
+        );
+        onFailure.accept(document.slot(), e);
+    }
+
+    private static void onDocumentCompleted(AtomicInteger counter, BiConsumer<Thread, Exception> onCompletion, Thread originalThread) {
+        if (counter.decrementAndGet() == 0) {
+            onCompletion.accept(originalThread, null);
         }
+        assert counter.get() >= 0;
     }
 
     public IngestStats stats() {
@@ -811,70 +895,94 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
         return sb.toString();
     }
 
+    private static IngestDocument newIngestDocument(IndexRequest indexRequest) {
+        String index = indexRequest.index();
+        String id = indexRequest.id();
+        String routing = indexRequest.routing();
+        Long version = indexRequest.version();
+        VersionType versionType = indexRequest.versionType();
+        Map<String, Object> sourceAsMap = indexRequest.sourceAsMap();
+        IngestDocument ingestDocument = new IngestDocument(index, id, routing, version, versionType, sourceAsMap);
+        ingestDocument.trackSourceChanges(sourceAsMap);
+        return ingestDocument;
+    }
+
+    /**
+     * Runs a batch of documents through a pipeline and writes the results back to their index requests.
+     * @param handler called once with the failure of each document, or {@code null} if it didn't fail
+     */
     private void innerExecute(
-        int slot,
-        IndexRequest indexRequest,
         Pipeline pipeline,
+        List<PendingDocument> documents,
+        List<IngestDocument> ingestDocuments,
         IntConsumer itemDroppedHandler,
-        Consumer<Exception> handler
+        Consumer<List<Exception>> handler
     ) {
         if (pipeline.getProcessors().isEmpty()) {
-            handler.accept(null);
+            handler.accept(Arrays.asList(new Exception[documents.size()]));
             return;
         }
 
         long startTimeInNanos = System.nanoTime();
         // the pipeline specific stat holder may not exist and that is fine:
         // (e.g. the pipeline may have been removed while we're ingesting a document
-        totalMetrics.preIngest();
-        String index = indexRequest.index();
-        String id = indexRequest.id();
-        String routing = indexRequest.routing();
-        Long version = indexRequest.version();
-        VersionType versionType = indexRequest.versionType();
-        Map<String, Object> sourceAsMap = indexRequest.sourceAsMap();
-        IngestDocument ingestDocument = new IngestDocument(index, id, routing, version, versionType, sourceAsMap);
-        ingestDocument.executePipeline(pipeline, (result, e) -> {
+        totalMetrics.preIngest(documents.size());
+        IngestDocument.executePipeline(pipeline, ingestDocuments, results -> {
             long ingestTimeInNanos = System.nanoTime() - startTimeInNanos;
-            totalMetrics.postIngest(ingestTimeInNanos);
-            if (e != null) {
-                totalMetrics.ingestFailed();
-                handler.accept(e);
-            } else if (result == null) {
-                itemDroppedHandler.accept(slot);
-                handler.accept(null);
-            } else {
-                Map<IngestDocument.Metadata, Object> metadataMap = ingestDocument.extractMetadata();
-
-                String newIndex = (String) metadataMap.get(IngestDocument.Metadata.INDEX);
-                // it's fine to set all metadata fields all the time, as ingest document holds their starting values
-                // before ingestion, which might also get modified during ingestion.
-                indexRequest.index(newIndex);
-                indexRequest.id((String) metadataMap.get(IngestDocument.Metadata.ID));
-                indexRequest.routing((String) metadataMap.get(IngestDocument.Metadata.ROUTING));
-                indexRequest.version(((Number) metadataMap.get(IngestDocument.Metadata.VERSION)).longValue());
-                if (metadataMap.get(IngestDocument.Metadata.VERSION_TYPE) != null) {
-                    indexRequest.versionType(VersionType.fromString((String) metadataMap.get(IngestDocument.Metadata.VERSION_TYPE)));
-                }
-                if (metadataMap.get(IngestDocument.Metadata.IF_SEQ_NO) != null) {
-                    indexRequest.setIfSeqNo(((Number) metadataMap.get(IngestDocument.Metadata.IF_SEQ_NO)).longValue());
-                }
-                if (metadataMap.get(IngestDocument.Metadata.IF_PRIMARY_TERM) != null) {
-                    indexRequest.setIfPrimaryTerm(((Number) metadataMap.get(IngestDocument.Metadata.IF_PRIMARY_TERM)).longValue());
+            totalMetrics.postIngest(documents.size(), ingestTimeInNanos);
+            List<Exception> exceptions = new ArrayList<>(documents.size());
+            for (int i = 0; i < documents.size(); i++) {
+                IndexRequest indexRequest = documents.get(i).indexRequest();
+                IngestDocument result = results.get(i).v1();
+                Exception e = results.get(i).v2();
+                if (e == null && result == null) {
+                    itemDroppedHandler.accept(documents.get(i).slot());
+                } else if (e == null) {
+                    try {
+                        updateIndexRequest(indexRequest, ingestDocuments.get(i));
+                    } catch (IOException ex) {
+                        e = ex;
+                    }
                 }
-                indexRequest.source(ingestDocument.getSourceAndMetadata(), indexRequest.getContentType());
-                if (metadataMap.get(IngestDocument.Metadata.DYNAMIC_TEMPLATES) != null) {
-                    Map<String, String> mergedDynamicTemplates = new HashMap<>(indexRequest.getDynamicTemplates());
-                    @SuppressWarnings("unchecked")
-                    Map<String, String> map = (Map<String, String>) metadataMap.get(IngestDocument.Metadata.DYNAMIC_TEMPLATES);
-                    mergedDynamicTemplates.putAll(map);
-                    indexRequest.setDynamicTemplates(mergedDynamicTemplates);
+                if (e != null) {
+                    totalMetrics.ingestFailed();
                 }
-                handler.accept(null);
+                exceptions.add(e);
             }
+            handler.accept(exceptions);
         });
     }
 
+    private static void updateIndexRequest(IndexRequest indexRequest, IngestDocument ingestDocument) throws IOException {
+        Map<IngestDocument.Metadata, Object> metadataMap = ingestDocument.extractMetadata();
+
+        String newIndex = (String) metadataMap.get(IngestDocument.Metadata.INDEX);
+        // it's fine to set all metadata fields all the time, as ingest document holds their starting values
+        // before ingestion, which might also get modified during ingestion.
+        indexRequest.index(newIndex);
+        indexRequest.id((String) metadataMap.get(IngestDocument.Metadata.ID));
+        indexRequest.routing((String) metadataMap.get(IngestDocument.Metadata.ROUTING));
+        indexRequest.version(((Number) metadataMap.get(IngestDocument.Metadata.VERSION)).longValue());
+        if (metadataMap.get(IngestDocument.Metadata.VERSION_TYPE) != null) {
+            indexRequest.versionType(VersionType.fromString((String) metadataMap.get(IngestDocument.Metadata.VERSION_TYPE)));
+        }
+        if (metadataMap.get(IngestDocument.Metadata.IF_SEQ_NO) != null) {
+            indexRequest.setIfSeqNo(((Number) metadataMap.get(IngestDocument.Metadata.IF_SEQ_NO)).longValue());
+        }
+        if (metadataMap.get(IngestDocument.Metadata.IF_PRIMARY_TERM) != null) {
+            indexRequest.setIfPrimaryTerm(((Number) metadataMap.get(IngestDocument.Metadata.IF_PRIMARY_TERM)).longValue());
+        }
+        XContentType contentType = indexRequest.getContentType();
+        indexRequest.source(ingestDocument.updatedSource(indexRequest.source(), contentType), contentType);
+        if (metadataMap.get(IngestDocument.Metadata.DYNAMIC_TEMPLATES) != null) {
+            Map<String, String> mergedDynamicTemplates = new HashMap<>(indexRequest.getDynamicTemplates());
+            @SuppressWarnings("unchecked")
+            Map<String, String> map = (Map<String, String>) metadataMap.get(IngestDocument.Metadata.DYNAMIC_TEMPLATES);
+            mergedDynamicTemplates.putAll(map);
+            indexRequest.setDynamicTemplates(mergedDynamicTemplates);
+        }
+    }
+
     @Override
     public void applyClusterState(final ClusterChangedEvent event) {
         state = event.state();
@@ -900,6 +1008,12 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
         }
     }
 
+    @Override
+    public boolean canApplyConcurrently() {
+        // pipelines only depend on the ingest metadata and can be (re)compiled while the other appliers are updating the node
+        return true;
+    }
+
     synchronized void innerUpdatePipelines(IngestMetadata newIngestMetadata) {
         Map<String, PipelineHolder> existingPipelines = this.pipelines;
 
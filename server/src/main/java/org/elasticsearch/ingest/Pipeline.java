@@ -10,6 +10,7 @@ package org.elasticsearch.ingest;
 
 import org.elasticsearch.ElasticsearchParseException;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.script.ScriptService;
 
 import java.util.Arrays;
@@ -17,6 +18,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 
 /**
@@ -124,6 +126,30 @@ public final class Pipeline {
         });
     }
 
+    /**
+     * Modifies the data of a batch of documents to be indexed based on the processor this pipeline holds. The handler
+     * receives a result for each document, in the same order as the documents, as described in
+     * {@link Processor#executeBatch(List, Consumer)}.
+     */
+    public void executeBatch(List<IngestDocument> ingestDocuments, Consumer<List<Tuple<IngestDocument, Exception>>> handler) {
+        final long startTimeInNanos = relativeTimeProvider.getAsLong();
+        metrics.preIngest(ingestDocuments.size());
+        compoundProcessor.executeBatch(ingestDocuments, results -> {
+            long ingestTimeInNanos = relativeTimeProvider.getAsLong() - startTimeInNanos;
+            metrics.postIngest(ingestDocuments.size(), ingestTimeInNanos);
+            int failed = 0;
+            for (Tuple<IngestDocument, Exception> result : results) {
+                if (result.v2() != null) {
+                    failed++;
+                }
+            }
+            if (failed > 0) {
+                metrics.ingestFailed(failed);
+            }
+            handler.accept(results);
+        });
+    }
+
     /**
      * The unique id of this pipeline
      */
@@ -9,12 +9,16 @@
 package org.elasticsearch.ingest;
 
 import org.elasticsearch.client.internal.Client;
+import org.elasticsearch.common.util.concurrent.AtomicArray;
+import org.elasticsearch.common.util.concurrent.CountDown;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.index.analysis.AnalysisRegistry;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.threadpool.Scheduler;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -46,6 +50,36 @@ public interface Processor {
         handler.accept(result, null);
     }
 
+    /**
+     * Introspect and potentially modify a batch of documents, for example all the documents of a bulk request that go
+     * through the same pipeline.
+     *
+     * Expert method: only override this method if a processor implementation can share work between documents, like
+     * lookups against an external resource, otherwise just overwrite {@link #execute(IngestDocument)}. The default
+     * implementation executes every document on its own using {@link #execute(IngestDocument, BiConsumer)}.
+     *
+     * @param handler called once all documents have been processed with a result for each document, in the same order
+     *                as the documents. A result holds either the processed document, {@code null} if the document
+     *                should be dropped, or the exception that the processor failed the document with.
+     */
+    default void executeBatch(List<IngestDocument> ingestDocuments, Consumer<List<Tuple<IngestDocument, Exception>>> handler) {
+        if (ingestDocuments.isEmpty()) {
+            handler.accept(List.of());
+            return;
+        }
+        AtomicArray<Tuple<IngestDocument, Exception>> results = new AtomicArray<>(ingestDocuments.size());
+        CountDown countDown = new CountDown(ingestDocuments.size());
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            final int slot = i;
+            execute(ingestDocuments.get(i), (result, e) -> {
+                results.set(slot, new Tuple<>(result, e));
+                if (countDown.countDown()) {
+                    handler.accept(results.asList());
+                }
+            });
+        }
+    }
+
     /**
      * Introspect and potentially modify the incoming data.
      *
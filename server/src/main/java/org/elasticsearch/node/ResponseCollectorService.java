@@ -16,14 +16,17 @@ import org.elasticsearch.common.ExponentiallyWeightedMovingAverage;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.core.TimeValue;
 
 import java.io.IOException;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
 
 /**
  * Collects statistics about queue size, response time, and service time of
@@ -37,10 +40,37 @@ public final class ResponseCollectorService implements ClusterStateListener {
      */
     public static final double ALPHA = 0.3;
 
+    /**
+     * How long the statistics of a node remain valid without a search response from that node. Statistics are only sampled from
+     * search responses, so once a node stops receiving searches because it ranked badly its statistics never recover on their own.
+     * Expired statistics are hidden from one ranking, which places the node first so that the next search probes its actual load.
+     * A value of {@code 0} disables expiration.
+     */
+    public static final Setting<TimeValue> NODE_STATISTICS_TTL_SETTING = Setting.timeSetting(
+        "cluster.routing.adaptive_replica_selection.statistics_ttl",
+        TimeValue.timeValueSeconds(30),
+        TimeValue.ZERO,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
     private final ConcurrentMap<String, NodeStatistics> nodeIdToStats = ConcurrentCollections.newConcurrentMap();
+    private final LongSupplier relativeTimeInNanosSupplier;
+    private volatile long statisticsTtlNanos;
 
     public ResponseCollectorService(ClusterService clusterService) {
+        this(clusterService, System::nanoTime);
+    }
+
+    ResponseCollectorService(ClusterService clusterService, LongSupplier relativeTimeInNanosSupplier) {
+        this.relativeTimeInNanosSupplier = relativeTimeInNanosSupplier;
         clusterService.addListener(this);
+        setStatisticsTtl(NODE_STATISTICS_TTL_SETTING.get(clusterService.getSettings()));
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(NODE_STATISTICS_TTL_SETTING, this::setStatisticsTtl);
+    }
+
+    private void setStatisticsTtl(TimeValue statisticsTtl) {
+        this.statisticsTtlNanos = statisticsTtl.nanos();
     }
 
     @Override
@@ -56,16 +86,35 @@ public final class ResponseCollectorService implements ClusterStateListener {
         nodeIdToStats.remove(nodeId);
     }
 
+    /**
+     * Adds statistics sampled from a response of the given node.
+     */
     public void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
+        addNodeStatistics(nodeId, queueSize, responseTimeNanos, avgServiceTimeNanos, true);
+    }
+
+    /**
+     * Adds statistics that were estimated rather than sampled from a response of the given node. Unlike
+     * {@link #addNodeStatistics(String, int, long, long)} this does not prevent the statistics of the node from expiring.
+     */
+    public void adjustNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
+        addNodeStatistics(nodeId, queueSize, responseTimeNanos, avgServiceTimeNanos, false);
+    }
+
+    private void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos, boolean sampled) {
+        final long now = relativeTimeInNanosSupplier.getAsLong();
         nodeIdToStats.compute(nodeId, (id, ns) -> {
             if (ns == null) {
                 ExponentiallyWeightedMovingAverage queueEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, queueSize);
                 ExponentiallyWeightedMovingAverage responseEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, responseTimeNanos);
-                return new NodeStatistics(nodeId, queueEWMA, responseEWMA, avgServiceTimeNanos);
+                return new NodeStatistics(nodeId, queueEWMA, responseEWMA, avgServiceTimeNanos, now);
             } else {
                 ns.queueSize.addValue((double) queueSize);
                 ns.responseTime.addValue((double) responseTimeNanos);
                 ns.serviceTime = avgServiceTimeNanos;
+                if (sampled) {
+                    ns.lastSampledNanos = now;
+                }
                 return ns;
             }
         });
@@ -86,11 +135,38 @@ public final class ResponseCollectorService implements ClusterStateListener {
     /**
      * Optionally return a {@code NodeStatistics} for the given nodeid, if
      * response information exists for the given node. Returns an empty
-     * {@code Optional} if the node was not found.
+     * {@code Optional} if the node was not found, or once for each period
+     * of {@link #NODE_STATISTICS_TTL_SETTING} during which no response
+     * of the node was sampled so that the node gets probed again.
      */
     public Optional<ComputedNodeStats> getNodeStatistics(final String nodeId) {
         final int clientNum = nodeIdToStats.size();
-        return Optional.ofNullable(nodeIdToStats.get(nodeId)).map(ns -> new ComputedNodeStats(clientNum, ns));
+        final NodeStatistics nodeStatistics = nodeIdToStats.get(nodeId);
+        if (nodeStatistics != null && isExpired(nodeStatistics) && claimProbe(nodeId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(nodeStatistics).map(ns -> new ComputedNodeStats(clientNum, ns));
+    }
+
+    private boolean isExpired(NodeStatistics nodeStatistics) {
+        final long ttlNanos = statisticsTtlNanos;
+        return ttlNanos > 0 && relativeTimeInNanosSupplier.getAsLong() - nodeStatistics.lastSampledNanos > ttlNanos;
+    }
+
+    /**
+     * Resets the expiration of the statistics of the given node, returning {@code true} if the caller was the one to do so and
+     * should therefore treat the node as not having statistics. This lets a single search probe a node with expired statistics.
+     */
+    private boolean claimProbe(String nodeId) {
+        final boolean[] claimed = new boolean[1];
+        nodeIdToStats.computeIfPresent(nodeId, (id, ns) -> {
+            if (isExpired(ns)) {
+                ns.lastSampledNanos = relativeTimeInNanosSupplier.getAsLong();
+                claimed[0] = true;
+            }
+            return ns;
+        });
+        return claimed[0];
     }
 
     /**
@@ -206,17 +282,20 @@ public final class ResponseCollectorService implements ClusterStateListener {
         final ExponentiallyWeightedMovingAverage queueSize;
         final ExponentiallyWeightedMovingAverage responseTime;
         double serviceTime;
+        volatile long lastSampledNanos;
 
         NodeStatistics(
             String nodeId,
             ExponentiallyWeightedMovingAverage queueSizeEWMA,
             ExponentiallyWeightedMovingAverage responseTimeEWMA,
-            double serviceTimeEWMA
+            double serviceTimeEWMA,
+            long lastSampledNanos
         ) {
             this.nodeId = nodeId;
             this.queueSize = queueSizeEWMA;
             this.responseTime = responseTimeEWMA;
             this.serviceTime = serviceTimeEWMA;
+            this.lastSampledNanos = lastSampledNanos;
         }
     }
 }
@@ -14,9 +14,11 @@ import org.elasticsearch.common.io.Streams;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.xcontent.ParsedMediaType;
+import org.elasticsearch.xcontent.XContent;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentFactory;
 import org.elasticsearch.xcontent.XContentType;
+import org.elasticsearch.xcontent.smile.SmileXContent;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -134,8 +136,12 @@ public abstract class AbstractRestChannel implements RestChannel {
             : Collections.emptyMap();
         ParsedMediaType responseMediaType = ParsedMediaType.parseMediaType(responseContentType, parameters);
 
+        // responses are never stored, so they may also share the SMILE string values that repeat across them
+        XContent xContent = responseContentType.canonical() == XContentType.SMILE
+            ? SmileXContent.smileResponseXContent
+            : XContentFactory.xContent(responseContentType);
         XContentBuilder builder = new XContentBuilder(
-            XContentFactory.xContent(responseContentType),
+            xContent,
             unclosableOutputStream,
             includes,
             excludes,
@@ -73,6 +73,24 @@ public abstract class LeafBucketCollector implements LeafCollector {
      */
     public abstract void collect(int doc, long owningBucketOrd) throws IOException;
 
+    /**
+     * Collect the first {@code count} entries of {@code docs}, which are in
+     * increasing order, in the bucket owned by {@code owningBucketOrd}.
+     * <p>
+     * Callers that know that a whole block of documents lands in the same
+     * bucket, like the {@code filters} aggregation when it runs filter by
+     * filter, should prefer this to calling {@link #collect(int, long)} for
+     * each document. This lets metric aggregations load and store their
+     * per bucket state once per block instead of once per document. The
+     * default implementation just calls {@link #collect(int, long)} for
+     * each document.
+     */
+    public void collect(int[] docs, int count, long owningBucketOrd) throws IOException {
+        for (int i = 0; i < count; i++) {
+            collect(docs[i], owningBucketOrd);
+        }
+    }
+
     /**
      * Does this collector collect anything? If this returns true we can safely
      * just never call {@link #collect}.
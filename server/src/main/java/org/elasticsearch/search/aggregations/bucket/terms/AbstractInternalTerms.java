@@ -193,8 +193,9 @@ public abstract class AbstractInternalTerms<A extends AbstractInternalTerms<A, B
                 pq.add(new IteratorAndCurrent<>(terms.getBuckets().iterator()));
             }
         }
-        // list of buckets coming from different shards that have the same key
-        List<B> sameTermBuckets = new ArrayList<>();
+        // list of buckets coming from different shards that have the same key. High cardinality terms are often
+        // returned by a single shard so we only allocate the list once we see a second bucket for the same key.
+        List<B> sameTermBuckets = null;
         B lastBucket = null;
         while (pq.size() > 0) {
             final IteratorAndCurrent<B> top = pq.top();
@@ -202,15 +203,24 @@ public abstract class AbstractInternalTerms<A extends AbstractInternalTerms<A, B
             if (lastBucket != null && cmp.compare(top.current(), lastBucket) != 0) {
                 // the key changed so bundle up the last key's worth of buckets
                 boolean shouldContinue = sink.apply(
-                    new DelayedBucket<B>(AbstractInternalTerms.this::reduceBucket, reduceContext, sameTermBuckets)
+                    new DelayedBucket<B>(
+                        AbstractInternalTerms.this::reduceBucket,
+                        reduceContext,
+                        sameTermBuckets == null ? List.of(lastBucket) : sameTermBuckets
+                    )
                 );
                 if (false == shouldContinue) {
                     return;
                 }
-                sameTermBuckets = new ArrayList<>();
+                sameTermBuckets = null;
+            } else if (lastBucket != null) {
+                if (sameTermBuckets == null) {
+                    sameTermBuckets = new ArrayList<>();
+                    sameTermBuckets.add(lastBucket);
+                }
+                sameTermBuckets.add(top.current());
             }
             lastBucket = top.current();
-            sameTermBuckets.add(top.current());
             if (top.hasNext()) {
                 top.next();
                 /*
@@ -225,8 +235,14 @@ public abstract class AbstractInternalTerms<A extends AbstractInternalTerms<A, B
             }
         }
 
-        if (sameTermBuckets.isEmpty() == false) {
-            sink.apply(new DelayedBucket<B>(AbstractInternalTerms.this::reduceBucket, reduceContext, sameTermBuckets));
+        if (lastBucket != null) {
+            sink.apply(
+                new DelayedBucket<B>(
+                    AbstractInternalTerms.this::reduceBucket,
+                    reduceContext,
+                    sameTermBuckets == null ? List.of(lastBucket) : sameTermBuckets
+                )
+            );
         }
     }
 
@@ -319,7 +335,14 @@ public abstract class AbstractInternalTerms<A extends AbstractInternalTerms<A, B
              * so we can just stop iteration early.
              */
             boolean canPrune = isKeyOrder(getOrder()) && getMinDocCount() == 0;
-            result = new ArrayList<>();
+            // the reduced list holds at least as many buckets as the largest input so we size it accordingly
+            int minResultSize = 0;
+            for (InternalAggregation aggregation : aggregations) {
+                @SuppressWarnings("unchecked")
+                A terms = (A) aggregation;
+                minResultSize = Math.max(minResultSize, terms.getBuckets().size());
+            }
+            result = new ArrayList<>(canPrune ? Math.min(minResultSize, getRequiredSize()) : minResultSize);
             thisReduceOrder = reduceBuckets(aggregations, reduceContext, bucket -> {
                 result.add(bucket.reduced());
                 return false == canPrune || result.size() < getRequiredSize();
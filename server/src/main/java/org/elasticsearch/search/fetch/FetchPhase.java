@@ -14,6 +14,7 @@ import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.ReaderUtil;
 import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.common.CheckedBiConsumer;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.document.DocumentField;
 import org.elasticsearch.common.lucene.index.SequentialStoredFieldsLeafReader;
 import org.elasticsearch.common.xcontent.XContentHelper;
@@ -23,6 +24,7 @@ import org.elasticsearch.index.fieldvisitor.CustomFieldsVisitor;
 import org.elasticsearch.index.fieldvisitor.FieldsVisitor;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.mapper.SourceFieldMapper;
+import org.elasticsearch.index.mapper.SourceLoader;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.search.LeafNestedDocuments;
 import org.elasticsearch.search.NestedDocuments;
@@ -116,12 +118,13 @@ public class FetchPhase {
 
         List<FetchSubPhaseProcessor> processors = getProcessors(context.shardTarget(), fetchContext, profiler);
         NestedDocuments nestedDocuments = context.getSearchExecutionContext().getNestedDocuments();
+        SourceLoader sourceLoader = context.getSearchExecutionContext().newSourceLoader();
 
         int currentReaderIndex = -1;
         LeafReaderContext currentReaderContext = null;
         LeafNestedDocuments leafNestedDocuments = null;
         CheckedBiConsumer<Integer, FieldsVisitor, IOException> fieldReader = null;
-        boolean hasSequentialDocs = hasSequentialDocs(docs);
+        SourceLoader.Leaf sourceLeaf = null;
         for (int index = 0; index < context.docIdsToLoadSize(); index++) {
             if (context.isCancelled()) {
                 throw new TaskCancelledException("cancelled");
@@ -134,21 +137,31 @@ public class FetchPhase {
                     try {
                         currentReaderContext = context.searcher().getIndexReader().leaves().get(readerIndex);
                         currentReaderIndex = readerIndex;
+                        final int segmentEnd = currentReaderContext.docBase + currentReaderContext.reader().maxDoc();
+                        int segmentEndIndex = index;
+                        while (segmentEndIndex < docs.length && docs[segmentEndIndex].docId < segmentEnd) {
+                            segmentEndIndex++;
+                        }
                         if (currentReaderContext.reader()instanceof SequentialStoredFieldsLeafReader lf
-                            && hasSequentialDocs
-                            && docs.length >= 10) {
-                            // All the docs to fetch are adjacent but Lucene stored fields are optimized
+                            && hasDenseDocs(docs, index, segmentEndIndex)) {
+                            // The docs to fetch from this segment are close to each other but Lucene stored fields are optimized
                             // for random access and don't optimize for sequential access - except for merging.
                             // So we do a little hack here and pretend we're going to do merges in order to
-                            // get better sequential access.
+                            // get better sequential access, which decompresses each block once rather than once per doc.
                             fieldReader = lf.getSequentialStoredFieldsReader()::visitDocument;
                         } else {
                             fieldReader = currentReaderContext.reader()::document;
                         }
+                        int[] segmentDocs = new int[segmentEndIndex - index];
+                        for (int i = 0; i < segmentDocs.length; i++) {
+                            segmentDocs[i] = docs[index + i].docId - currentReaderContext.docBase;
+                        }
                         for (FetchSubPhaseProcessor processor : processors) {
                             processor.setNextReader(currentReaderContext);
+                            processor.prefetch(segmentDocs);
                         }
                         leafNestedDocuments = nestedDocuments.getLeafNestedDocuments(currentReaderContext);
+                        sourceLeaf = sourceLoader.leaf(currentReaderContext.reader());
                     } finally {
                         profiler.stopNextReader();
                     }
@@ -162,7 +175,8 @@ public class FetchPhase {
                     docId,
                     storedToRequestedFields,
                     currentReaderContext,
-                    fieldReader
+                    fieldReader,
+                    sourceLeaf
                 );
                 for (FetchSubPhaseProcessor processor : processors) {
                     processor.process(hit);
@@ -263,7 +277,8 @@ public class FetchPhase {
         int docId,
         Map<String, Set<String>> storedToRequestedFields,
         LeafReaderContext subReaderContext,
-        CheckedBiConsumer<Integer, FieldsVisitor, IOException> storedFieldReader
+        CheckedBiConsumer<Integer, FieldsVisitor, IOException> storedFieldReader,
+        SourceLoader.Leaf sourceLeaf
     ) throws IOException {
         if (nestedDocuments.advance(docId - subReaderContext.docBase) == null) {
             return prepareNonNestedHitContext(
@@ -273,7 +288,8 @@ public class FetchPhase {
                 docId,
                 storedToRequestedFields,
                 subReaderContext,
-                storedFieldReader
+                storedFieldReader,
+                sourceLeaf
             );
         } else {
             return prepareNestedHitContext(
@@ -302,7 +318,8 @@ public class FetchPhase {
         int docId,
         Map<String, Set<String>> storedToRequestedFields,
         LeafReaderContext subReaderContext,
-        CheckedBiConsumer<Integer, FieldsVisitor, IOException> fieldReader
+        CheckedBiConsumer<Integer, FieldsVisitor, IOException> fieldReader,
+        SourceLoader.Leaf sourceLeaf
     ) throws IOException {
         int subDocId = docId - subReaderContext.docBase;
         if (fieldsVisitor == null) {
@@ -321,14 +338,15 @@ public class FetchPhase {
             }
 
             HitContext hitContext = new HitContext(hit, subReaderContext, subDocId);
-            if (fieldsVisitor.source() != null) {
+            BytesReference source = fieldsVisitor.loadSource() ? sourceLeaf.source(fieldsVisitor, subDocId) : null;
+            if (source != null) {
                 // Store the loaded source on the hit context so that fetch subphases can access it.
                 // Also make it available to scripts by storing it on the shared SearchLookup instance.
-                hitContext.sourceLookup().setSource(fieldsVisitor.source());
+                hitContext.sourceLookup().setSource(source);
 
                 SourceLookup scriptSourceLookup = context.getSearchExecutionContext().lookup().source();
                 scriptSourceLookup.setSegmentAndDocument(subReaderContext, subDocId);
-                scriptSourceLookup.setSource(fieldsVisitor.source());
+                scriptSourceLookup.setSource(source);
             }
             return hitContext;
         }
@@ -479,11 +497,28 @@ public class FetchPhase {
     }
 
     /**
-     * Returns <code>true</code> if the provided <code>docs</code> are
-     * stored sequentially (Dn = Dn-1 + 1).
+     * The minimum number of docs to fetch from a segment before its stored fields are read sequentially.
+     */
+    static final int DENSE_DOCS_MIN_COUNT = 10;
+
+    /**
+     * Reading stored fields sequentially decompresses every block in the range once, whereas random access decompresses the shared
+     * dictionary and the sub-block of each doc it visits, so sequential access pays off as long as at least one out of this many docs
+     * in the range is fetched.
+     */
+    static final int DENSE_DOCS_MAX_SPAN_PER_DOC = 4;
+
+    /**
+     * Returns <code>true</code> if the provided <code>docs</code> between <code>from</code> (inclusive) and <code>to</code>
+     * (exclusive), which are sorted by doc id, are dense enough to be read sequentially.
      */
-    static boolean hasSequentialDocs(DocIdToIndex[] docs) {
-        return docs.length > 0 && docs[docs.length - 1].docId - docs[0].docId == docs.length - 1;
+    static boolean hasDenseDocs(DocIdToIndex[] docs, int from, int to) {
+        final int count = to - from;
+        if (count < DENSE_DOCS_MIN_COUNT) {
+            return false;
+        }
+        final long span = (long) docs[to - 1].docId - docs[from].docId + 1;
+        return span <= (long) count * DENSE_DOCS_MAX_SPAN_PER_DOC;
     }
 
     interface Profiler {
@@ -81,6 +81,17 @@ public class FetchProfiler implements FetchPhase.Profiler {
                 }
             }
 
+            @Override
+            public void prefetch(int[] docIds) throws IOException {
+                Timer timer = breakdown.getTimer(FetchSubPhaseTiming.PROCESS);
+                timer.start();
+                try {
+                    delegate.prefetch(docIds);
+                } finally {
+                    timer.stop();
+                }
+            }
+
             @Override
             public void process(HitContext hitContext) throws IOException {
                 Timer timer = breakdown.getTimer(FetchSubPhaseTiming.PROCESS);
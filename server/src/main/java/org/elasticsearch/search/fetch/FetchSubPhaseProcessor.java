@@ -24,6 +24,14 @@ public interface FetchSubPhaseProcessor {
      */
     void setNextReader(LeafReaderContext readerContext) throws IOException;
 
+    /**
+     * Called after {@link #setNextReader} with the ids, relative to the leaf reader and in
+     * increasing order, of all the hits that will be {@link #process processed} from it.
+     * Processors that read column-oriented data like doc values can use this to load the
+     * values of every hit in the leaf in a single forward pass.
+     */
+    default void prefetch(int[] docIds) throws IOException {}
+
     /**
      * Called in doc id order for each hit in a leaf reader
      */
@@ -11,7 +11,6 @@ import org.apache.lucene.index.LeafReaderContext;
 import org.elasticsearch.common.document.DocumentField;
 import org.elasticsearch.index.mapper.DocValueFetcher;
 import org.elasticsearch.index.mapper.MappedFieldType;
-import org.elasticsearch.index.mapper.ValueFetcher;
 import org.elasticsearch.search.fetch.FetchContext;
 import org.elasticsearch.search.fetch.FetchSubPhase;
 import org.elasticsearch.search.fetch.FetchSubPhaseProcessor;
@@ -44,7 +43,7 @@ public final class FetchDocValuesPhase implements FetchSubPhase {
             if (ft == null) {
                 continue;
             }
-            ValueFetcher fetcher = new DocValueFetcher(
+            DocValueFetcher fetcher = new DocValueFetcher(
                 ft.docValueFormat(fieldAndFormat.format, null),
                 context.searchLookup().getForField(ft)
             );
@@ -52,16 +51,54 @@ public final class FetchDocValuesPhase implements FetchSubPhase {
         }
 
         return new FetchSubPhaseProcessor() {
+            /*
+             * Values of every field for all the hits in the current segment, loaded column by column
+             * so each doc values iterator makes a single forward pass rather than being re-positioned
+             * once per hit and field.
+             */
+            private int[] prefetchedDocs;
+            private List<List<Object>>[] prefetchedValues;
+            private int cursor;
+            private LeafReaderContext readerContext;
+
             @Override
             public void setNextReader(LeafReaderContext readerContext) {
+                this.readerContext = readerContext;
                 for (DocValueField f : fields) {
                     f.fetcher.setNextReader(readerContext);
                 }
+                prefetchedDocs = null;
+                prefetchedValues = null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void prefetch(int[] docIds) throws IOException {
+                prefetchedValues = new List[fields.size()];
+                for (int i = 0; i < fields.size(); i++) {
+                    prefetchedValues[i] = fields.get(i).fetcher.fetchValues(docIds);
+                }
+                prefetchedDocs = docIds;
+                cursor = 0;
             }
 
             @Override
             public void process(HitContext hit) throws IOException {
-                for (DocValueField f : fields) {
+                int position = -1;
+                if (prefetchedDocs != null) {
+                    while (cursor < prefetchedDocs.length && prefetchedDocs[cursor] < hit.docId()) {
+                        cursor++;
+                    }
+                    if (cursor < prefetchedDocs.length && prefetchedDocs[cursor] == hit.docId()) {
+                        position = cursor;
+                    } else {
+                        // the hit wasn't prefetched so go back to loading hit by hit, on fresh doc values because
+                        // the prefetch may have moved them past this hit
+                        setNextReader(readerContext);
+                    }
+                }
+                for (int i = 0; i < fields.size(); i++) {
+                    DocValueField f = fields.get(i);
                     DocumentField hitField = hit.hit().field(f.field);
                     if (hitField == null) {
                         hitField = new DocumentField(f.field, new ArrayList<>(2));
@@ -69,10 +106,14 @@ public final class FetchDocValuesPhase implements FetchSubPhase {
                         // docValues fields will still be document fields, and put under "fields" section of a hit.
                         hit.hit().setDocumentField(f.field, hitField);
                     }
-                    List<Object> ignoredValues = new ArrayList<>();
-                    hitField.getValues().addAll(f.fetcher.fetchValues(hit.sourceLookup(), ignoredValues));
-                    // Doc value fetches should not return any ignored values
-                    assert ignoredValues.isEmpty();
+                    if (position >= 0) {
+                        hitField.getValues().addAll(prefetchedValues[i].get(position));
+                    } else {
+                        List<Object> ignoredValues = new ArrayList<>();
+                        hitField.getValues().addAll(f.fetcher.fetchValues(hit.sourceLookup(), ignoredValues));
+                        // Doc value fetches should not return any ignored values
+                        assert ignoredValues.isEmpty();
+                    }
                 }
             }
         };
@@ -80,9 +121,9 @@ public final class FetchDocValuesPhase implements FetchSubPhase {
 
     private static class DocValueField {
         private final String field;
-        private final ValueFetcher fetcher;
+        private final DocValueFetcher fetcher;
 
-        DocValueField(String field, ValueFetcher fetcher) {
+        DocValueField(String field, DocValueFetcher fetcher) {
             this.field = field;
             this.fetcher = fetcher;
         }
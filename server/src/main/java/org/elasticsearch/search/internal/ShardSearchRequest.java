@@ -81,6 +81,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
 
     private boolean canReturnNullResponseIfMatchNoDocs;
     private SearchSortValuesAndFormats bottomSortValues;
+    private float minCompetitiveScore = Float.NEGATIVE_INFINITY;
 
     // these are the only mutable fields, as they are subject to rewriting
     private AliasFilter aliasFilter;
@@ -277,6 +278,11 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
             waitForCheckpoint = SequenceNumbers.UNASSIGNED_SEQ_NO;
             waitForCheckpointsTimeout = SearchService.NO_TIMEOUT;
         }
+        if (in.getVersion().onOrAfter(Version.V_8_2_0)) {
+            minCompetitiveScore = in.readFloat();
+        } else {
+            minCompetitiveScore = Float.NEGATIVE_INFINITY;
+        }
         originalIndices = OriginalIndices.readOriginalIndices(in);
     }
 
@@ -295,6 +301,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         this.allowPartialSearchResults = clone.allowPartialSearchResults;
         this.canReturnNullResponseIfMatchNoDocs = clone.canReturnNullResponseIfMatchNoDocs;
         this.bottomSortValues = clone.bottomSortValues;
+        this.minCompetitiveScore = clone.minCompetitiveScore;
         this.originalIndices = clone.originalIndices;
         this.readerId = clone.readerId;
         this.keepAlive = clone.keepAlive;
@@ -358,6 +365,10 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
                     + "] or greater."
             );
         }
+        if (asKey || out.getVersion().onOrAfter(Version.V_8_2_0)) {
+            // the threshold changes the top docs of the shard so requests that only differ in it can't share a cache entry
+            out.writeFloat(minCompetitiveScore);
+        }
     }
 
     @Override
@@ -457,6 +468,22 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         return bottomSortValues;
     }
 
+    /**
+     * Sets the minimum score that a document must have to be competitive for the top hits of a request sorted by score.
+     * This value is computed by the coordinating node from the bottom top document of the shards that already returned
+     * and passed as an hint on subsequent shard requests so that they can skip non-competitive documents.
+     */
+    public void setMinCompetitiveScore(float minCompetitiveScore) {
+        this.minCompetitiveScore = minCompetitiveScore;
+    }
+
+    /**
+     * Returns the minimum competitive score or {@link Float#NEGATIVE_INFINITY} if not set.
+     */
+    public float getMinCompetitiveScore() {
+        return minCompetitiveScore;
+    }
+
     /**
      * Returns true if the caller can handle null response {@link QuerySearchResult#nullInstance()}.
      * Defaults to false since the coordinator node needs at least one shard response to build the global
@@ -18,6 +18,7 @@ import org.elasticsearch.common.xcontent.support.XContentMapValues;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.fieldvisitor.FieldsVisitor;
+import org.elasticsearch.index.mapper.SourceLoader;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.xcontent.XContentType;
 
@@ -31,8 +32,11 @@ import static java.util.Collections.emptyMap;
 
 public class SourceLookup implements Map<String, Object> {
 
+    private final SourceLoader sourceLoader;
+
     private LeafReader reader;
     CheckedBiConsumer<Integer, FieldsVisitor, IOException> fieldReader;
+    private SourceLoader.Leaf sourceLeaf;
 
     private int docId = -1;
 
@@ -40,6 +44,18 @@ public class SourceLookup implements Map<String, Object> {
     private Map<String, Object> source;
     private XContentType sourceContentType;
 
+    public SourceLookup() {
+        this(SourceLoader.FROM_STORED_SOURCE);
+    }
+
+    /**
+     * Build a lookup that loads {@code _source} with the provided loader, which may rebuild it from
+     * doc values rather than reading the stored field.
+     */
+    public SourceLookup(SourceLoader sourceLoader) {
+        this.sourceLoader = sourceLoader;
+    }
+
     public XContentType sourceContentType() {
         return sourceContentType;
     }
@@ -69,9 +85,7 @@ public class SourceLookup implements Map<String, Object> {
             return source;
         }
         try {
-            FieldsVisitor sourceFieldVisitor = new FieldsVisitor(true);
-            fieldReader.accept(docId, sourceFieldVisitor);
-            BytesReference source = sourceFieldVisitor.source();
+            BytesReference source = loadSourceBytes();
             if (source == null) {
                 this.source = emptyMap();
                 this.sourceContentType = null;
@@ -86,6 +100,15 @@ public class SourceLookup implements Map<String, Object> {
         return this.source;
     }
 
+    private BytesReference loadSourceBytes() throws IOException {
+        FieldsVisitor sourceFieldVisitor = new FieldsVisitor(true);
+        fieldReader.accept(docId, sourceFieldVisitor);
+        if (sourceLeaf == null) {
+            sourceLeaf = sourceLoader.leaf(reader);
+        }
+        return sourceLeaf.source(sourceFieldVisitor, docId);
+    }
+
     private static Tuple<XContentType, Map<String, Object>> sourceAsMapAndType(BytesReference source) throws ElasticsearchParseException {
         return XContentHelper.convertToMap(source, false);
     }
@@ -110,6 +133,7 @@ public class SourceLookup implements Map<String, Object> {
         }
         if (this.reader != context.reader()) {
             this.reader = context.reader();
+            this.sourceLeaf = null;
             // only reset reader and fieldReader when reader changes
             if (context.reader()instanceof SequentialStoredFieldsLeafReader lf) {
                 // All the docs to fetch are adjacent but Lucene stored fields are optimized
@@ -178,9 +202,7 @@ public class SourceLookup implements Map<String, Object> {
             );
         }
         try {
-            FieldsVisitor sourceFieldVisitor = new FieldsVisitor(true);
-            fieldReader.accept(docId, sourceFieldVisitor);
-            BytesReference source = sourceFieldVisitor.source();
+            BytesReference source = loadSourceBytes();
             return XContentMapValues.extractRawValues(path, XContentHelper.convertToMap(source, false, null, Set.of(path), null).v2());
         } catch (Exception e) {
             throw new ElasticsearchParseException("failed to parse / load source", e);
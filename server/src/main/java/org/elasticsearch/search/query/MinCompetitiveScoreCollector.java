@@ -0,0 +1,59 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.query;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.FilterCollector;
+import org.apache.lucene.search.FilterLeafCollector;
+import org.apache.lucene.search.FilterScorable;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Scorable;
+import org.apache.lucene.search.ScoreMode;
+
+import java.io.IOException;
+
+/**
+ * A {@link Collector} that seeds the minimum competitive score of the scorer with a score that is known upfront, typically
+ * the score of the bottom top hit of the shards that were already queried. This allows queries that support it to skip
+ * non-competitive blocks of documents before the delegate collected its own top hits. The minimum competitive scores that
+ * are set by the delegate are only applied if they are greater than the seed.
+ */
+final class MinCompetitiveScoreCollector extends FilterCollector {
+    private final float minCompetitiveScore;
+
+    /**
+     * Ctr
+     * @param delegate The delegated collector.
+     * @param minCompetitiveScore The minimum score of competitive hits.
+     */
+    MinCompetitiveScoreCollector(Collector delegate, float minCompetitiveScore) {
+        super(delegate);
+        this.minCompetitiveScore = minCompetitiveScore;
+    }
+
+    @Override
+    public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+        return new FilterLeafCollector(super.getLeafCollector(context)) {
+            @Override
+            public void setScorer(Scorable scorer) throws IOException {
+                if (MinCompetitiveScoreCollector.this.scoreMode() == ScoreMode.TOP_SCORES) {
+                    scorer.setMinCompetitiveScore(minCompetitiveScore);
+                    scorer = new FilterScorable(scorer) {
+                        @Override
+                        public void setMinCompetitiveScore(float minScore) throws IOException {
+                            in.setMinCompetitiveScore(Math.max(minScore, minCompetitiveScore));
+                        }
+                    };
+                }
+                super.setScorer(scorer);
+            }
+        };
+    }
+}
@@ -233,6 +233,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
          * @param trackMaxScore True if max score should be tracked
          * @param trackTotalHitsUpTo True if the total number of hits should be tracked
          * @param hasFilterCollector True if the collector chain contains at least one collector that can filters document
+         * @param minCompetitiveScore The minimum score of competitive hits, or {@link Float#NEGATIVE_INFINITY} if unknown
          */
         private SimpleTopDocsCollectorContext(
             IndexReader reader,
@@ -242,12 +243,14 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             int numHits,
             boolean trackMaxScore,
             int trackTotalHitsUpTo,
-            boolean hasFilterCollector
+            boolean hasFilterCollector,
+            float minCompetitiveScore
         ) throws IOException {
             super(REASON_SEARCH_TOP_HITS, numHits);
             this.sortAndFormats = sortAndFormats;
 
             final TopDocsCollector<?> topDocsCollector;
+            Collector seededCollector = null;
 
             if ((sortAndFormats == null || SortField.FIELD_SCORE.equals(sortAndFormats.sort.getSort()[0])) && hasInfMaxScore(query)) {
                 // disable max score optimization since we have a mandatory clause
@@ -260,6 +263,10 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
                 topDocsCollector = createCollector(sortAndFormats, numHits, searchAfter, 1);
                 topDocsSupplier = new CachedSupplier<>(topDocsCollector::topDocs);
                 totalHitsSupplier = () -> new TotalHits(0, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO);
+                if (sortAndFormats == null && searchAfter == null && minCompetitiveScore != Float.NEGATIVE_INFINITY) {
+                    // hits are not counted so we can skip documents that cannot make it into the global top hits from the start
+                    seededCollector = new MinCompetitiveScoreCollector(topDocsCollector, minCompetitiveScore);
+                }
             } else {
                 // implicit total hit counts are valid only when there is no filter collector in the chain
                 final int hitCount = hasFilterCollector ? -1 : shortcutTotalHitCount(reader, query);
@@ -291,7 +298,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
                 maxScoreSupplier = () -> Float.NaN;
             }
 
-            this.collector = MultiCollector.wrap(topDocsCollector, maxScoreCollector);
+            this.collector = MultiCollector.wrap(seededCollector != null ? seededCollector : topDocsCollector, maxScoreCollector);
 
         }
 
@@ -343,7 +350,8 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
                 numHits,
                 trackMaxScore,
                 trackTotalHitsUpTo,
-                hasFilterCollector
+                hasFilterCollector,
+                Float.NEGATIVE_INFINITY
             );
             this.scrollContext = Objects.requireNonNull(scrollContext);
             this.numberOfShards = numberOfShards;
@@ -494,7 +502,8 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
                 numDocs,
                 searchContext.trackScores(),
                 searchContext.trackTotalHitsUpTo(),
-                hasFilterCollector
+                hasFilterCollector,
+                rescore ? Float.NEGATIVE_INFINITY : searchContext.request().getMinCompetitiveScore()
             ) {
                 @Override
                 boolean shouldRescore() {
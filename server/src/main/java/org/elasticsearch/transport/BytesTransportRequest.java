@@ -21,7 +21,7 @@ import java.io.IOException;
  * A specialized, bytes only request, that can potentially be optimized on the network
  * layer, specifically for the same large buffer send to several nodes.
  */
-public class BytesTransportRequest extends TransportRequest implements RefCounted {
+public class BytesTransportRequest extends TransportRequest implements RefCounted, ZeroCopyWriteable {
 
     final ReleasableBytesReference bytes;
     private final Version version;
@@ -60,6 +60,12 @@ public class BytesTransportRequest extends TransportRequest implements RefCounte
         out.writeBytesReference(bytes);
     }
 
+    @Override
+    public BytesReference writeWithoutPayload(StreamOutput out) throws IOException {
+        writeThin(out);
+        return bytes;
+    }
+
     @Override
     public void incRef() {
         bytes.incRef();
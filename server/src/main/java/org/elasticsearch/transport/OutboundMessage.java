@@ -60,9 +60,8 @@ abstract class OutboundMessage extends NetworkMessage {
             if (variableHeaderLength == -1) {
                 writeVariableHeader(stream);
             }
-            if (message instanceof BytesTransportRequest bRequest) {
-                bRequest.writeThin(stream);
-                zeroCopyBuffer = bRequest.bytes;
+            if (message instanceof ZeroCopyWriteable zeroCopyWriteable && compress == false) {
+                zeroCopyBuffer = zeroCopyWriteable.writeWithoutPayload(stream);
             } else if (message instanceof RemoteTransportException) {
                 stream.writeException((RemoteTransportException) message);
                 zeroCopyBuffer = BytesArray.EMPTY;
@@ -0,0 +1,31 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+
+import java.io.IOException;
+
+/**
+ * A message whose serialized form ends with a payload of bytes, like a chunk of a file. When such a message is sent without
+ * compression, the payload is appended to the outbound message as-is rather than being copied into the message buffer first.
+ * The payload must not be modified or released until the message has been sent, which holds for ref-counted messages that own
+ * their payload since these are retained until the send completes.
+ */
+public interface ZeroCopyWriteable extends Writeable {
+
+    /**
+     * Writes this message to the given stream except for the bytes of its trailing payload, which are returned instead. Appending
+     * the returned bytes to the stream must yield the same bytes as {@link #writeTo(StreamOutput)}. Implementations may return
+     * {@link org.elasticsearch.common.bytes.BytesArray#EMPTY} after writing the whole message, e.g. for older wire versions.
+     */
+    BytesReference writeWithoutPayload(StreamOutput out) throws IOException;
+}
@@ -10,6 +10,8 @@ package org.elasticsearch.action.bulk;
 
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
 import org.elasticsearch.core.RestApiVersion;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.xcontent.XContentType;
@@ -279,4 +281,78 @@ public class BulkRequestParserTests extends ESTestCase {
         assertSame(first.getPipeline(), second.getPipeline());
         assertSame(first.routing(), second.routing());
     }
+
+    public void testIncrementalParsing() throws IOException {
+        final StringBuilder body = new StringBuilder();
+        final int numItems = randomIntBetween(1, 50);
+        for (int i = 0; i < numItems; i++) {
+            switch (randomIntBetween(0, 2)) {
+                case 0 -> body.append("{ \"index\":{ \"_id\": \"").append(i).append("\" } }\n{ \"field\": \"value\" }\n");
+                case 1 -> body.append("{ \"delete\":{ \"_id\": \"").append(i).append("\" } }\n");
+                default -> body.append("{ \"update\":{ \"_id\": \"").append(i).append("\" } }\n{ \"doc\": { \"f\": 1 } }\n");
+            }
+        }
+        final BytesArray request = new BytesArray(body.toString());
+        final List<String> ids = new ArrayList<>();
+        final BulkRequestParser.IncrementalParser parser = new BulkRequestParser(randomBoolean(), RestApiVersion.current())
+            .incrementalParser(
+                "foo",
+                null,
+                null,
+                null,
+                null,
+                false,
+                XContentType.JSON,
+                (indexRequest, type) -> ids.add(indexRequest.id()),
+                updateRequest -> ids.add(updateRequest.id()),
+                deleteRequest -> ids.add(deleteRequest.id())
+            );
+
+        BytesReference pending = BytesArray.EMPTY;
+        int offset = 0;
+        while (offset < request.length()) {
+            final int chunkLength = Math.min(randomIntBetween(1, 64), request.length() - offset);
+            pending = CompositeBytesReference.of(pending, request.slice(offset, chunkLength));
+            offset += chunkLength;
+            final int consumed = parser.parse(pending, offset == request.length());
+            pending = pending.slice(consumed, pending.length() - consumed);
+        }
+        assertEquals(0, pending.length());
+
+        final List<String> expectedIds = new ArrayList<>();
+        for (int i = 0; i < numItems; i++) {
+            expectedIds.add(Integer.toString(i));
+        }
+        assertEquals(expectedIds, ids);
+    }
+
+    public void testIncrementalParsingLeavesIncompleteItems() throws IOException {
+        BytesArray request = new BytesArray("""
+            { "index":{ "_id": "bar" } }
+            {}
+            { "index":{ "_id": "baz" } }
+            {""");
+        final List<String> ids = new ArrayList<>();
+        BulkRequestParser.IncrementalParser parser = new BulkRequestParser(randomBoolean(), RestApiVersion.current()).incrementalParser(
+            "foo",
+            null,
+            null,
+            null,
+            null,
+            false,
+            XContentType.JSON,
+            (indexRequest, type) -> ids.add(indexRequest.id()),
+            req -> fail(),
+            req -> fail()
+        );
+        int consumed = parser.parse(request, false);
+        assertEquals(List.of("bar"), ids);
+        assertEquals(request.length() - "{ \"index\":{ \"_id\": \"baz\" } }\n{".length(), consumed);
+
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> parser.parse(request.slice(consumed, request.length() - consumed), true)
+        );
+        assertEquals("The bulk request must be terminated by a newline [\\n]", e.getMessage());
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.action.search;
+
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.test.ESTestCase;
+
+import static org.apache.lucene.search.TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO;
+import static org.hamcrest.Matchers.equalTo;
+
+public class BottomScoreCollectorTests extends ESTestCase {
+    public void testBottomScore() {
+        BottomScoreCollector collector = new BottomScoreCollector(3);
+        assertThat(collector.getBottomScore(), equalTo(Float.NEGATIVE_INFINITY));
+        collector.consumeTopDocs(createTopDocs(100, 5f, 4f, 3f));
+        assertThat(collector.getBottomScore(), equalTo(3f));
+        collector.consumeTopDocs(createTopDocs(100, 10f, 8f, 6f));
+        assertThat(collector.getBottomScore(), equalTo(6f));
+        collector.consumeTopDocs(createTopDocs(50, 2f, 1f, 0.5f));
+        assertThat(collector.getBottomScore(), equalTo(6f));
+        collector.consumeTopDocs(createTopDocs(50));
+        // ignore bottom if we have less top docs than the requested size
+        collector.consumeTopDocs(createTopDocs(2, 100f, 90f));
+        assertThat(collector.getBottomScore(), equalTo(6f));
+        assertThat(collector.getTotalHits(), equalTo(302L));
+    }
+
+    public void testEmptySize() {
+        BottomScoreCollector collector = new BottomScoreCollector(0);
+        collector.consumeTopDocs(createTopDocs(10));
+        assertThat(collector.getBottomScore(), equalTo(Float.NEGATIVE_INFINITY));
+        assertThat(collector.getTotalHits(), equalTo(10L));
+    }
+
+    private static TopDocs createTopDocs(long totalHits, float... scores) {
+        ScoreDoc[] scoreDocs = new ScoreDoc[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            scoreDocs[i] = new ScoreDoc(i, scores[i]);
+        }
+        return new TopDocs(new TotalHits(totalHits, GREATER_THAN_OR_EQUAL_TO), scoreDocs);
+    }
+}
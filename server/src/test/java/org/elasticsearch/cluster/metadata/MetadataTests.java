@@ -70,6 +70,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -2233,6 +2234,54 @@ public class MetadataTests extends ESTestCase {
         assertThat(metadata.getMappingsByHash().get(newMapping.getSha256()), nullValue());
     }
 
+    public void testDiffSendsSharedMappingsOnce() throws IOException {
+        final MappingMetadata previousMapping = new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, Map.of("previous", "mapping"));
+        final Map<String, Object> properties = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            properties.put(randomAlphaOfLength(10) + "-" + i, Map.of("type", "keyword"));
+        }
+        final MappingMetadata sharedMapping = new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, Map.of("properties", properties));
+
+        final Metadata before = Metadata.builder().put(indexWithMapping("index-0", previousMapping).build(), false).build();
+        final Metadata.Builder afterBuilder = Metadata.builder(before)
+            .put(IndexMetadata.builder(before.index("index-0")).putMapping(sharedMapping).mappingVersion(2L));
+        final int newIndices = between(2, 10);
+        for (int i = 1; i <= newIndices; i++) {
+            afterBuilder.put(indexWithMapping("index-" + i, sharedMapping));
+        }
+        final Metadata after = afterBuilder.build();
+        final Diff<Metadata> diff = after.diff(before);
+
+        final NamedWriteableRegistry namedWriteableRegistry = new NamedWriteableRegistry(ClusterModule.getNamedWriteables());
+        final Version previousVersion = VersionUtils.getPreviousVersion(Metadata.MAPPINGS_IN_DIFF_AS_HASH_VERSION);
+        final long[] serializedSizes = new long[2];
+        int v = 0;
+        for (Version version : List.of(previousVersion, Version.CURRENT)) {
+            final BytesStreamOutput out = new BytesStreamOutput();
+            out.setVersion(version);
+            diff.writeTo(out);
+            serializedSizes[v++] = out.size();
+
+            final NamedWriteableAwareStreamInput in = new NamedWriteableAwareStreamInput(out.bytes().streamInput(), namedWriteableRegistry);
+            in.setVersion(version);
+            final Metadata applied = Metadata.readDiffFrom(in).apply(before);
+            assertEquals(after.indices(), applied.indices());
+            for (int i = 1; i <= newIndices; i++) {
+                assertThat(applied.index("index-" + i).mapping(), sameInstance(applied.index("index-0").mapping()));
+            }
+        }
+        // older nodes receive a copy of the mapping for every added or updated index, newer nodes receive it once
+        assertThat(serializedSizes[1], lessThan(serializedSizes[0]));
+    }
+
+    private static IndexMetadata.Builder indexWithMapping(String name, MappingMetadata mapping) {
+        return IndexMetadata.builder(name)
+            .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+            .putMapping(mapping)
+            .numberOfShards(1)
+            .numberOfReplicas(0);
+    }
+
     public static Metadata randomMetadata() {
         return randomMetadata(1);
     }
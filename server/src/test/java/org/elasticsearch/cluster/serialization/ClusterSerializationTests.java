@@ -23,6 +23,7 @@ import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.IndexTemplateMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexShardRoutingTable;
 import org.elasticsearch.cluster.routing.RoutingTable;
 import org.elasticsearch.cluster.routing.allocation.AllocationService;
 import org.elasticsearch.common.UUIDs;
@@ -110,6 +111,60 @@ public class ClusterSerializationTests extends ESAllocationTestCase {
         assertThat(target.toString(), equalTo(source.toString()));
     }
 
+    public void testRoutingTableDiffOnlyContainsChangedShards() throws Exception {
+        Metadata metadata = Metadata.builder()
+            .put(IndexMetadata.builder("test").settings(settings(Version.CURRENT)).numberOfShards(10).numberOfReplicas(1))
+            .build();
+
+        RoutingTable routingTable = RoutingTable.builder().addAsNew(metadata.index("test")).build();
+
+        DiscoveryNodes nodes = DiscoveryNodes.builder().add(newNode("node1")).add(newNode("node2")).add(newNode("node3")).build();
+
+        ClusterState clusterState = ClusterState.builder(ClusterName.CLUSTER_NAME_SETTING.getDefault(Settings.EMPTY))
+            .nodes(nodes)
+            .metadata(metadata)
+            .routingTable(routingTable)
+            .build();
+
+        AllocationService strategy = createAllocationService();
+        clusterState = strategy.reroute(clusterState, "reroute");
+        ClusterState newClusterState = startShardsAndReroute(
+            strategy,
+            clusterState,
+            clusterState.routingTable().index("test").shard(0).primaryShard()
+        );
+
+        final Version version = VersionUtils.randomCompatibleVersion(random(), Version.CURRENT);
+        BytesStreamOutput outStream = new BytesStreamOutput();
+        outStream.setVersion(version);
+        clusterState.routingTable().writeTo(outStream);
+        StreamInput inStream = outStream.bytes().streamInput();
+        inStream.setVersion(version);
+        RoutingTable previous = RoutingTable.readFrom(inStream);
+
+        outStream = new BytesStreamOutput();
+        outStream.setVersion(version);
+        newClusterState.routingTable().diff(clusterState.routingTable()).writeTo(outStream);
+        inStream = outStream.bytes().streamInput();
+        inStream.setVersion(version);
+        RoutingTable target = RoutingTable.readDiffFrom(inStream).apply(previous);
+
+        assertThat(target.toString(), equalTo(newClusterState.routingTable().toString()));
+        assertNotEquals(previous.index("test").shard(0), target.index("test").shard(0));
+        if (version.onOrAfter(Version.V_8_2_0)) {
+            for (int shard = 1; shard < 10; shard++) {
+                IndexShardRoutingTable before = clusterState.routingTable().index("test").shard(shard);
+                if (before.equals(newClusterState.routingTable().index("test").shard(shard))) {
+                    assertSame(
+                        "Unchanged shards should not create new IndexShardRoutingTable objects",
+                        previous.index("test").shard(shard),
+                        target.index("test").shard(shard)
+                    );
+                }
+            }
+        }
+    }
+
     public void testSnapshotDeletionsInProgressSerialization() throws Exception {
 
         boolean includeRestore = randomBoolean();
@@ -13,8 +13,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.ClusterStateApplier;
 import org.elasticsearch.cluster.ClusterStateObserver;
 import org.elasticsearch.cluster.LocalNodeMasterListener;
 import org.elasticsearch.cluster.block.ClusterBlocks;
@@ -41,8 +43,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Collections.emptyMap;
@@ -50,6 +54,8 @@ import static java.util.Collections.emptySet;
 import static org.elasticsearch.test.ClusterServiceUtils.createNoOpNodeConnectionsService;
 import static org.elasticsearch.test.ClusterServiceUtils.setState;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
 
 public class ClusterApplierServiceTests extends ESTestCase {
@@ -85,10 +91,14 @@ public class ClusterApplierServiceTests extends ESTestCase {
     }
 
     private ClusterApplierService createClusterApplierService(boolean makeMaster) {
+        return createClusterApplierService(makeMaster, Settings.EMPTY);
+    }
+
+    private ClusterApplierService createClusterApplierService(boolean makeMaster, Settings settings) {
         final DiscoveryNode localNode = new DiscoveryNode("node1", buildNewFakeTransportAddress(), emptyMap(), emptySet(), Version.CURRENT);
         final ClusterApplierService clusterApplierService = new ClusterApplierService(
             "test_node",
-            Settings.builder().put("cluster.name", "ClusterApplierServiceTests").build(),
+            Settings.builder().put("cluster.name", "ClusterApplierServiceTests").put(settings).build(),
             clusterSettings,
             threadPool
         ) {
@@ -479,6 +489,75 @@ public class ClusterApplierServiceTests extends ESTestCase {
         assertTrue(applierCalled.get());
     }
 
+    public void testConcurrentAppliersRunConcurrentlyWithinPriority() throws InterruptedException {
+        clusterApplierService.close();
+        clusterApplierService = createClusterApplierService(
+            true,
+            Settings.builder().put(ClusterApplierService.CLUSTER_SERVICE_MAX_CONCURRENT_APPLIERS_SETTING.getKey(), 2).build()
+        );
+
+        // the two concurrent appliers and the inline one only get past the barrier if they all run at the same time
+        final CyclicBarrier barrier = new CyclicBarrier(3);
+        final AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            clusterApplierService.addStateApplier(new ConcurrentApplier("concurrent-" + i, () -> {
+                awaitBarrier(barrier);
+                completed.incrementAndGet();
+            }));
+        }
+        clusterApplierService.addStateApplier(event -> awaitBarrier(barrier));
+        clusterApplierService.addLowPriorityApplier(event -> assertThat(completed.get(), equalTo(2)));
+
+        final AtomicReference<Exception> error = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        clusterApplierService.onNewClusterState(
+            "test",
+            () -> ClusterState.builder(clusterApplierService.state()).build(),
+            ActionListener.wrap(ignored -> latch.countDown(), e -> {
+                error.set(e);
+                latch.countDown();
+            })
+        );
+
+        latch.await();
+        assertNull(error.get());
+        assertThat(completed.get(), equalTo(2));
+        assertThat(clusterApplierService.getStats().getRecordings().keySet(), hasItems("concurrent-0", "concurrent-1"));
+    }
+
+    private static void awaitBarrier(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static class ConcurrentApplier implements ClusterStateApplier {
+        private final String name;
+        private final Runnable onApply;
+
+        ConcurrentApplier(String name, Runnable onApply) {
+            this.name = name;
+            this.onApply = onApply;
+        }
+
+        @Override
+        public void applyClusterState(ClusterChangedEvent event) {
+            onApply.run();
+        }
+
+        @Override
+        public boolean canApplyConcurrently() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
     public void testClusterStateApplierCanCreateAnObserver() throws InterruptedException {
         AtomicReference<Throwable> error = new AtomicReference<>();
         AtomicBoolean applierCalled = new AtomicBoolean();
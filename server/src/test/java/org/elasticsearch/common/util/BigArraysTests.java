@@ -31,6 +31,7 @@ import java.util.function.Function;
 import static org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService.REQUEST_CIRCUIT_BREAKER_LIMIT_SETTING;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
@@ -386,6 +387,139 @@ public class BigArraysTests extends ESTestCase {
         }
     }
 
+    public void testOffHeapArrays() {
+        final Settings settings = Settings.builder()
+            .put(PageCacheRecycler.OFF_HEAP_ENABLED_SETTING.getKey(), true)
+            .put(HierarchyCircuitBreakerService.USE_REAL_MEMORY_USAGE_SETTING.getKey(), false)
+            .build();
+        final HierarchyCircuitBreakerService hcbs = new HierarchyCircuitBreakerService(
+            settings,
+            Collections.emptyList(),
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        final BigArrays bigArrays = new BigArrays(new PageCacheRecycler(settings), hcbs, CircuitBreaker.REQUEST).withCircuitBreaking();
+        final CircuitBreaker requestBreaker = hcbs.getBreaker(CircuitBreaker.REQUEST);
+        final CircuitBreaker offHeapBreaker = hcbs.getBreaker(CircuitBreaker.OFF_HEAP);
+
+        // small arrays stay on heap until they are grown past half a page
+        LongArray longs = bigArrays.newLongArray(randomIntBetween(1, PageCacheRecycler.LONG_PAGE_SIZE / 2 - 1));
+        final long[] expectedLongs = new long[randomIntBetween(PageCacheRecycler.LONG_PAGE_SIZE, 3 * PageCacheRecycler.LONG_PAGE_SIZE)];
+        for (int i = 0; i < longs.size(); ++i) {
+            expectedLongs[i] = randomLong();
+            longs.set(i, expectedLongs[i]);
+        }
+        longs = bigArrays.grow(longs, expectedLongs.length);
+        assertThat(longs, instanceOf(OffHeapBigLongArray.class));
+        for (long i = longs.size() - 1; i >= 0 && i >= expectedLongs.length; --i) {
+            assertEquals(0L, longs.get(i));
+        }
+        for (int i = 0; i < expectedLongs.length; ++i) {
+            if (randomBoolean()) {
+                expectedLongs[i] += i;
+                longs.increment(i, i);
+            }
+            assertEquals(expectedLongs[i], longs.get(i));
+        }
+
+        final DoubleArray doubles = bigArrays.newDoubleArray(randomIntBetween(PageCacheRecycler.DOUBLE_PAGE_SIZE, 100000));
+        assertThat(doubles, instanceOf(OffHeapBigDoubleArray.class));
+        doubles.fill(0, doubles.size(), 1.5d);
+        doubles.increment(doubles.size() - 1, 1d);
+        assertEquals(1.5d, doubles.get(0), 0d);
+        assertEquals(2.5d, doubles.get(doubles.size() - 1), 0d);
+
+        final IntArray ints = bigArrays.newIntArray(randomIntBetween(PageCacheRecycler.INT_PAGE_SIZE, 100000));
+        assertThat(ints, instanceOf(OffHeapBigIntArray.class));
+        ints.set(ints.size() - 1, 42);
+        assertEquals(42, ints.get(ints.size() - 1));
+
+        assertEquals(0, requestBreaker.getUsed());
+        assertEquals(longs.ramBytesUsed() + doubles.ramBytesUsed() + ints.ramBytesUsed(), offHeapBreaker.getUsed());
+        Releasables.close(longs, doubles, ints);
+        assertEquals(0, offHeapBreaker.getUsed());
+    }
+
+    public void testOffHeapBreakerTripsBeforeThePoolRunsOut() {
+        final int maxPages = randomIntBetween(4, 16);
+        final Settings settings = Settings.builder()
+            .put(PageCacheRecycler.OFF_HEAP_ENABLED_SETTING.getKey(), true)
+            .put(PageCacheRecycler.LIMIT_OFF_HEAP_SETTING.getKey(), (long) maxPages * PageCacheRecycler.PAGE_SIZE_IN_BYTES + "b")
+            .put(HierarchyCircuitBreakerService.USE_REAL_MEMORY_USAGE_SETTING.getKey(), false)
+            .build();
+        final HierarchyCircuitBreakerService hcbs = new HierarchyCircuitBreakerService(
+            settings,
+            Collections.emptyList(),
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        final PageCacheRecycler recycler = new PageCacheRecycler(settings);
+        final BigArrays bigArrays = new BigArrays(recycler, hcbs, CircuitBreaker.REQUEST).withCircuitBreaking();
+        final CircuitBreaker offHeapBreaker = hcbs.getBreaker(CircuitBreaker.OFF_HEAP);
+
+        final LongArray longs = bigArrays.newLongArray((long) (maxPages - 1) * PageCacheRecycler.LONG_PAGE_SIZE);
+        assertThat(longs, instanceOf(OffHeapBigLongArray.class));
+        assertEquals(maxPages - 1, recycler.directPageCount());
+
+        // the breaker defaults to the size of the pool, so neither a new array nor growing one past the pool gets to allocate pages
+        expectThrows(CircuitBreakingException.class, () -> bigArrays.newDoubleArray(2L * PageCacheRecycler.DOUBLE_PAGE_SIZE));
+        assertEquals(longs.ramBytesUsed(), offHeapBreaker.getUsed());
+        final long tooManyLongs = (long) (maxPages + 1) * PageCacheRecycler.LONG_PAGE_SIZE;
+        expectThrows(CircuitBreakingException.class, () -> bigArrays.resize(longs, tooManyLongs));
+        assertEquals(longs.ramBytesUsed(), offHeapBreaker.getUsed());
+        assertEquals(maxPages - 1, recycler.directPageCount());
+        assertEquals(2, offHeapBreaker.getTrippedCount());
+
+        // released pages go back to the pool and are reused rather than left to the garbage collector
+        longs.close();
+        assertEquals(0, offHeapBreaker.getUsed());
+        final DoubleArray doubles = bigArrays.newDoubleArray((long) maxPages * PageCacheRecycler.DOUBLE_PAGE_SIZE);
+        assertEquals(maxPages, recycler.directPageCount());
+        doubles.close();
+        assertEquals(0, offHeapBreaker.getUsed());
+        assertEquals(maxPages, recycler.directPageCount());
+    }
+
+    public void testGrowOffHeapArrayAfterFailedGrow() {
+        final int maxPages = randomIntBetween(4, 16);
+        final Settings settings = Settings.builder()
+            .put(PageCacheRecycler.OFF_HEAP_ENABLED_SETTING.getKey(), true)
+            .put(PageCacheRecycler.LIMIT_OFF_HEAP_SETTING.getKey(), (long) maxPages * PageCacheRecycler.PAGE_SIZE_IN_BYTES + "b")
+            .put(HierarchyCircuitBreakerService.USE_REAL_MEMORY_USAGE_SETTING.getKey(), false)
+            .build();
+        // two breaker services share the pool, so the breaker of either one lets through more pages than are left in the pool
+        final PageCacheRecycler recycler = new PageCacheRecycler(settings);
+        final BigArrays[] bigArrays = new BigArrays[2];
+        for (int i = 0; i < bigArrays.length; i++) {
+            final HierarchyCircuitBreakerService hcbs = new HierarchyCircuitBreakerService(
+                settings,
+                Collections.emptyList(),
+                new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+            );
+            bigArrays[i] = new BigArrays(recycler, hcbs, CircuitBreaker.REQUEST).withCircuitBreaking();
+        }
+        final LongArray other = bigArrays[0].newLongArray(2L * PageCacheRecycler.LONG_PAGE_SIZE);
+        final LongArray longs = bigArrays[1].newLongArray(PageCacheRecycler.LONG_PAGE_SIZE);
+        assertThat(longs, instanceOf(OffHeapBigLongArray.class));
+        final long size = longs.size();
+        longs.set(size - 1, 42L);
+
+        // runs out of pages half way through and gives back the pages it got
+        final long maxLongs = (long) maxPages * PageCacheRecycler.LONG_PAGE_SIZE;
+        expectThrows(CircuitBreakingException.class, () -> bigArrays[1].resize(longs, maxLongs));
+        assertEquals(size, longs.size());
+        assertEquals(maxPages, recycler.directPageCount());
+
+        // growing again once there are enough pages fills all pages in between
+        other.close();
+        final LongArray grown = bigArrays[1].resize(longs, maxLongs - PageCacheRecycler.LONG_PAGE_SIZE);
+        assertEquals(42L, grown.get(size - 1));
+        for (long i = size; i < grown.size(); i += PageCacheRecycler.LONG_PAGE_SIZE) {
+            grown.set(i, i);
+            assertEquals(i, grown.get(i));
+        }
+        grown.close();
+        assertEquals(maxPages, recycler.directPageCount());
+    }
+
     public void testEstimatedBytesSameAsActualBytes() throws Exception {
         final int maxSize = 1 << scaledRandomIntBetween(15, 22);
         final long size = randomIntBetween((1 << 14) + 1, maxSize);
@@ -0,0 +1,113 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.common.util.concurrent;
+
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.core.Tuple;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class DelayedIOProcessorTests extends ESTestCase {
+
+    public void testGroupsItemsWithinDelay() {
+        DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        TimeValue delay = TimeValue.timeValueMillis(randomLongBetween(1, 100));
+        List<List<Integer>> writes = new ArrayList<>();
+        Map<Integer, Long> completedAt = new HashMap<>();
+        int items = randomIntBetween(1, 10);
+        DelayedIOProcessor<Integer> processor = new DelayedIOProcessor<>(logger, taskQueue.getThreadPool(), ThreadPool.Names.GENERIC) {
+            @Override
+            protected void write(List<Tuple<Integer, Consumer<Exception>>> candidates) {
+                writes.add(candidates.stream().map(Tuple::v1).toList());
+                if (writes.size() == 1) {
+                    // arrives while the first group is being written
+                    put(items, delay, e -> completedAt.put(items, taskQueue.getCurrentTimeMillis()));
+                }
+            }
+        };
+
+        long start = taskQueue.getCurrentTimeMillis();
+        for (int i = 0; i < items; i++) {
+            int item = i;
+            processor.put(item, delay, e -> {
+                assertNull(e);
+                completedAt.put(item, taskQueue.getCurrentTimeMillis());
+            });
+        }
+        taskQueue.runAllRunnableTasks();
+        assertThat("nothing is written before the delay elapsed", writes, empty());
+        assertThat(completedAt, anEmptyMap());
+
+        taskQueue.advanceTime();
+        taskQueue.runAllRunnableTasks();
+        assertThat(taskQueue.getCurrentTimeMillis(), equalTo(start + delay.millis()));
+        assertThat("all items are written together", writes, hasSize(1));
+        assertThat(writes.get(0), hasSize(items));
+        for (int i = 0; i < items; i++) {
+            assertThat("item [" + i + "] waits a single delay", completedAt.get(i), equalTo(start + delay.millis()));
+        }
+
+        // the item that arrived during the write forms a new group that waits one delay from its arrival, not two
+        taskQueue.runAllTasks();
+        assertThat(writes, hasSize(2));
+        assertThat(writes.get(1), contains(items));
+        assertThat(completedAt.get(items), equalTo(start + 2 * delay.millis()));
+    }
+
+    public void testNotifiesAllItemsOfFailure() {
+        DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        IOException failure = new IOException("boom");
+        DelayedIOProcessor<Integer> processor = new DelayedIOProcessor<>(logger, taskQueue.getThreadPool(), ThreadPool.Names.GENERIC) {
+            @Override
+            protected void write(List<Tuple<Integer, Consumer<Exception>>> candidates) throws IOException {
+                throw failure;
+            }
+        };
+        int items = randomIntBetween(1, 10);
+        List<Exception> notified = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            processor.put(i, TimeValue.timeValueMillis(10), notified::add);
+        }
+        taskQueue.runAllTasks();
+        assertThat(notified, hasSize(items));
+        for (Exception e : notified) {
+            assertThat(e, sameInstance(failure));
+        }
+    }
+
+    public void testPreservesThreadContext() {
+        DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        ThreadContext threadContext = taskQueue.getThreadPool().getThreadContext();
+        DelayedIOProcessor<Integer> processor = new DelayedIOProcessor<>(logger, taskQueue.getThreadPool(), ThreadPool.Names.GENERIC) {
+            @Override
+            protected void write(List<Tuple<Integer, Consumer<Exception>>> candidates) {}
+        };
+        AtomicReference<String> header = new AtomicReference<>();
+        try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+            threadContext.putHeader("header", "value");
+            processor.put(1, TimeValue.timeValueMillis(10), e -> header.set(threadContext.getHeader("header")));
+        }
+        taskQueue.runAllTasks();
+        assertThat(header.get(), equalTo("value"));
+    }
+}
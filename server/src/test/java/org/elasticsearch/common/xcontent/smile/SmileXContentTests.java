@@ -11,11 +11,21 @@ package org.elasticsearch.common.xcontent.smile;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.xcontent.BaseXContentTestCase;
+import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
 import org.elasticsearch.xcontent.XContentType;
+import org.elasticsearch.xcontent.smile.SmileXContent;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
 
 public class SmileXContentTests extends BaseXContentTestCase {
 
@@ -30,6 +40,36 @@ public class SmileXContentTests extends BaseXContentTestCase {
         doTestBigInteger(generator, os);
     }
 
+    public void testRepeatedStringValuesAreSharedInResponses() throws Exception {
+        int hits = 1000;
+        BytesReference bytes = BytesReference.bytes(hits(XContentBuilder.builder(SmileXContent.smileResponseXContent), hits));
+        // each value takes a one or two byte back reference rather than being repeated
+        assertThat(bytes.length(), lessThan(hits * 10));
+
+        try (XContentParser parser = createParser(xcontentType().xContent(), bytes)) {
+            List<?> parsed = (List<?>) parser.map().get("hits");
+            assertThat(parsed.size(), equalTo(hits));
+            for (Object hit : parsed) {
+                assertThat(hit, equalTo(Map.of("_index", "my-index-000001", "tag", "the-same-tag")));
+            }
+        }
+    }
+
+    public void testRepeatedStringValuesAreNotSharedByDefault() throws Exception {
+        int hits = 1000;
+        BytesReference bytes = BytesReference.bytes(hits(builder(), hits));
+        // both values are written out in full for every hit
+        assertThat(bytes.length(), greaterThan(hits * ("my-index-000001".length() + "the-same-tag".length())));
+    }
+
+    private static XContentBuilder hits(XContentBuilder builder, int hits) throws IOException {
+        builder.startObject().startArray("hits");
+        for (int i = 0; i < hits; i++) {
+            builder.startObject().field("_index", "my-index-000001").field("tag", "the-same-tag").endObject();
+        }
+        return builder.endArray().endObject();
+    }
+
     public void testAllowsDuplicates() throws Exception {
         try (XContentParser xParser = createParser(builder().startObject().endObject())) {
             expectThrows(UnsupportedOperationException.class, () -> xParser.allowDuplicateKeys(true));
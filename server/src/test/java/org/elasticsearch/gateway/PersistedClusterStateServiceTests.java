@@ -87,6 +87,7 @@ import static org.elasticsearch.gateway.PersistedClusterStateService.INDEX_TYPE_
 import static org.elasticsearch.gateway.PersistedClusterStateService.IS_LAST_PAGE;
 import static org.elasticsearch.gateway.PersistedClusterStateService.IS_NOT_LAST_PAGE;
 import static org.elasticsearch.gateway.PersistedClusterStateService.LAST_PAGE_FIELD_NAME;
+import static org.elasticsearch.gateway.PersistedClusterStateService.MAPPING_TYPE_NAME;
 import static org.elasticsearch.gateway.PersistedClusterStateService.METADATA_DIRECTORY_NAME;
 import static org.elasticsearch.gateway.PersistedClusterStateService.PAGE_FIELD_NAME;
 import static org.elasticsearch.gateway.PersistedClusterStateService.TYPE_FIELD_NAME;
@@ -96,6 +97,7 @@ import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
 
 public class PersistedClusterStateServiceTests extends ESTestCase {
@@ -987,6 +989,74 @@ public class PersistedClusterStateServiceTests extends ESTestCase {
         }
     }
 
+    public void testDeduplicatesMappingsAcrossIndices() throws IOException {
+        final Path[] dataPaths = createDataPaths();
+        try (NodeEnvironment nodeEnvironment = newNodeEnvironment(dataPaths)) {
+            final PersistedClusterStateService persistedClusterStateService = newPersistedClusterStateService(nodeEnvironment);
+
+            final String sharedMapping = """
+                {"_doc":{"properties":{"@timestamp":{"type":"date"},"message":{"type":"text"}}}}""";
+            final String otherMapping = """
+                {"_doc":{"properties":{"value":{"type":"long"}}}}""";
+
+            final Metadata.Builder metadata = Metadata.builder();
+            final int sharingIndices = between(2, 10);
+            for (int i = 0; i < sharingIndices; i++) {
+                metadata.put(indexWithMapping("shared-" + i, sharedMapping), false);
+            }
+            metadata.put(indexWithMapping("other", otherMapping), false);
+            final ClusterState clusterState = clusterStateFromMetadata(1L, metadata.build());
+
+            try (Writer writer = persistedClusterStateService.createWriter()) {
+                writer.writeFullStateAndCommit(0L, clusterState);
+                assertThat(countMappingDocuments(dataPaths[0]), equalTo(2));
+
+                final ClusterState loadedState = loadPersistedClusterState(persistedClusterStateService);
+                assertEquals(clusterState.metadata().indices(), loadedState.metadata().indices());
+                for (int i = 1; i < sharingIndices; i++) {
+                    assertThat(
+                        loadedState.metadata().index("shared-" + i).mapping(),
+                        sameInstance(loadedState.metadata().index("shared-0").mapping())
+                    );
+                }
+
+                // removing the only index which uses a mapping also removes the mapping
+                final ClusterState newClusterState = clusterStateFromMetadata(
+                    2L,
+                    Metadata.builder(clusterState.metadata()).remove("other").build()
+                );
+                writer.writeIncrementalStateAndCommit(0L, clusterState, newClusterState);
+                assertThat(countMappingDocuments(dataPaths[0]), equalTo(1));
+                assertEquals(
+                    newClusterState.metadata().indices(),
+                    loadPersistedClusterState(persistedClusterStateService).metadata().indices()
+                );
+            }
+        }
+    }
+
+    private static IndexMetadata indexWithMapping(String name, String mapping) {
+        return IndexMetadata.builder(name)
+            .settings(
+                Settings.builder()
+                    .put(IndexMetadata.INDEX_NUMBER_OF_SHARDS_SETTING.getKey(), 1)
+                    .put(IndexMetadata.INDEX_NUMBER_OF_REPLICAS_SETTING.getKey(), 0)
+                    .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetadata.SETTING_INDEX_UUID, UUIDs.randomBase64UUID(random()))
+            )
+            .putMapping(mapping)
+            .build();
+    }
+
+    private static int countMappingDocuments(Path dataPath) throws IOException {
+        try (
+            Directory directory = new NIOFSDirectory(dataPath.resolve(METADATA_DIRECTORY_NAME));
+            DirectoryReader reader = DirectoryReader.open(directory)
+        ) {
+            return new IndexSearcher(reader).count(new TermQuery(new Term(TYPE_FIELD_NAME, MAPPING_TYPE_NAME)));
+        }
+    }
+
     public void testReloadsMetadataAcrossMultipleSegments() throws IOException {
         try (NodeEnvironment nodeEnvironment = newNodeEnvironment(createDataPaths())) {
             final PersistedClusterStateService persistedClusterStateService = newPersistedClusterStateService(nodeEnvironment);
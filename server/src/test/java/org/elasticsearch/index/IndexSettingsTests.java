@@ -278,6 +278,34 @@ public class IndexSettingsTests extends ESTestCase {
         assertEquals(Translog.Durability.REQUEST, settings.getTranslogDurability()); // test default
     }
 
+    public void testUpdateTranslogGroupCommitDelay() {
+        IndexMetadata metadata = newIndexMeta(
+            "index",
+            Settings.builder()
+                .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                .put(IndexSettings.INDEX_TRANSLOG_GROUP_COMMIT_DELAY_SETTING.getKey(), "5ms")
+                .build()
+        );
+        IndexSettings settings = new IndexSettings(metadata, Settings.EMPTY);
+        assertEquals(TimeValue.timeValueMillis(5), settings.getTranslogGroupCommitDelay());
+        settings.updateIndexMetadata(
+            newIndexMeta("index", Settings.builder().put(IndexSettings.INDEX_TRANSLOG_GROUP_COMMIT_DELAY_SETTING.getKey(), "20ms").build())
+        );
+        assertEquals(TimeValue.timeValueMillis(20), settings.getTranslogGroupCommitDelay());
+
+        metadata = newIndexMeta("index", Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT).build());
+        settings = new IndexSettings(metadata, Settings.EMPTY);
+        assertEquals(TimeValue.ZERO, settings.getTranslogGroupCommitDelay()); // test default
+
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> IndexSettings.INDEX_TRANSLOG_GROUP_COMMIT_DELAY_SETTING.get(
+                Settings.builder().put(IndexSettings.INDEX_TRANSLOG_GROUP_COMMIT_DELAY_SETTING.getKey(), "1s").build()
+            )
+        );
+        assertThat(e.getMessage(), containsString("index.translog.group_commit_delay"));
+    }
+
     public void testIsWarmerEnabled() {
         IndexMetadata metadata = newIndexMeta(
             "index",
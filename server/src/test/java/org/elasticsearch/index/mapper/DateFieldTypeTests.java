@@ -46,6 +46,7 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Collections.emptyMap;
 
@@ -145,6 +146,21 @@ public class DateFieldTypeTests extends FieldTypeTestCase {
         assertEquals(Relation.INTERSECTS, ft.isFieldWithinQuery(reader, "2015-10-12", "2016-04-03", true, false, zone, null, context));
     }
 
+    public void testIsFieldWithinQueryWithRoundedNowKeepsContextCacheable() {
+        DateFieldType ft = new DateFieldType("my_date");
+        long day = TimeUnit.DAYS.toMillis(1);
+
+        SearchExecutionContext context = createSearchExecutionContext();
+        assertEquals(Relation.WITHIN, ft.isFieldWithinQuery(-day, 0, "now-7d/d", "now/d", true, true, null, null, context));
+        assertTrue(context.isCacheable());
+        assertEquals(List.of(-7 * day, day - 1), context.getResolvedRoundedDateMath());
+
+        context = createSearchExecutionContext();
+        assertEquals(Relation.WITHIN, ft.isFieldWithinQuery(-day, 0, "now-7d", "now", true, true, null, null, context));
+        assertFalse(context.isCacheable());
+        assertEquals(List.of(), context.getResolvedRoundedDateMath());
+    }
+
     public void testValueFormat() {
         MappedFieldType ft = new DateFieldType("field");
         long instant = DateFormatters.from(DateFieldMapper.DEFAULT_DATE_TIME_FORMATTER.parse("2015-10-12T14:10:55"))
@@ -426,4 +442,33 @@ public class DateFieldTypeTests extends FieldTypeTestCase {
         MappedFieldType nullValueMapper = fieldType(Resolution.NANOSECONDS, "strict_date_time||epoch_millis", nullValueDate);
         assertEquals(List.of(nullValueDate), fetchSourceValue(nullValueMapper, null));
     }
+
+    private SearchExecutionContext createSearchExecutionContext() {
+        Settings indexSettings = Settings.builder()
+            .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+            .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+            .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 1)
+            .build();
+        return new SearchExecutionContext(
+            0,
+            0,
+            new IndexSettings(IndexMetadata.builder("foo").settings(indexSettings).build(), indexSettings),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            parserConfig(),
+            writableRegistry(),
+            null,
+            null,
+            () -> nowInMillis,
+            null,
+            null,
+            () -> true,
+            null,
+            emptyMap()
+        );
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.elasticsearch.index.fielddata.IndexFieldDataCache;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.search.lookup.SourceLookup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class DocValueFetcherTests extends MapperServiceTestCase {
+    public void testFetchValuesInBulkMatchesOneAtATime() throws IOException {
+        MapperService mapperService = createMapperService(mapping(b -> b.startObject("field").field("type", "long").endObject()));
+        MappedFieldType ft = mapperService.fieldType("field");
+        List<ParsedDocument> docs = List.of(
+            mapperService.documentMapper().parse(source(b -> b.array("field", 2, 1))),
+            mapperService.documentMapper().parse(source(b -> {})),
+            mapperService.documentMapper().parse(source(b -> b.field("field", 5)))
+        );
+        withLuceneIndex(mapperService, iw -> iw.addDocuments(docs.stream().map(ParsedDocument::rootDoc).toList()), reader -> {
+            assertThat(reader.leaves().size(), equalTo(1));
+            LeafReaderContext context = reader.leaves().get(0);
+
+            int[] docIds = new int[] { 0, 1, 2, 2 };
+            DocValueFetcher bulk = fetcher(ft);
+            bulk.setNextReader(context);
+            List<List<Object>> bulkValues = bulk.fetchValues(docIds);
+
+            DocValueFetcher single = fetcher(ft);
+            single.setNextReader(context);
+            SourceLookup lookup = new SourceLookup();
+            List<List<Object>> singleValues = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                lookup.setSegmentAndDocument(context, i);
+                singleValues.add(single.fetchValues(lookup, new ArrayList<>()));
+            }
+            singleValues.add(singleValues.get(2));
+
+            assertThat(bulkValues, equalTo(singleValues));
+            assertThat(bulkValues, equalTo(List.of(List.of(1L, 2L), List.of(), List.of(5L), List.of(5L))));
+        });
+    }
+
+    private static DocValueFetcher fetcher(MappedFieldType ft) {
+        return new DocValueFetcher(
+            ft.docValueFormat(null, null),
+            ft.fielddataBuilder("test", () -> null).build(new IndexFieldDataCache.None(), new NoneCircuitBreakerService())
+        );
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.core.CheckedConsumer;
+import org.elasticsearch.index.fieldvisitor.FieldsVisitor;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class SourceLoaderTests extends MapperServiceTestCase {
+    public void testNonSynthetic() throws IOException {
+        MapperService mapperService = createMapperService(mapping(b -> b.startObject("o").field("type", "keyword").endObject()));
+        assertThat(mapperService.mappingLookup().newSourceLoader(), sameInstance(SourceLoader.FROM_STORED_SOURCE));
+    }
+
+    public void testKeywordAndNumbers() throws IOException {
+        MapperService mapperService = createSyntheticMapperService(mapping(b -> {
+            b.startObject("kwd").field("type", "keyword").endObject();
+            b.startObject("l").field("type", "long").endObject();
+            b.startObject("d").field("type", "double").endObject();
+        }));
+        assertThat(
+            syntheticSource(mapperService, b -> b.field("kwd", "foo").field("l", 7).field("d", 1.5)),
+            equalTo("{\"d\":1.5,\"kwd\":\"foo\",\"l\":7}")
+        );
+        assertThat(
+            syntheticSource(mapperService, b -> b.array("kwd", "foo", "bar", "foo").array("l", 3, 1)),
+            equalTo("{\"kwd\":[\"bar\",\"foo\"],\"l\":[1,3]}")
+        );
+        assertThat(syntheticSource(mapperService, b -> {}), equalTo("{}"));
+    }
+
+    public void testDate() throws IOException {
+        MapperService mapperService = createSyntheticMapperService(mapping(b -> b.startObject("date").field("type", "date").endObject()));
+        assertThat(
+            syntheticSource(mapperService, b -> b.field("date", "2022-01-02T03:04:05.678Z")),
+            equalTo("{\"date\":\"2022-01-02T03:04:05.678Z\"}")
+        );
+    }
+
+    public void testObjects() throws IOException {
+        MapperService mapperService = createSyntheticMapperService(mapping(b -> {
+            b.startObject("foo").startObject("properties");
+            {
+                b.startObject("bar").field("type", "keyword").endObject();
+                b.startObject("baz").startObject("properties");
+                {
+                    b.startObject("n").field("type", "integer").endObject();
+                }
+                b.endObject().endObject();
+            }
+            b.endObject().endObject();
+        }));
+        assertThat(syntheticSource(mapperService, b -> {
+            b.startObject("foo").field("bar", "a");
+            b.startObject("baz").field("n", 1).endObject();
+            b.endObject();
+        }), equalTo("{\"foo\":{\"bar\":\"a\",\"baz\":{\"n\":1}}}"));
+        // objects without any values are left out
+        assertThat(
+            syntheticSource(mapperService, b -> b.startObject("foo").field("bar", "a").endObject()),
+            equalTo("{\"foo\":{\"bar\":\"a\"}}")
+        );
+    }
+
+    public void testSourceIsNotStored() throws IOException {
+        DocumentMapper mapper = createSyntheticMapperService(mapping(b -> b.startObject("kwd").field("type", "keyword").endObject()))
+            .documentMapper();
+        ParsedDocument doc = mapper.parse(source(b -> b.field("kwd", "foo")));
+        assertNull(doc.rootDoc().getField(SourceFieldMapper.NAME));
+        assertNotNull(doc.rootDoc().getField(SourceFieldMapper.RECOVERY_SOURCE_NAME));
+    }
+
+    public void testUnsupportedFields() {
+        Exception e = expectThrows(
+            IllegalArgumentException.class,
+            () -> createSyntheticMapperService(mapping(b -> b.startObject("txt").field("type", "text").endObject()))
+        );
+        assertThat(e.getMessage(), equalTo("field [txt] of type [text] doesn't support synthetic source"));
+
+        e = expectThrows(
+            IllegalArgumentException.class,
+            () -> createSyntheticMapperService(
+                mapping(b -> b.startObject("kwd").field("type", "keyword").field("doc_values", false).endObject())
+            )
+        );
+        assertThat(
+            e.getMessage(),
+            equalTo("field [kwd] of type [keyword] doesn't support synthetic source because it doesn't have doc values")
+        );
+
+        e = expectThrows(
+            IllegalArgumentException.class,
+            () -> createSyntheticMapperService(mapping(b -> b.startObject("n").field("type", "nested").endObject()))
+        );
+        assertThat(e.getMessage(), equalTo("field [n] of type [nested] doesn't support synthetic source"));
+    }
+
+    public void testCopyTo() throws IOException {
+        // the target's doc values would hold the copied values too, so the rebuilt _source wouldn't match what was sent
+        Exception e = expectThrows(IllegalArgumentException.class, () -> createSyntheticMapperService(mapping(b -> {
+            b.startObject("kwd").field("type", "keyword").field("copy_to", "copy").endObject();
+            b.startObject("copy").field("type", "keyword").endObject();
+        })));
+        assertThat(
+            e.getMessage(),
+            equalTo("field [kwd] of type [keyword] doesn't support synthetic source because it declares copy_to")
+        );
+
+        e = expectThrows(IllegalArgumentException.class, () -> createSyntheticMapperService(mapping(b -> {
+            b.startObject("l").field("type", "long").field("copy_to", "copy").endObject();
+            b.startObject("copy").field("type", "long").endObject();
+        })));
+        assertThat(e.getMessage(), equalTo("field [l] of type [long] doesn't support synthetic source because it declares copy_to"));
+
+        // sending the copy explicitly round trips
+        MapperService mapperService = createSyntheticMapperService(mapping(b -> {
+            b.startObject("kwd").field("type", "keyword").endObject();
+            b.startObject("copy").field("type", "keyword").endObject();
+        }));
+        assertThat(
+            syntheticSource(mapperService, b -> b.field("copy", "foo").field("kwd", "foo")),
+            equalTo("{\"copy\":\"foo\",\"kwd\":\"foo\"}")
+        );
+    }
+
+    private MapperService createSyntheticMapperService(XContentBuilder mapping) throws IOException {
+        MapperService mapperService = createMapperService(topMapping(b -> b.startObject("_source").field("synthetic", true).endObject()));
+        merge(mapperService, mapping);
+        return mapperService;
+    }
+
+    private String syntheticSource(MapperService mapperService, CheckedConsumer<XContentBuilder, IOException> build) throws IOException {
+        ParsedDocument doc = mapperService.documentMapper().parse(source(build));
+        String[] result = new String[1];
+        withLuceneIndex(mapperService, iw -> iw.addDocument(doc.rootDoc()), (IndexReader reader) -> {
+            assertThat(reader.leaves().size(), equalTo(1));
+            LeafReader leaf = reader.leaves().get(0).reader();
+            FieldsVisitor fieldsVisitor = new FieldsVisitor(true);
+            leaf.document(0, fieldsVisitor);
+            assertNull(fieldsVisitor.source());
+            SourceLoader.Leaf loader = mapperService.mappingLookup().newSourceLoader().leaf(leaf);
+            result[0] = loader.source(fieldsVisitor, 0).utf8ToString();
+        });
+        return result[0];
+    }
+}
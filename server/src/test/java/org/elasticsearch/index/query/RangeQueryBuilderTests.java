@@ -38,8 +38,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.elasticsearch.index.query.QueryBuilders.rangeQuery;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 
 public class RangeQueryBuilderTests extends AbstractQueryTestCase<RangeQueryBuilder> {
@@ -614,5 +616,15 @@ public class RangeQueryBuilderTests extends AbstractQueryTestCase<RangeQueryBuil
         rewriteQuery = rewriteQuery(queryBuilder, new SearchExecutionContext(context));
         assertNotNull(rewriteQuery.toQuery(context));
         assertFalse("query should not be cacheable: " + queryBuilder.toString(), context.isCacheable());
+        assertThat(context.getResolvedRoundedDateMath(), empty());
+
+        // unless "now" is rounded, in which case the resolved bounds become part of the cache key
+        queryBuilder = new RangeQueryBuilder(randomFrom(DATE_FIELD_NAME, DATE_ALIAS_FIELD_NAME));
+        queryBuilder.from("now-7d/d").to(randomFrom("now/d", "2100-01-01", null));
+        context = createSearchExecutionContext();
+        // rewrite and build the query on the context whose cacheability decides whether the request cache is used
+        assertNotNull(context.toQuery(queryBuilder));
+        assertTrue("query should be cacheable: " + queryBuilder.toString(), context.isCacheable());
+        assertThat(context.getResolvedRoundedDateMath(), not(empty()));
     }
 }
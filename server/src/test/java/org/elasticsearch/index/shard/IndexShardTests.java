@@ -1542,6 +1542,29 @@ public class IndexShardTests extends IndexShardTestCase {
         closeShards(shard);
     }
 
+    public void testAsyncFsyncWithGroupCommitDelay() throws Exception {
+        IndexShard shard = newStartedShard(
+            true,
+            Settings.builder().put(IndexSettings.INDEX_TRANSLOG_GROUP_COMMIT_DELAY_SETTING.getKey(), "10ms").build()
+        );
+        final int numDocs = randomIntBetween(1, 10);
+        final CountDownLatch latch = new CountDownLatch(numDocs);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int i = 0; i < numDocs; i++) {
+            final Engine.IndexResult result = indexDoc(shard, "_doc", Integer.toString(i));
+            shard.sync(result.getTranslogLocation(), e -> {
+                if (e != null) {
+                    failure.set(e);
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertNull(failure.get());
+
+        closeShards(shard);
+    }
+
     public void testShardStats() throws IOException {
 
         IndexShard shard = newStartedShard();
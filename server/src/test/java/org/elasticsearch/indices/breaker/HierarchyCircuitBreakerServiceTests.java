@@ -16,6 +16,7 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.MemorySizeValue;
+import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.monitor.jvm.JvmInfo;
 import org.elasticsearch.search.aggregations.MultiBucketConsumerService;
@@ -874,4 +875,40 @@ public class HierarchyCircuitBreakerServiceTests extends ESTestCase {
             );
         }
     }
+
+    public void testOffHeapLimitCantExceedThePool() {
+        final String offHeapLimitSetting = HierarchyCircuitBreakerService.OFF_HEAP_CIRCUIT_BREAKER_LIMIT_SETTING.getKey();
+        final Settings settings = Settings.builder()
+            .put(PageCacheRecycler.OFF_HEAP_ENABLED_SETTING.getKey(), true)
+            .put(PageCacheRecycler.LIMIT_OFF_HEAP_SETTING.getKey(), "64mb")
+            .build();
+        final ClusterSettings clusterSettings = new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> new HierarchyCircuitBreakerService(
+                Settings.builder().put(settings).put(offHeapLimitSetting, "65mb").build(),
+                Collections.emptyList(),
+                clusterSettings
+            )
+        );
+        assertThat(e.getMessage(), containsString("[" + offHeapLimitSetting + "] must be between [0b] and"));
+
+        try (
+            HierarchyCircuitBreakerService service = new HierarchyCircuitBreakerService(settings, Collections.emptyList(), clusterSettings)
+        ) {
+            // defaults to the size of the pool
+            assertEquals(ByteSizeValue.ofMb(64).getBytes(), service.getBreaker(CircuitBreaker.OFF_HEAP).getLimit());
+
+            clusterSettings.applySettings(Settings.builder().put(offHeapLimitSetting, "32mb").build());
+            assertEquals(ByteSizeValue.ofMb(32).getBytes(), service.getBreaker(CircuitBreaker.OFF_HEAP).getLimit());
+
+            final String tooHigh = randomFrom("65mb", "-1");
+            expectThrows(
+                IllegalArgumentException.class,
+                () -> clusterSettings.applySettings(Settings.builder().put(offHeapLimitSetting, tooHigh).build())
+            );
+            assertEquals(ByteSizeValue.ofMb(32).getBytes(), service.getBreaker(CircuitBreaker.OFF_HEAP).getLimit());
+        }
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.indices.recovery;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.store.StoreFileMetadata;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.VersionUtils;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class RecoveryFileChunkRequestTests extends ESTestCase {
+
+    public void testSerialization() throws Exception {
+        final Version version = VersionUtils.randomCompatibleVersion(random(), Version.CURRENT);
+        final byte[] bytes = randomByteArrayOfLength(between(0, 1024));
+        final StoreFileMetadata metadata = new StoreFileMetadata(
+            randomAlphaOfLength(10),
+            between(bytes.length, 1 << 20),
+            randomAlphaOfLength(8),
+            org.apache.lucene.util.Version.LATEST.toString()
+        );
+        final RecoveryFileChunkRequest outRequest = new RecoveryFileChunkRequest(
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            new ShardId("test", "_na_", 0),
+            metadata,
+            randomNonNegativeLong(),
+            ReleasableBytesReference.wrap(new BytesArray(bytes)),
+            randomBoolean(),
+            randomIntBetween(0, 1000),
+            randomNonNegativeLong()
+        );
+
+        final BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(version);
+        outRequest.writeTo(out);
+
+        final BytesStreamOutput thinOut = new BytesStreamOutput();
+        thinOut.setVersion(version);
+        final BytesReference payload = outRequest.writeWithoutPayload(thinOut);
+        if (version.onOrAfter(RecoveryFileChunkRequest.CONTENT_LAST_VERSION)) {
+            assertThat(payload, equalTo(outRequest.content()));
+        } else {
+            assertThat(payload.length(), equalTo(0));
+        }
+        payload.writeTo(thinOut);
+        assertThat(thinOut.bytes(), equalTo(out.bytes()));
+
+        final StreamInput in = out.bytes().streamInput();
+        in.setVersion(version);
+        final RecoveryFileChunkRequest inRequest = new RecoveryFileChunkRequest(in);
+        assertThat(inRequest.recoveryId(), equalTo(outRequest.recoveryId()));
+        assertThat(inRequest.requestSeqNo(), equalTo(outRequest.requestSeqNo()));
+        assertThat(inRequest.shardId(), equalTo(outRequest.shardId()));
+        assertThat(inRequest.metadata().name(), equalTo(metadata.name()));
+        assertThat(inRequest.metadata().length(), equalTo(metadata.length()));
+        assertThat(inRequest.metadata().checksum(), equalTo(metadata.checksum()));
+        assertThat(inRequest.metadata().writtenBy(), equalTo(metadata.writtenBy()));
+        assertThat(inRequest.position(), equalTo(outRequest.position()));
+        assertThat(inRequest.content(), equalTo(outRequest.content()));
+        assertThat(inRequest.lastChunk(), equalTo(outRequest.lastChunk()));
+        assertThat(inRequest.totalTranslogOps(), equalTo(outRequest.totalTranslogOps()));
+        assertThat(inRequest.sourceThrottleTimeInNanos(), equalTo(outRequest.sourceThrottleTimeInNanos()));
+        outRequest.decRef();
+        inRequest.decRef();
+    }
+}
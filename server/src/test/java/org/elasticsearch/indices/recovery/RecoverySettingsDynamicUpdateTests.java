@@ -72,4 +72,14 @@ public class RecoverySettingsDynamicUpdateTests extends ESTestCase {
         );
         assertEquals(new TimeValue(duration, timeUnit), recoverySettings.internalActionLongTimeout());
     }
+
+    public void testMaxConcurrentFileChunks() {
+        int maxConcurrentFileChunks = between(1, 16);
+        clusterSettings.applySettings(
+            Settings.builder()
+                .put(RecoverySettings.INDICES_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS_SETTING.getKey(), maxConcurrentFileChunks)
+                .build()
+        );
+        assertEquals(maxConcurrentFileChunks, recoverySettings.getMaxConcurrentFileChunks());
+    }
 }
@@ -9,9 +9,11 @@
 package org.elasticsearch.ingest;
 
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.test.ESTestCase;
 import org.junit.Before;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -20,6 +22,7 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -411,6 +414,182 @@ public class CompoundProcessorTests extends ESTestCase {
         assertThat(ingestProcessorException.getHeader("pipeline_origin"), equalTo(List.of("2", "1")));
     }
 
+    public void testExecuteBatch() {
+        List<Integer> batchSizes = new ArrayList<>();
+        Processor first = new AbstractProcessor("first", null) {
+            @Override
+            public void executeBatch(List<IngestDocument> ingestDocuments, Consumer<List<Tuple<IngestDocument, Exception>>> handler) {
+                batchSizes.add(ingestDocuments.size());
+                super.executeBatch(ingestDocuments, handler);
+            }
+
+            @Override
+            public IngestDocument execute(IngestDocument ingestDocument) {
+                if (ingestDocument.getFieldValue("id", Integer.class) == 1) {
+                    throw new RuntimeException("error");
+                }
+                return ingestDocument;
+            }
+
+            @Override
+            public String getType() {
+                return "first";
+            }
+        };
+        TestProcessor second = new TestProcessor(null, "second", null, (Function<IngestDocument, IngestDocument>) doc -> {
+            if (doc.getFieldValue("id", Integer.class) == 2) {
+                return null;
+            }
+            doc.setFieldValue("second", true);
+            return doc;
+        });
+        TestProcessor onFailure = new TestProcessor(doc -> doc.setFieldValue("failed", true));
+        LongSupplier relativeTimeProvider = mock(LongSupplier.class);
+        when(relativeTimeProvider.getAsLong()).thenReturn(0L);
+        CompoundProcessor compoundProcessor = new CompoundProcessor(
+            false,
+            List.of(first, second),
+            List.of(onFailure),
+            relativeTimeProvider
+        );
+
+        List<IngestDocument> ingestDocuments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ingestDocuments.add(new IngestDocument(new HashMap<>(Map.of("id", i)), new HashMap<>()));
+        }
+        List<List<Tuple<IngestDocument, Exception>>> holder = new ArrayList<>();
+        compoundProcessor.executeBatch(ingestDocuments, holder::add);
+
+        assertThat(holder, hasSize(1));
+        List<Tuple<IngestDocument, Exception>> results = holder.get(0);
+        assertThat(results, hasSize(3));
+        assertThat(results.get(0).v1(), sameInstance(ingestDocuments.get(0)));
+        assertThat(results.get(0).v1().getFieldValue("second", Boolean.class), is(true));
+        assertThat(results.get(1).v1(), sameInstance(ingestDocuments.get(1)));
+        assertThat(results.get(1).v1().getFieldValue("failed", Boolean.class), is(true));
+        assertThat(results.get(1).v1().hasField("second"), is(false));
+        assertThat(results.get(2).v1(), nullValue());
+        for (Tuple<IngestDocument, Exception> result : results) {
+            assertThat(result.v2(), nullValue());
+        }
+
+        assertThat(batchSizes, equalTo(List.of(3)));
+        assertThat(second.getInvokedCounter(), equalTo(2));
+        assertThat(onFailure.getInvokedCounter(), equalTo(1));
+        assertStats(0, compoundProcessor, 0L, 3, 1, 0);
+        assertStats(1, compoundProcessor, 0L, 2, 0, 0);
+    }
+
+    public void testExecuteBatchWithoutOnFailure() {
+        TestProcessor processor = new TestProcessor(doc -> {
+            if (doc.getFieldValue("id", Integer.class) == 0) {
+                throw new RuntimeException("error");
+            }
+        });
+        CompoundProcessor compoundProcessor = new CompoundProcessor(processor);
+        List<IngestDocument> ingestDocuments = List.of(
+            new IngestDocument(new HashMap<>(Map.of("id", 0)), new HashMap<>()),
+            new IngestDocument(new HashMap<>(Map.of("id", 1)), new HashMap<>())
+        );
+        List<List<Tuple<IngestDocument, Exception>>> holder = new ArrayList<>();
+        compoundProcessor.executeBatch(ingestDocuments, holder::add);
+
+        assertThat(holder, hasSize(1));
+        List<Tuple<IngestDocument, Exception>> results = holder.get(0);
+        assertThat(results.get(0).v1(), nullValue());
+        assertThat(((ElasticsearchException) results.get(0).v2()).getRootCause().getMessage(), equalTo("error"));
+        assertThat(results.get(1).v1(), sameInstance(ingestDocuments.get(1)));
+        assertThat(results.get(1).v2(), nullValue());
+    }
+
+    public void testProcessorCompletingAfterExecuteReturned() {
+        List<String> calls = new ArrayList<>();
+        List<Runnable> pending = new ArrayList<>();
+        Processor async = new AbstractProcessor(null, null) {
+            @Override
+            public void execute(IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
+                calls.add("async");
+                pending.add(() -> handler.accept(ingestDocument, null));
+            }
+
+            @Override
+            public IngestDocument execute(IngestDocument ingestDocument) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String getType() {
+                return "async";
+            }
+        };
+        TestProcessor first = new TestProcessor(doc -> calls.add("first"));
+        TestProcessor last = new TestProcessor(doc -> calls.add("last"));
+        LongSupplier relativeTimeProvider = mock(LongSupplier.class);
+        when(relativeTimeProvider.getAsLong()).thenReturn(0L);
+        CompoundProcessor compoundProcessor = new CompoundProcessor(relativeTimeProvider, first, async, last);
+
+        List<IngestDocument> holder = new ArrayList<>();
+        compoundProcessor.execute(ingestDocument, (result, e) -> {
+            assertThat(e, nullValue());
+            holder.add(result);
+        });
+        assertThat(calls, equalTo(List.of("first", "async")));
+        assertThat(holder, hasSize(0));
+        assertStats(1, compoundProcessor, 1L, 1, 0, 0);
+
+        assertThat(pending, hasSize(1));
+        pending.get(0).run();
+        assertThat(calls, equalTo(List.of("first", "async", "last")));
+        assertThat(holder, equalTo(List.of(ingestDocument)));
+        assertStats(0, compoundProcessor, 0L, 1, 0, 0);
+        assertStats(1, compoundProcessor, 0L, 1, 0, 0);
+        assertStats(2, compoundProcessor, 0L, 1, 0, 0);
+    }
+
+    public void testMixedSynchronousAndAsyncProcessors() {
+        List<String> calls = new ArrayList<>();
+        Processor async = new AbstractProcessor(null, null) {
+            @Override
+            public void execute(IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
+                calls.add("async");
+                handler.accept(ingestDocument, null);
+            }
+
+            @Override
+            public IngestDocument execute(IngestDocument ingestDocument) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String getType() {
+                return "async";
+            }
+        };
+        TestProcessor first = new TestProcessor(doc -> calls.add("first"));
+        TestProcessor failing = new TestProcessor(doc -> {
+            calls.add("failing");
+            throw new RuntimeException("error");
+        });
+        TestProcessor last = new TestProcessor(doc -> calls.add("last"));
+        LongSupplier relativeTimeProvider = mock(LongSupplier.class);
+        when(relativeTimeProvider.getAsLong()).thenReturn(0L);
+        CompoundProcessor compoundProcessor = new CompoundProcessor(
+            true,
+            List.of(first, async, failing, last),
+            List.of(),
+            relativeTimeProvider
+        );
+
+        IngestDocument[] holder = new IngestDocument[1];
+        compoundProcessor.execute(ingestDocument, (result, e) -> holder[0] = result);
+        assertThat(holder[0], sameInstance(ingestDocument));
+        assertThat(calls, equalTo(List.of("first", "async", "failing", "last")));
+        assertStats(0, compoundProcessor, 0L, 1, 0, 0);
+        assertStats(1, compoundProcessor, 0L, 1, 0, 0);
+        assertStats(2, compoundProcessor, 0L, 1, 1, 0);
+        assertStats(3, compoundProcessor, 0L, 1, 0, 0);
+    }
+
     private void assertStats(CompoundProcessor compoundProcessor, long count, long failed, long time) {
         assertStats(0, compoundProcessor, 0L, count, failed, time);
     }
@@ -29,7 +29,9 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
 
 import static org.hamcrest.Matchers.equalTo;
@@ -280,6 +282,49 @@ public class ConditionalProcessorTests extends ESTestCase {
         assertStats(processor, 0, 0, 0);
     }
 
+    public void testConsecutiveProcessorsShareConditionResult() {
+        AtomicInteger evaluations = new AtomicInteger();
+        ScriptService scriptService = new ScriptService(
+            Settings.builder().build(),
+            Collections.singletonMap(
+                Script.DEFAULT_SCRIPT_LANG,
+                new MockScriptEngine(Script.DEFAULT_SCRIPT_LANG, Collections.singletonMap(scriptName, ctx -> {
+                    evaluations.incrementAndGet();
+                    return true;
+                }), Collections.emptyMap())
+            ),
+            new HashMap<>(ScriptModule.CORE_CONTEXTS),
+            () -> 1L
+        );
+        List<String> calls = new ArrayList<>();
+        Function<String, Processor> conditional = name -> new ConditionalProcessor(
+            randomAlphaOfLength(10),
+            "description",
+            new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptName, Collections.emptyMap()),
+            scriptService,
+            new TestProcessor(doc -> {
+                calls.add(name);
+                if (name.equals("modifying")) {
+                    doc.setFieldValue("foo", "bar");
+                }
+            })
+        );
+        CompoundProcessor compoundProcessor = new CompoundProcessor(
+            conditional.apply("first"),
+            conditional.apply("second"),
+            conditional.apply("modifying"),
+            conditional.apply("after_change"),
+            new TestProcessor(doc -> calls.add("unconditional")),
+            conditional.apply("not_consecutive")
+        );
+
+        IngestDocument ingestDocument = RandomDocumentPicks.randomIngestDocument(random(), new HashMap<>());
+        compoundProcessor.execute(ingestDocument, (result, e) -> assertNull(e));
+        assertThat(calls, equalTo(List.of("first", "second", "modifying", "after_change", "unconditional", "not_consecutive")));
+        // evaluated for "first", again after the document changed, and again after an unconditional processor
+        assertThat(evaluations.get(), equalTo(3));
+    }
+
     private static void assertStats(ConditionalProcessor conditionalProcessor, long count, long failed, long time) {
         IngestStats.Stats stats = conditionalProcessor.getMetric().createStats();
         assertThat(stats.getIngestCount(), equalTo(count));
@@ -8,9 +8,15 @@
 
 package org.elasticsearch.ingest;
 
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.core.CheckedConsumer;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xcontent.XContentType;
 import org.junit.Before;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
@@ -27,6 +33,7 @@ import static org.elasticsearch.ingest.IngestDocumentMatcher.assertIngestDocumen
 import static org.hamcrest.Matchers.both;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
@@ -1082,4 +1089,107 @@ public class IngestDocumentTests extends ESTestCase {
         );
     }
 
+    public void testUpdatedSourceAppendsNewFields() throws IOException {
+        BytesReference original = new BytesArray("{\"message\":\"hello\",\"obj\":{\"a\":1}} ");
+        IngestDocument document = trackedDocument(original);
+        assertThat(document.getFieldValue("message", String.class), equalTo("hello"));
+        document.setFieldValue("added", "value");
+        document.setFieldValue("nested.field", 2);
+        document.setFieldValue("_index", "other-index");
+        document.setFieldValue("_ingest.key", "ignored");
+        document.extractMetadata();
+        BytesReference updated = document.updatedSource(original, XContentType.JSON);
+        assertThat(
+            updated.utf8ToString(),
+            equalTo("{\"message\":\"hello\",\"obj\":{\"a\":1},\"added\":\"value\",\"nested\":{\"field\":2}}")
+        );
+
+        BytesReference empty = new BytesArray("{}");
+        document = trackedDocument(empty);
+        document.setFieldValue("added", "value");
+        document.extractMetadata();
+        assertThat(document.updatedSource(empty, XContentType.JSON).utf8ToString(), equalTo("{\"added\":\"value\"}"));
+    }
+
+    public void testUpdatedSourceReusesUnchangedSource() throws IOException {
+        BytesReference original = new BytesArray("{\"message\":\"hello\"}");
+        IngestDocument document = trackedDocument(original);
+        document.getFieldValue("message", String.class);
+        document.extractMetadata();
+        assertThat(document.updatedSource(original, XContentType.JSON), sameInstance(original));
+    }
+
+    public void testUpdatedSourceEncodesSourceWithComments() throws IOException {
+        List<String> sources = List.of(
+            "{\"message\":\"hello\"} // }",
+            "{\"message\":\"hello\"} /* } */",
+            "{\"message\":\"hello\" /* } */}",
+            "// {\n{\"message\":\"hello\"}"
+        );
+        for (String json : sources) {
+            BytesReference original = new BytesArray(json);
+            IngestDocument document = trackedDocument(original);
+            document.setFieldValue("added", "value");
+            document.extractMetadata();
+            BytesReference updated = document.updatedSource(original, XContentType.JSON);
+            assertThat(json, updated.utf8ToString(), not(containsString("/")));
+            Map<String, Object> expected = Map.of("message", "hello", "added", "value");
+            assertThat(json, XContentHelper.convertToMap(updated, false, XContentType.JSON).v2(), equalTo(expected));
+        }
+    }
+
+    public void testRootObjectEnd() {
+        assertThat(IngestDocument.rootObjectEnd(new BytesArray("{}")), equalTo(1));
+        assertThat(IngestDocument.rootObjectEnd(new BytesArray(" {\"a\":{\"b\":[1]}} \n")), equalTo(15));
+        assertThat(IngestDocument.rootObjectEnd(new BytesArray("{\"url\":\"http://a/}\\\"#\"}")), equalTo(22));
+        assertThat(IngestDocument.rootObjectEnd(new BytesArray("{\"a\":1} // }")), equalTo(-1));
+        assertThat(IngestDocument.rootObjectEnd(new BytesArray("{\"a\":1} # }")), equalTo(-1));
+        assertThat(IngestDocument.rootObjectEnd(new BytesArray("{\"a\":1}}")), equalTo(-1));
+        assertThat(IngestDocument.rootObjectEnd(new BytesArray("[{}]")), equalTo(-1));
+    }
+
+    public void testUpdatedSourceEncodesChangedSource() throws IOException {
+        BytesReference original = new BytesArray("{\"message\":\"hello\",\"obj\":{\"a\":1},\"other\":true}");
+        List<CheckedConsumer<IngestDocument, Exception>> changes = List.of(
+            d -> d.setFieldValue("message", "bye"),
+            d -> d.setFieldValue("obj.b", 2),
+            d -> d.removeField("other"),
+            d -> d.getFieldValue("obj", Map.class),
+            d -> d.getSourceAndMetadata()
+        );
+        for (CheckedConsumer<IngestDocument, Exception> change : changes) {
+            IngestDocument document = trackedDocument(original);
+            document.setFieldValue("added", "value");
+            change.accept(document);
+            document.extractMetadata();
+            BytesReference updated = document.updatedSource(original, XContentType.JSON);
+            assertThat(XContentHelper.convertToMap(updated, false, XContentType.JSON).v2(), equalTo(document.getSourceAndMetadata()));
+        }
+    }
+
+    public void testModificationCount() {
+        long count = ingestDocument.getModificationCount();
+        ingestDocument.getFieldValue("foo", String.class);
+        ingestDocument.getUnmodifiableSourceAndMetadata();
+        assertThat(ingestDocument.getModificationCount(), equalTo(count));
+
+        ingestDocument.setFieldValue("foo", "baz");
+        assertThat(ingestDocument.getModificationCount(), greaterThan(count));
+        count = ingestDocument.getModificationCount();
+
+        // the caller may change the returned map in place
+        ingestDocument.getFieldValue("fizz", Map.class);
+        assertThat(ingestDocument.getModificationCount(), greaterThan(count));
+        count = ingestDocument.getModificationCount();
+
+        ingestDocument.getSourceAndMetadata();
+        assertThat(ingestDocument.getModificationCount(), greaterThan(count));
+    }
+
+    private static IngestDocument trackedDocument(BytesReference source) {
+        Map<String, Object> sourceAsMap = XContentHelper.convertToMap(source, false, XContentType.JSON).v2();
+        IngestDocument document = new IngestDocument("index", "id", null, null, null, sourceAsMap);
+        document.trackSourceChanges(sourceAsMap);
+        return document;
+    }
 }
@@ -96,6 +96,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
@@ -1227,7 +1228,7 @@ public class IngestServiceTests extends ESTestCase {
     }
 
     public void testExecuteSuccessWithOnFailure() throws Exception {
-        final Processor processor = mock(Processor.class);
+        final Processor processor = mockProcessor(Processor.class);
         when(processor.getType()).thenReturn("mock_processor_type");
         when(processor.getTag()).thenReturn("mock_processor_tag");
         doAnswer(args -> {
@@ -1237,7 +1238,7 @@ public class IngestServiceTests extends ESTestCase {
             return null;
         }).when(processor).execute(eqIndexTypeId(emptyMap()), any());
 
-        final Processor onFailureProcessor = mock(Processor.class);
+        final Processor onFailureProcessor = mockProcessor(Processor.class);
         doAnswer(args -> {
             IngestDocument ingestDocument = (IngestDocument) args.getArguments()[0];
             @SuppressWarnings("unchecked")
@@ -1284,9 +1285,9 @@ public class IngestServiceTests extends ESTestCase {
     }
 
     public void testExecuteFailureWithNestedOnFailure() throws Exception {
-        final Processor processor = mock(Processor.class);
-        final Processor onFailureProcessor = mock(Processor.class);
-        final Processor onFailureOnFailureProcessor = mock(Processor.class);
+        final Processor processor = mockProcessor(Processor.class);
+        final Processor onFailureProcessor = mockProcessor(Processor.class);
+        final Processor onFailureOnFailureProcessor = mockProcessor(Processor.class);
         final List<Processor> processors = Collections.singletonList(onFailureProcessor);
         final List<Processor> onFailureProcessors = Collections.singletonList(onFailureOnFailureProcessor);
         final CompoundProcessor compoundProcessor = new CompoundProcessor(
@@ -1356,7 +1357,7 @@ public class IngestServiceTests extends ESTestCase {
             bulkRequest.add(request);
         }
 
-        CompoundProcessor processor = mock(CompoundProcessor.class);
+        CompoundProcessor processor = mockProcessor(CompoundProcessor.class);
         when(processor.getProcessors()).thenReturn(Collections.singletonList(mock(Processor.class)));
         Exception error = new RuntimeException();
         doAnswer(args -> {
@@ -1412,7 +1413,7 @@ public class IngestServiceTests extends ESTestCase {
             bulkRequest.add(indexRequest);
         }
 
-        final Processor processor = mock(Processor.class);
+        final Processor processor = mockProcessor(Processor.class);
         when(processor.getType()).thenReturn("mock");
         when(processor.getTag()).thenReturn("mockTag");
         doAnswer(args -> {
@@ -1454,9 +1455,86 @@ public class IngestServiceTests extends ESTestCase {
         }
     }
 
+    public void testBulkRequestExecutesInBoundedBatches() throws Exception {
+        int numRequest = randomIntBetween(IngestService.MAX_BATCH_SIZE + 1, 3 * IngestService.MAX_BATCH_SIZE);
+        BulkRequest bulkRequest = new BulkRequest();
+        for (int i = 0; i < numRequest; i++) {
+            IndexRequest indexRequest = new IndexRequest("_index").id(Integer.toString(i)).setPipeline("_id").setFinalPipeline("_none");
+            bulkRequest.add(indexRequest.source(emptyMap()));
+        }
+
+        // holds on to each batch so that the test decides when it completes
+        List<Runnable> inFlight = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        Processor processor = new Processor() {
+            @Override
+            public void executeBatch(List<IngestDocument> ingestDocuments, Consumer<List<Tuple<IngestDocument, Exception>>> handler) {
+                batchSizes.add(ingestDocuments.size());
+                List<Tuple<IngestDocument, Exception>> results = ingestDocuments.stream()
+                    .map(d -> Tuple.<IngestDocument, Exception>tuple(d, null))
+                    .toList();
+                inFlight.add(() -> handler.accept(results));
+            }
+
+            @Override
+            public IngestDocument execute(IngestDocument ingestDocument) {
+                throw new UnsupportedOperationException("this method should not get executed");
+            }
+
+            @Override
+            public String getType() {
+                return "batch";
+            }
+
+            @Override
+            public String getTag() {
+                return null;
+            }
+
+            @Override
+            public String getDescription() {
+                return null;
+            }
+        };
+        IngestService ingestService = createWithProcessors(Map.of("batch", (factories, tag, description, config) -> processor));
+        PutPipelineRequest putRequest = new PutPipelineRequest("_id", new BytesArray("""
+            {"processors": [{"batch": {}}]}"""), XContentType.JSON);
+        ClusterState clusterState = ClusterState.builder(new ClusterName("_name")).build();
+        ClusterState previousClusterState = clusterState;
+        clusterState = IngestService.innerPut(putRequest, clusterState);
+        ingestService.applyClusterState(new ClusterChangedEvent("", clusterState, previousClusterState));
+
+        @SuppressWarnings("unchecked")
+        BiConsumer<Integer, Exception> requestItemErrorHandler = mock(BiConsumer.class);
+        @SuppressWarnings("unchecked")
+        final BiConsumer<Thread, Exception> completionHandler = mock(BiConsumer.class);
+        ingestService.executeBulkRequest(
+            numRequest,
+            bulkRequest.requests(),
+            requestItemErrorHandler,
+            completionHandler,
+            indexReq -> {},
+            Names.WRITE
+        );
+
+        int batches = 0;
+        while (inFlight.isEmpty() == false) {
+            assertThat("the next batch only starts once the previous one completed", inFlight.size(), equalTo(1));
+            inFlight.remove(0).run();
+            batches++;
+        }
+        assertThat(batches, equalTo((numRequest + IngestService.MAX_BATCH_SIZE - 1) / IngestService.MAX_BATCH_SIZE));
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum(), equalTo(numRequest));
+        for (int batchSize : batchSizes) {
+            assertThat(batchSize, lessThanOrEqualTo(IngestService.MAX_BATCH_SIZE));
+        }
+        verify(requestItemErrorHandler, never()).accept(any(), any());
+        verify(completionHandler, times(1)).accept(Thread.currentThread(), null);
+    }
+
     public void testStats() throws Exception {
-        final Processor processor = mock(Processor.class);
-        final Processor processorFailure = mock(Processor.class);
+        final Processor processor = mockProcessor(Processor.class);
+        final Processor processorFailure = mockProcessor(Processor.class);
         when(processor.getType()).thenReturn("mock");
         when(processor.getTag()).thenReturn("mockTag");
         when(processorFailure.getType()).thenReturn("failure-mock");
@@ -2165,8 +2243,28 @@ public class IngestServiceTests extends ESTestCase {
         }), client);
     }
 
+    /**
+     * Mocks don't run {@link Processor#executeBatch} so route it through the per document execute method that the tests stub.
+     */
+    private static <T extends Processor> T mockProcessor(Class<T> type) {
+        T processor = mock(type);
+        doAnswer(args -> {
+            @SuppressWarnings("unchecked")
+            List<IngestDocument> ingestDocuments = (List<IngestDocument>) args.getArguments()[0];
+            @SuppressWarnings("unchecked")
+            Consumer<List<Tuple<IngestDocument, Exception>>> handler = (Consumer) args.getArguments()[1];
+            List<Tuple<IngestDocument, Exception>> results = new ArrayList<>(ingestDocuments.size());
+            for (IngestDocument ingestDocument : ingestDocuments) {
+                processor.execute(ingestDocument, (result, e) -> results.add(new Tuple<>(result, e)));
+            }
+            handler.accept(results);
+            return null;
+        }).when(processor).executeBatch(any(), any());
+        return processor;
+    }
+
     private CompoundProcessor mockCompoundProcessor() {
-        CompoundProcessor processor = mock(CompoundProcessor.class);
+        CompoundProcessor processor = mockProcessor(CompoundProcessor.class);
         doAnswer(args -> {
             @SuppressWarnings("unchecked")
             BiConsumer<IngestDocument, Exception> handler = (BiConsumer) args.getArguments()[1];
@@ -25,7 +25,9 @@ import org.junit.Before;
 
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 
@@ -116,6 +118,35 @@ public class ResponseCollectorServiceTests extends ESTestCase {
         }
     }
 
+    public void testExpiredNodeStatsAreProbedOnce() {
+        final AtomicLong nanoTime = new AtomicLong(randomLongBetween(0, Long.MAX_VALUE / 2));
+        final ResponseCollectorService collector = new ResponseCollectorService(clusterService, nanoTime::get);
+        final long ttlNanos = ResponseCollectorService.NODE_STATISTICS_TTL_SETTING.get(Settings.EMPTY).nanos();
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        assertTrue(collector.getNodeStatistics("node1").isPresent());
+
+        // estimated statistics do not keep the node's statistics from expiring
+        nanoTime.addAndGet(ttlNanos);
+        collector.adjustNodeStatistics("node1", 1, 100, 10);
+        assertTrue(collector.getNodeStatistics("node1").isPresent());
+        nanoTime.incrementAndGet();
+        assertFalse(collector.getNodeStatistics("node1").isPresent());
+        // only a single caller probes the node
+        assertTrue(collector.getNodeStatistics("node1").isPresent());
+        assertThat(collector.getAllNodeStatistics().keySet(), contains("node1"));
+
+        // sampled statistics do
+        nanoTime.addAndGet(ttlNanos);
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        nanoTime.addAndGet(ttlNanos);
+        assertTrue(collector.getNodeStatistics("node1").isPresent());
+
+        clusterService.getClusterSettings()
+            .applySettings(Settings.builder().put(ResponseCollectorService.NODE_STATISTICS_TTL_SETTING.getKey(), "0s").build());
+        nanoTime.addAndGet(ttlNanos * 2);
+        assertTrue(collector.getNodeStatistics("node1").isPresent());
+    }
+
     public void testNodeRemoval() throws Exception {
         collector.addNodeStatistics("node1", randomIntBetween(1, 100), randomIntBetween(1, 100), randomIntBetween(1, 100));
         collector.addNodeStatistics("node2", randomIntBetween(1, 100), randomIntBetween(1, 100), randomIntBetween(1, 100));
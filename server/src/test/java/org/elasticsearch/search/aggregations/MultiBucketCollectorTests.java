@@ -233,6 +233,47 @@ public class MultiBucketCollectorTests extends ESTestCase {
         }
     }
 
+    public void testCollectBlocks() throws IOException {
+        try (Directory dir = newDirectory()) {
+            RandomIndexWriter w = new RandomIndexWriter(random(), dir);
+            final int numDocs = randomIntBetween(100, 1000);
+            final Document doc = new Document();
+            for (int i = 0; i < numDocs; ++i) {
+                w.addDocument(doc);
+            }
+            w.forceMerge(1);
+            try (IndexReader reader = w.getReader()) {
+                w.close();
+                Map<TotalHitCountBucketCollector, Integer> expectedCounts = new HashMap<>();
+                List<BucketCollector> collectors = new ArrayList<>();
+                final int numCollectors = randomIntBetween(2, 5);
+                for (int i = 0; i < numCollectors; ++i) {
+                    final int terminateAfter = random().nextInt(numDocs + 10);
+                    TotalHitCountBucketCollector collector = new TotalHitCountBucketCollector();
+                    expectedCounts.put(collector, Math.min(terminateAfter, numDocs));
+                    collectors.add(new TerminateAfterBucketCollector(collector, terminateAfter));
+                }
+                LeafBucketCollector collector = MultiBucketCollector.wrap(false, collectors).getLeafCollector(reader.leaves().get(0));
+                final int[] docs = new int[randomIntBetween(1, 64)];
+                int next = 0;
+                try {
+                    while (next < numDocs) {
+                        int count = 0;
+                        while (count < docs.length && next < numDocs) {
+                            docs[count++] = next++;
+                        }
+                        collector.collect(docs, count, 0);
+                    }
+                } catch (CollectionTerminatedException e) {
+                    // all collectors terminated
+                }
+                for (Map.Entry<TotalHitCountBucketCollector, Integer> expectedCount : expectedCounts.entrySet()) {
+                    assertEquals(expectedCount.getValue().intValue(), expectedCount.getKey().getTotalHits());
+                }
+            }
+        }
+    }
+
     public void testSetScorerAfterCollectionTerminated() throws IOException {
         BucketCollector collector1 = new TotalHitCountBucketCollector();
         BucketCollector collector2 = new TotalHitCountBucketCollector();
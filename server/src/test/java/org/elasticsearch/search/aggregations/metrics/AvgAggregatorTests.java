@@ -219,6 +219,24 @@ public class AvgAggregatorTests extends AggregatorTestCase {
         verifyAvgOfDoubles(largeValues, Double.NEGATIVE_INFINITY, 0d);
     }
 
+    public void testBlockCollection() throws IOException {
+        MappedFieldType fieldType = new NumberFieldMapper.NumberFieldType("number", NumberFieldMapper.NumberType.DOUBLE);
+        blockCollectionTestCase(new AvgAggregationBuilder("_name").field("number"), iw -> {
+            int numDocs = randomIntBetween(1, 2000);
+            for (int i = 0; i < numDocs; i++) {
+                Document doc = new Document();
+                int numValues = randomIntBetween(0, 3);
+                for (int j = 0; j < numValues; j++) {
+                    double value = randomDoubleBetween(-100d, 100d, true);
+                    doc.add(new SortedNumericDocValuesField("number", NumericUtils.doubleToSortableLong(value)));
+                }
+                iw.addDocument(doc);
+            }
+        }, (Avg perDocument, Avg inBlocks) -> {
+            assertEquals(perDocument.getValue(), inBlocks.getValue(), 0d);
+        }, fieldType);
+    }
+
     public void testUnmappedField() throws IOException {
         AvgAggregationBuilder aggregationBuilder = new AvgAggregationBuilder("_name").field("number");
         testAggregation(aggregationBuilder, new DocValuesFieldExistsQuery("number"), iw -> {
@@ -111,6 +111,27 @@ public class StatsAggregatorTests extends AggregatorTestCase {
         });
     }
 
+    public void testBlockCollection() throws IOException {
+        final MappedFieldType ft = new NumberFieldMapper.NumberFieldType("field", NumberType.DOUBLE);
+        blockCollectionTestCase(stats("_name").field(ft.name()), iw -> {
+            int numDocs = randomIntBetween(1, 2000);
+            for (int i = 0; i < numDocs; i++) {
+                Document doc = new Document();
+                int numValues = randomIntBetween(0, 3);
+                for (int j = 0; j < numValues; j++) {
+                    double value = randomDoubleBetween(-100d, 100d, true);
+                    doc.add(new SortedNumericDocValuesField(ft.name(), NumericUtils.doubleToSortableLong(value)));
+                }
+                iw.addDocument(doc);
+            }
+        }, (Stats perDocument, Stats inBlocks) -> {
+            assertEquals(perDocument.getCount(), inBlocks.getCount());
+            assertEquals(perDocument.getSum(), inBlocks.getSum(), 0d);
+            assertEquals(perDocument.getMin(), inBlocks.getMin(), 0d);
+            assertEquals(perDocument.getMax(), inBlocks.getMax(), 0d);
+        }, ft);
+    }
+
     public void testSummationAccuracy() throws IOException {
         // Summing up a normal array and expect an accurate value
         double[] values = new double[] { 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0, 1.1, 1.2, 1.3, 1.4, 1.5, 1.6, 1.7 };
@@ -7,6 +7,7 @@
  */
 package org.elasticsearch.search.aggregations.metrics;
 
+import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedDocValuesField;
@@ -205,6 +206,24 @@ public class SumAggregatorTests extends AggregatorTestCase {
         }, result -> assertEquals(expected, result.value(), delta), defaultFieldType(NumberType.DOUBLE));
     }
 
+    public void testBlockCollection() throws IOException {
+        final MappedFieldType fieldType = defaultFieldType(NumberType.DOUBLE);
+        blockCollectionTestCase(sum("_name").field(FIELD_NAME), iw -> {
+            int numDocs = randomIntBetween(1, 2000);
+            for (int i = 0; i < numDocs; i++) {
+                Document doc = new Document();
+                int numValues = randomIntBetween(0, 3);
+                for (int j = 0; j < numValues; j++) {
+                    double value = randomDoubleBetween(-100d, 100d, true);
+                    doc.add(new SortedNumericDocValuesField(FIELD_NAME, NumericUtils.doubleToSortableLong(value)));
+                }
+                iw.addDocument(doc);
+            }
+        }, (Sum perDocument, Sum inBlocks) -> {
+            assertEquals(perDocument.value(), inBlocks.value(), 0d);
+        }, fieldType);
+    }
+
     public void testUnmapped() throws IOException {
         sumRandomDocsTestCase(randomIntBetween(1, 5), sum("_name").field("unknown_field"), (sum, docs, result) -> {
             assertEquals(0d, result.value(), 0d);
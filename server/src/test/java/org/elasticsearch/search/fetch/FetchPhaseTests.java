@@ -18,14 +18,29 @@ public class FetchPhaseTests extends ESTestCase {
             docs[i] = new FetchPhase.DocIdToIndex(start, i);
             ++start;
         }
-        assertTrue(FetchPhase.hasSequentialDocs(docs));
+        assertTrue(FetchPhase.hasDenseDocs(docs, 0, docs.length));
+        assertFalse(FetchPhase.hasDenseDocs(docs, 0, FetchPhase.DENSE_DOCS_MIN_COUNT - 1));
 
-        int from = randomIntBetween(0, 9);
-        start = docs[from].docId;
-        for (int i = from; i < 10; i++) {
-            start += randomIntBetween(2, 10);
+        start = docs[0].docId;
+        for (int i = 1; i < 10; i++) {
+            start += randomIntBetween(FetchPhase.DENSE_DOCS_MAX_SPAN_PER_DOC + 1, 10 * FetchPhase.DENSE_DOCS_MAX_SPAN_PER_DOC);
             docs[i] = new FetchPhase.DocIdToIndex(start, i);
         }
-        assertFalse(FetchPhase.hasSequentialDocs(docs));
+        assertFalse(FetchPhase.hasDenseDocs(docs, 0, docs.length));
+    }
+
+    public void testDenseDocs() {
+        final int count = randomIntBetween(FetchPhase.DENSE_DOCS_MIN_COUNT, 100);
+        final FetchPhase.DocIdToIndex[] docs = new FetchPhase.DocIdToIndex[count + 2];
+        // docs outside the range belong to other segments and are ignored
+        docs[0] = new FetchPhase.DocIdToIndex(0, 0);
+        int docId = randomIntBetween(1, Short.MAX_VALUE);
+        for (int i = 1; i <= count; i++) {
+            docs[i] = new FetchPhase.DocIdToIndex(docId, i);
+            docId += randomIntBetween(1, FetchPhase.DENSE_DOCS_MAX_SPAN_PER_DOC);
+        }
+        docs[count + 1] = new FetchPhase.DocIdToIndex(Integer.MAX_VALUE, count + 1);
+        assertTrue(FetchPhase.hasDenseDocs(docs, 1, count + 1));
+        assertFalse(FetchPhase.hasDenseDocs(docs, 0, count + 2));
     }
 }
@@ -62,6 +62,7 @@ public class ShardSearchRequestTests extends AbstractSearchTestCase {
             ShardSearchRequest::new
         );
         assertEquals(shardSearchTransportRequest, deserializedRequest);
+        assertEquals(shardSearchTransportRequest.getMinCompetitiveScore(), deserializedRequest.getMinCompetitiveScore(), 0f);
     }
 
     public void testClone() throws Exception {
@@ -69,6 +70,7 @@ public class ShardSearchRequestTests extends AbstractSearchTestCase {
             ShardSearchRequest shardSearchTransportRequest = createShardSearchRequest();
             ShardSearchRequest clone = new ShardSearchRequest(shardSearchTransportRequest);
             assertEquals(shardSearchTransportRequest, clone);
+            assertEquals(shardSearchTransportRequest.getMinCompetitiveScore(), clone.getMinCompetitiveScore(), 0f);
         }
     }
 
@@ -108,6 +110,9 @@ public class ShardSearchRequestTests extends AbstractSearchTestCase {
         if (randomBoolean()) {
             req.setBottomSortValues(SearchSortValuesAndFormatsTests.randomInstance());
         }
+        if (randomBoolean()) {
+            req.setMinCompetitiveScore(randomFloat());
+        }
         return req;
     }
 
@@ -226,6 +231,17 @@ public class ShardSearchRequestTests extends AbstractSearchTestCase {
         }
     }
 
+    public void testMinCompetitiveScoreIsPartOfCacheKey() throws IOException {
+        ShardSearchRequest request = createShardSearchRequest();
+        request.setMinCompetitiveScore(1.0f);
+        ShardSearchRequest copy = new ShardSearchRequest(request);
+        assertEquals(request.cacheKey(null), copy.cacheKey(null));
+        copy.setMinCompetitiveScore(2.0f);
+        assertNotEquals(request.cacheKey(null), copy.cacheKey(null));
+        copy.setMinCompetitiveScore(Float.NEGATIVE_INFINITY);
+        assertNotEquals(request.cacheKey(null), copy.cacheKey(null));
+    }
+
     public void testWillCallRequestCacheKeyDifferentiators() throws IOException {
         final ShardSearchRequest shardSearchRequest = createShardSearchRequest();
         final AtomicBoolean invoked = new AtomicBoolean(false);
@@ -634,6 +634,45 @@ public class QueryPhaseTests extends IndexShardTestCase {
         dir.close();
     }
 
+    public void testMinCompetitiveScoreFromCoordinator() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = newIndexWriterConfig(new StandardAnalyzer());
+        RandomIndexWriter w = new RandomIndexWriter(random(), dir, iwc);
+        Document doc = new Document();
+        for (int i = 0; i < 10; i++) {
+            doc.clear();
+            doc.add(new TextField("title", "foo", Store.NO));
+            w.addDocument(doc);
+        }
+        w.close();
+
+        IndexReader reader = DirectoryReader.open(dir);
+        TestSearchContext context = new TestSearchContext(null, indexShard, newContextSearcher(reader));
+        context.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+        context.parsedQuery(new ParsedQuery(new TermQuery(new Term("title", "foo"))));
+        context.setSize(3);
+        context.trackTotalHitsUpTo(SearchContext.TRACK_TOTAL_HITS_DISABLED);
+
+        QueryPhase.executeInternal(context);
+        assertThat(context.queryResult().topDocs().topDocs.scoreDocs.length, equalTo(3));
+
+        // no document can beat the bottom score of the shards that already returned
+        context.request().setMinCompetitiveScore(Float.MAX_VALUE);
+        TopDocsCollectorContext topDocsContext = TopDocsCollectorContext.createTopDocsCollectorContext(context, false);
+        assertThat(topDocsContext.create(null), instanceOf(MinCompetitiveScoreCollector.class));
+        QueryPhase.executeInternal(context);
+        assertThat(context.queryResult().topDocs().topDocs.scoreDocs.length, equalTo(0));
+
+        // the hint is ignored if hits need to be counted
+        context.trackTotalHitsUpTo(SearchContext.DEFAULT_TRACK_TOTAL_HITS_UP_TO);
+        QueryPhase.executeInternal(context);
+        assertThat(context.queryResult().topDocs().topDocs.scoreDocs.length, equalTo(3));
+        assertEquals(10, context.queryResult().topDocs().topDocs.totalHits.value);
+
+        reader.close();
+        dir.close();
+    }
+
     public void testNumericSortOptimization() throws Exception {
         final String fieldNameLong = "long-field";
         final String fieldNameDate = "date-field";
@@ -152,6 +152,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -814,6 +815,61 @@ public abstract class AggregatorTestCase extends ESTestCase {
         }
     }
 
+    /**
+     * Collect the same documents into two {@link Aggregator}s, one document at a time into the first
+     * and in blocks with {@link LeafBucketCollector#collect(int[], int, long)} into the second. Each
+     * block is a run of increasing doc ids that lands in a random bucket. The results for every bucket
+     * are handed to {@code verify}, first the one collected per document, then the one collected in
+     * blocks.
+     */
+    protected <R extends Aggregation> void blockCollectionTestCase(
+        AggregationBuilder builder,
+        CheckedConsumer<RandomIndexWriter, IOException> buildIndex,
+        BiConsumer<R, R> verify,
+        MappedFieldType... fieldTypes
+    ) throws IOException {
+        withIndex(buildIndex, searcher -> {
+            Aggregator perDocument = createAggregator(builder, searcher, fieldTypes);
+            Aggregator inBlocks = createAggregator(builder, searcher, fieldTypes);
+            long[] bucketOrds = new long[between(1, 5)];
+            for (int b = 0; b < bucketOrds.length; b++) {
+                bucketOrds[b] = b;
+            }
+            perDocument.preCollection();
+            inBlocks.preCollection();
+            for (LeafReaderContext ctx : searcher.getIndexReader().leaves()) {
+                LeafBucketCollector perDocumentCollector = perDocument.getLeafCollector(ctx);
+                LeafBucketCollector inBlocksCollector = inBlocks.getLeafCollector(ctx);
+                int doc = 0;
+                while (doc < ctx.reader().maxDoc()) {
+                    int[] docs = new int[between(1, 64)];
+                    int count = 0;
+                    long bucket = randomFrom(bucketOrds);
+                    while (count < docs.length && doc < ctx.reader().maxDoc()) {
+                        if (randomBoolean()) {
+                            docs[count++] = doc;
+                            perDocumentCollector.collect(doc, bucket);
+                        }
+                        doc++;
+                    }
+                    inBlocksCollector.collect(docs, count, bucket);
+                }
+            }
+            perDocument.postCollection();
+            inBlocks.postCollection();
+            InternalAggregation[] perDocumentResults = perDocument.buildAggregations(bucketOrds);
+            InternalAggregation[] inBlocksResults = inBlocks.buildAggregations(bucketOrds);
+            for (int b = 0; b < bucketOrds.length; b++) {
+                @SuppressWarnings("unchecked") // We'll get a cast error in the test if we're wrong here and that is ok
+                R perDocumentResult = (R) perDocumentResults[b];
+                @SuppressWarnings("unchecked")
+                R inBlocksResult = (R) inBlocksResults[b];
+                verify.accept(perDocumentResult, inBlocksResult);
+            }
+            Releasables.close(perDocument, inBlocks);
+        });
+    }
+
     private void verifyMetricNames(
         ValuesSourceAggregationBuilder.MetricsAggregationBuilder<?, ?> aggregationBuilder,
         InternalAggregation agg
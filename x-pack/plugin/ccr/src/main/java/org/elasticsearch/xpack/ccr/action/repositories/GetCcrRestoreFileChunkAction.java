@@ -23,6 +23,7 @@ import org.elasticsearch.tasks.Task;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.TransportActionProxy;
 import org.elasticsearch.transport.TransportService;
+import org.elasticsearch.transport.ZeroCopyWriteable;
 import org.elasticsearch.xpack.ccr.repository.CcrRestoreSourceService;
 
 import java.io.IOException;
@@ -79,7 +80,7 @@ public class GetCcrRestoreFileChunkAction extends ActionType<GetCcrRestoreFileCh
         }
     }
 
-    public static class GetCcrRestoreFileChunkResponse extends ActionResponse {
+    public static class GetCcrRestoreFileChunkResponse extends ActionResponse implements ZeroCopyWriteable {
 
         private final long offset;
         private final ReleasableBytesReference chunk;
@@ -109,6 +110,13 @@ public class GetCcrRestoreFileChunkAction extends ActionType<GetCcrRestoreFileCh
             out.writeBytesReference(chunk);
         }
 
+        @Override
+        public BytesReference writeWithoutPayload(StreamOutput out) throws IOException {
+            out.writeVLong(offset);
+            out.writeVInt(chunk.length());
+            return chunk;
+        }
+
         @Override
         public void incRef() {
             chunk.incRef();
@@ -151,6 +151,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
         private final TimedCounter optimizedBytesRead;
         private final Counter blobStoreBytesRequested;
         private final Counter luceneBytesRead;
+        private final Counter prefetchedBytes;
         private final long currentIndexCacheFills;
 
         public CacheIndexInputStats(
@@ -174,6 +175,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             TimedCounter optimizedBytesRead,
             Counter blobStoreBytesRequested,
             Counter luceneBytesRead,
+            Counter prefetchedBytes,
             long currentIndexCacheFills
         ) {
             this.fileExt = fileExt;
@@ -196,6 +198,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             this.optimizedBytesRead = optimizedBytesRead;
             this.blobStoreBytesRequested = blobStoreBytesRequested;
             this.luceneBytesRead = luceneBytesRead;
+            this.prefetchedBytes = prefetchedBytes;
             this.currentIndexCacheFills = currentIndexCacheFills;
         }
 
@@ -236,6 +239,11 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             } else {
                 this.luceneBytesRead = new Counter(0, 0, 0, 0);
             }
+            if (in.getVersion().onOrAfter(Version.V_8_2_0)) {
+                this.prefetchedBytes = new Counter(in);
+            } else {
+                this.prefetchedBytes = new Counter(0, 0, 0, 0);
+            }
             this.currentIndexCacheFills = in.readVLong();
         }
 
@@ -267,6 +275,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 cis1.optimizedBytesRead.add(cis2.optimizedBytesRead),
                 cis1.blobStoreBytesRequested.add(cis2.blobStoreBytesRequested),
                 cis1.luceneBytesRead.add(cis2.luceneBytesRead),
+                cis1.prefetchedBytes.add(cis2.prefetchedBytes),
                 cis1.currentIndexCacheFills + cis2.currentIndexCacheFills
             );
         }
@@ -306,6 +315,9 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             if (out.getVersion().onOrAfter(Version.V_7_13_0)) {
                 luceneBytesRead.writeTo(out);
             }
+            if (out.getVersion().onOrAfter(Version.V_8_2_0)) {
+                prefetchedBytes.writeTo(out);
+            }
             out.writeVLong(currentIndexCacheFills);
         }
 
@@ -394,6 +406,10 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             return luceneBytesRead;
         }
 
+        public Counter getPrefetchedBytes() {
+            return prefetchedBytes;
+        }
+
         public long getCurrentIndexCacheFills() {
             return currentIndexCacheFills;
         }
@@ -435,6 +451,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 }
                 builder.field("blob_store_bytes_requested", getBlobStoreBytesRequested(), params);
                 builder.field("lucene_bytes_read", getLuceneBytesRead(), params);
+                builder.field("prefetched_bytes", getPrefetchedBytes(), params);
                 builder.field("current_index_cache_fills", getCurrentIndexCacheFills());
             }
             return builder.endObject();
@@ -469,6 +486,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 && Objects.equals(optimizedBytesRead, stats.optimizedBytesRead)
                 && Objects.equals(blobStoreBytesRequested, stats.blobStoreBytesRequested)
                 && Objects.equals(luceneBytesRead, stats.luceneBytesRead)
+                && Objects.equals(prefetchedBytes, stats.prefetchedBytes)
                 && currentIndexCacheFills == stats.currentIndexCacheFills;
         }
 
@@ -495,6 +513,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 optimizedBytesRead,
                 blobStoreBytesRequested,
                 luceneBytesRead,
+                prefetchedBytes,
                 currentIndexCacheFills
             );
         }
@@ -8,6 +8,9 @@ package org.elasticsearch.xpack.enrich;
 
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.cluster.routing.Preference;
+import org.elasticsearch.common.util.concurrent.AtomicArray;
+import org.elasticsearch.common.util.concurrent.CountDown;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.query.ConstantScoreQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.ingest.AbstractProcessor;
@@ -17,9 +20,11 @@ import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.xpack.core.enrich.EnrichPolicy;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public abstract class AbstractEnrichProcessor extends AbstractProcessor {
 
@@ -61,58 +66,132 @@ public abstract class AbstractEnrichProcessor extends AbstractProcessor {
     public void execute(IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
         try {
             // If a document does not have the enrich key, return the unchanged document
-            String renderedField = ingestDocument.renderTemplate(this.field);
-            final Object value = ingestDocument.getFieldValue(renderedField, Object.class, ignoreMissing);
-            if (value == null) {
+            SearchRequest req = buildSearchRequest(ingestDocument);
+            if (req == null) {
                 handler.accept(ingestDocument, null);
                 return;
             }
 
-            QueryBuilder queryBuilder = getQueryBuilder(value);
-            ConstantScoreQueryBuilder constantScore = new ConstantScoreQueryBuilder(queryBuilder);
-            SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
-            searchBuilder.from(0);
-            searchBuilder.size(maxMatches);
-            searchBuilder.trackScores(false);
-            searchBuilder.fetchSource(true);
-            searchBuilder.query(constantScore);
-            SearchRequest req = new SearchRequest();
-            req.indices(EnrichPolicy.getBaseName(getPolicyName()));
-            req.preference(Preference.LOCAL.type());
-            req.source(searchBuilder);
-
             searchRunner.accept(req, (searchHits, e) -> {
                 if (e != null) {
                     handler.accept(null, e);
                     return;
                 }
-
-                // If the index is empty, return the unchanged document
-                // If the enrich key does not exist in the index, throw an error
-                // If no documents match the key, return the unchanged document
-                if (searchHits.size() < 1) {
-                    handler.accept(ingestDocument, null);
+                final IngestDocument result;
+                try {
+                    result = enrich(ingestDocument, searchHits);
+                } catch (Exception ex) {
+                    handler.accept(null, ex);
                     return;
                 }
+                handler.accept(result, null);
+            });
+        } catch (Exception e) {
+            handler.accept(null, e);
+        }
+    }
 
-                String renderedTargetField = ingestDocument.renderTemplate(this.targetField);
-                if (overrideEnabled || ingestDocument.hasField(renderedTargetField) == false) {
-                    if (maxMatches == 1) {
-                        Map<?, ?> firstDocument = searchHits.get(0);
-                        ingestDocument.setFieldValue(renderedTargetField, firstDocument);
-                    } else {
-                        List<Map<?, ?>> enrichDocuments = new ArrayList<>(searchHits.size());
-                        enrichDocuments.addAll(searchHits);
-                        ingestDocument.setFieldValue(renderedTargetField, enrichDocuments);
+    /**
+     * Runs a single lookup for all documents of the batch that share an enrich key rather than one for each document.
+     */
+    @Override
+    public void executeBatch(List<IngestDocument> ingestDocuments, Consumer<List<Tuple<IngestDocument, Exception>>> handler) {
+        if (ingestDocuments.isEmpty()) {
+            handler.accept(List.of());
+            return;
+        }
+        AtomicArray<Tuple<IngestDocument, Exception>> results = new AtomicArray<>(ingestDocuments.size());
+        Map<SearchRequest, List<Integer>> slotsByRequest = new LinkedHashMap<>();
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            IngestDocument ingestDocument = ingestDocuments.get(i);
+            try {
+                SearchRequest req = buildSearchRequest(ingestDocument);
+                if (req == null) {
+                    results.set(i, new Tuple<>(ingestDocument, null));
+                } else {
+                    slotsByRequest.computeIfAbsent(req, k -> new ArrayList<>()).add(i);
+                }
+            } catch (Exception e) {
+                results.set(i, new Tuple<>(null, e));
+            }
+        }
+        if (slotsByRequest.isEmpty()) {
+            handler.accept(results.asList());
+            return;
+        }
+
+        CountDown countDown = new CountDown(slotsByRequest.size());
+        for (Map.Entry<SearchRequest, List<Integer>> entry : slotsByRequest.entrySet()) {
+            List<Integer> slots = entry.getValue();
+            searchRunner.accept(entry.getKey(), (searchHits, e) -> {
+                for (int i = 0; i < slots.size(); i++) {
+                    int slot = slots.get(i);
+                    if (e != null) {
+                        results.set(slot, new Tuple<>(null, e));
+                        continue;
+                    }
+                    // every document needs its own copy of the hits because later processors may modify them
+                    List<Map<?, ?>> hits = i == 0 ? searchHits : EnrichCache.deepCopy(searchHits, false);
+                    try {
+                        results.set(slot, new Tuple<>(enrich(ingestDocuments.get(slot), hits), null));
+                    } catch (Exception ex) {
+                        results.set(slot, new Tuple<>(null, ex));
                     }
                 }
-                handler.accept(ingestDocument, null);
+                if (countDown.countDown()) {
+                    handler.accept(results.asList());
+                }
             });
-        } catch (Exception e) {
-            handler.accept(null, e);
         }
     }
 
+    /**
+     * Builds the lookup for a document or returns {@code null} if the document doesn't have the enrich key.
+     */
+    private SearchRequest buildSearchRequest(IngestDocument ingestDocument) {
+        String renderedField = ingestDocument.renderTemplate(this.field);
+        final Object value = ingestDocument.getFieldValue(renderedField, Object.class, ignoreMissing);
+        if (value == null) {
+            return null;
+        }
+
+        QueryBuilder queryBuilder = getQueryBuilder(value);
+        ConstantScoreQueryBuilder constantScore = new ConstantScoreQueryBuilder(queryBuilder);
+        SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        searchBuilder.from(0);
+        searchBuilder.size(maxMatches);
+        searchBuilder.trackScores(false);
+        searchBuilder.fetchSource(true);
+        searchBuilder.query(constantScore);
+        SearchRequest req = new SearchRequest();
+        req.indices(EnrichPolicy.getBaseName(getPolicyName()));
+        req.preference(Preference.LOCAL.type());
+        req.source(searchBuilder);
+        return req;
+    }
+
+    private IngestDocument enrich(IngestDocument ingestDocument, List<Map<?, ?>> searchHits) {
+        // If the index is empty, return the unchanged document
+        // If the enrich key does not exist in the index, throw an error
+        // If no documents match the key, return the unchanged document
+        if (searchHits.size() < 1) {
+            return ingestDocument;
+        }
+
+        String renderedTargetField = ingestDocument.renderTemplate(this.targetField);
+        if (overrideEnabled || ingestDocument.hasField(renderedTargetField) == false) {
+            if (maxMatches == 1) {
+                Map<?, ?> firstDocument = searchHits.get(0);
+                ingestDocument.setFieldValue(renderedTargetField, firstDocument);
+            } else {
+                List<Map<?, ?>> enrichDocuments = new ArrayList<>(searchHits.size());
+                enrichDocuments.addAll(searchHits);
+                ingestDocument.setFieldValue(renderedTargetField, enrichDocuments);
+            }
+        }
+        return ingestDocument;
+    }
+
     @Override
     public IngestDocument execute(IngestDocument ingestDocument) throws Exception {
         throw new UnsupportedOperationException("this method should not get executed");
@@ -9,6 +9,7 @@ package org.elasticsearch.xpack.enrich;
 import org.apache.lucene.util.SetOnce;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.cluster.routing.Preference;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.VersionType;
 import org.elasticsearch.index.query.ConstantScoreQueryBuilder;
@@ -19,6 +20,7 @@ import org.elasticsearch.ingest.TestTemplateService;
 import org.elasticsearch.script.TemplateScript;
 import org.elasticsearch.test.ESTestCase;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -28,8 +30,10 @@ import java.util.function.BiConsumer;
 import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class MatchProcessorTests extends ESTestCase {
 
@@ -375,6 +379,51 @@ public class MatchProcessorTests extends ESTestCase {
         assertThat(entry.get("tld"), equalTo("co"));
     }
 
+    public void testExecuteBatchSharesLookups() {
+        List<SearchRequest> requests = new ArrayList<>();
+        BiConsumer<SearchRequest, BiConsumer<List<Map<?, ?>>, Exception>> searchRunner = (request, handler) -> {
+            requests.add(request);
+            TermQueryBuilder termQueryBuilder = (TermQueryBuilder) ((ConstantScoreQueryBuilder) request.source().query()).innerQuery();
+            handler.accept(List.of(Map.of("domain", termQueryBuilder.value(), "tld", "co")), null);
+        };
+        MatchProcessor processor = new MatchProcessor(
+            "_tag",
+            null,
+            searchRunner,
+            "_name",
+            str("domain"),
+            str("entry"),
+            true,
+            false,
+            "domain",
+            1
+        );
+        List<IngestDocument> ingestDocuments = List.of(
+            new IngestDocument("_index", "_id1", null, 1L, VersionType.INTERNAL, Map.of("domain", "elastic.co")),
+            new IngestDocument("_index", "_id2", null, 1L, VersionType.INTERNAL, Map.of("domain", "elastic.com")),
+            new IngestDocument("_index", "_id3", null, 1L, VersionType.INTERNAL, Map.of("domain", "elastic.co")),
+            new IngestDocument("_index", "_id4", null, 1L, VersionType.INTERNAL, Map.of("other", "elastic.co"))
+        );
+        List<List<Tuple<IngestDocument, Exception>>> holder = new ArrayList<>();
+        processor.executeBatch(ingestDocuments, holder::add);
+
+        assertThat(requests.size(), equalTo(2));
+        assertThat(holder.size(), equalTo(1));
+        List<Tuple<IngestDocument, Exception>> results = holder.get(0);
+        assertThat(results.size(), equalTo(4));
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).v1(), sameInstance(ingestDocuments.get(i)));
+            assertThat(results.get(i).v2(), nullValue());
+        }
+        Map<?, ?> first = ingestDocuments.get(0).getFieldValue("entry", Map.class);
+        Map<?, ?> third = ingestDocuments.get(2).getFieldValue("entry", Map.class);
+        assertThat(first, equalTo(Map.of("domain", "elastic.co", "tld", "co")));
+        assertThat(third, equalTo(first));
+        assertThat(third, not(sameInstance(first)));
+        assertThat(ingestDocuments.get(1).getFieldValue("entry.domain", String.class), equalTo("elastic.com"));
+        assertThat(ingestDocuments.get(3).hasField("entry"), equalTo(false));
+    }
+
     private static final class MockSearchFunction implements BiConsumer<SearchRequest, BiConsumer<List<Map<?, ?>>, Exception>> {
         private final List<Map<?, ?>> mockResponse;
         private final SetOnce<SearchRequest> capturedRequest;
@@ -80,6 +80,16 @@ public class FrozenCacheService implements Releasable {
         Setting.Property.NodeScope
     );
 
+    /**
+     * Number of ranges to read ahead into the cache once a file is being read sequentially, for instance when scanning doc values.
+     */
+    public static final Setting<Integer> SHARED_CACHE_PREFETCH_RANGES_SETTING = Setting.intSetting(
+        SHARED_CACHE_SETTINGS_PREFIX + "prefetch_ranges",
+        0,
+        0,
+        Setting.Property.NodeScope
+    );
+
     public static final Setting<ByteSizeValue> SHARED_CACHE_REGION_SIZE_SETTING = new Setting<>(
         SHARED_CACHE_SETTINGS_PREFIX + "region_size",
         SHARED_CACHE_RANGE_SIZE_SETTING,
@@ -242,6 +252,7 @@ public class FrozenCacheService implements Releasable {
     private final long regionSize;
     private final ByteSizeValue rangeSize;
     private final ByteSizeValue recoveryRangeSize;
+    private final int prefetchRanges;
 
     private final int numRegions;
     private final ConcurrentLinkedQueue<Integer> freeRegions = new ConcurrentLinkedQueue<>();
@@ -299,6 +310,7 @@ public class FrozenCacheService implements Releasable {
         decayTask.rescheduleIfNecessary();
         this.rangeSize = SHARED_CACHE_RANGE_SIZE_SETTING.get(settings);
         this.recoveryRangeSize = SHARED_CACHE_RECOVERY_RANGE_SIZE_SETTING.get(settings);
+        this.prefetchRanges = SHARED_CACHE_PREFETCH_RANGES_SETTING.get(settings);
     }
 
     static long calculateCacheSize(Settings settings, long totalFsSize) {
@@ -315,6 +327,10 @@ public class FrozenCacheService implements Releasable {
         return toIntBytes(recoveryRangeSize.getBytes());
     }
 
+    public int getPrefetchRanges() {
+        return prefetchRanges;
+    }
+
     private int getRegion(long position) {
         return Math.toIntExact(position / regionSize);
     }
@@ -56,6 +56,7 @@ public class IndexInputStats {
     private final AtomicLong currentIndexCacheFills = new AtomicLong();
 
     private final Counter luceneBytesRead = new Counter();
+    private final Counter prefetchedBytes = new Counter();
 
     public IndexInputStats(long numFiles, long totalSize, long minSize, long maxSize, LongSupplier currentTimeNanos) {
         this(numFiles, totalSize, minSize, maxSize, SEEKING_THRESHOLD.getBytes(), currentTimeNanos);
@@ -155,6 +156,10 @@ public class IndexInputStats {
         luceneBytesRead.add(bytesRead);
     }
 
+    public void addPrefetchedBytes(long bytesPrefetched) {
+        prefetchedBytes.add(bytesPrefetched);
+    }
+
     public long getNumFiles() {
         return numFiles;
     }
@@ -227,6 +232,10 @@ public class IndexInputStats {
         return blobStoreBytesRequested;
     }
 
+    public Counter getPrefetchedBytes() {
+        return prefetchedBytes;
+    }
+
     public Counter getLuceneBytesRead() {
         return luceneBytesRead;
     }
@@ -418,7 +418,8 @@ public class SearchableSnapshotDirectory extends BaseDirectory {
                     context,
                     inputStats,
                     frozenCacheService.getRangeSize(),
-                    frozenCacheService.getRecoveryRangeSize()
+                    frozenCacheService.getRecoveryRangeSize(),
+                    frozenCacheService.getPrefetchRanges()
                 );
             } else {
                 return new CachedBlobContainerIndexInput(
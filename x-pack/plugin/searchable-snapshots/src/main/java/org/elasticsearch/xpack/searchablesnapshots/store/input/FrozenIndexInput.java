@@ -39,6 +39,16 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
     private static final Logger logger = LogManager.getLogger(FrozenIndexInput.class);
 
     private final FrozenCacheFile frozenCacheFile;
+    private final int prefetchRanges;
+
+    /**
+     * The absolute position right after the last read, used to detect sequential reads.
+     */
+    private long lastReadEnd = -1L;
+    /**
+     * The absolute position up to which this input already triggered read-ahead.
+     */
+    private long prefetchedUpTo = -1L;
 
     public FrozenIndexInput(
         String name,
@@ -47,7 +57,8 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
         IOContext context,
         IndexInputStats stats,
         int rangeSize,
-        int recoveryRangeSize
+        int recoveryRangeSize,
+        int prefetchRanges
     ) {
         this(
             name,
@@ -62,6 +73,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
             directory.getFrozenCacheFile(name, fileInfo.length()),
             rangeSize,
             recoveryRangeSize,
+            prefetchRanges,
             directory.getBlobCacheByteRange(name, fileInfo.length()),
             ByteRange.EMPTY
         );
@@ -81,6 +93,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
         FrozenCacheFile frozenCacheFile,
         int defaultRangeSize,
         int recoveryRangeSize,
+        int prefetchRanges,
         ByteRange headerBlobCacheByteRange,
         ByteRange footerBlobCacheByteRange
     ) {
@@ -101,6 +114,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
             footerBlobCacheByteRange
         );
         this.frozenCacheFile = frozenCacheFile;
+        this.prefetchRanges = prefetchRanges;
     }
 
     @Override
@@ -140,6 +154,9 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
                 : "[" + position + "-" + (position + length) + "] vs " + rangeToWrite;
             final ByteRange rangeToRead = ByteRange.of(position, position + length);
 
+            final boolean sequentialRead = prefetchRanges > 0 && position == lastReadEnd;
+            lastReadEnd = position + length;
+
             final StepListener<Integer> populateCacheFuture = frozenCacheFile.populateAndRead(
                 rangeToWrite,
                 rangeToRead,
@@ -164,6 +181,10 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
                 },
                 directory.cacheFetchAsyncExecutor()
             );
+            if (sequentialRead) {
+                // only once the demanded range is requested, so that the prefetched ranges can't get ahead of it
+                prefetchAfter(rangeToWrite);
+            }
 
             final int bytesRead = populateCacheFuture.asFuture().get();
             assert bytesRead == length : bytesRead + " vs " + length;
@@ -176,6 +197,45 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
         }
     }
 
+    /**
+     * Reads the ranges following {@code rangeToWrite} into the cache in the background, without waiting for them. This is only called
+     * once the input is read sequentially so that a scan does not pay a blob store round trip for every range it moves into.
+     */
+    private void prefetchAfter(ByteRange rangeToWrite) {
+        final long end = Math.min(rangeToWrite.end() + (long) prefetchRanges * getDefaultRangeSize(), offset + length());
+        long start = Math.max(rangeToWrite.end(), prefetchedUpTo);
+        while (start < end) {
+            final ByteRange rangeToPrefetch = computeRange(start);
+            prefetch(rangeToPrefetch);
+            start = rangeToPrefetch.end();
+        }
+        prefetchedUpTo = Math.max(prefetchedUpTo, start);
+    }
+
+    private void prefetch(ByteRange rangeToPrefetch) {
+        try {
+            frozenCacheFile.populateAndRead(
+                rangeToPrefetch,
+                rangeToPrefetch,
+                (channel, pos, relativePos, len) -> Math.toIntExact(len), // nothing to read, only populating the cache
+                (channel, channelPos, relativePos, len, progressUpdater) -> {
+                    final long startTimeNanos = stats.currentTimeNanos();
+                    try (InputStream input = openInputStreamFromBlobStore(rangeToPrefetch.start() + relativePos, len)) {
+                        writeCacheFile(channel, input, channelPos, relativePos, len, progressUpdater, startTimeNanos);
+                    }
+                    stats.addPrefetchedBytes(len);
+                },
+                directory.cacheFetchAsyncExecutor()
+            ).whenComplete(bytes -> {}, e -> logPrefetchFailure(rangeToPrefetch, e));
+        } catch (Exception e) {
+            logPrefetchFailure(rangeToPrefetch, e);
+        }
+    }
+
+    private void logPrefetchFailure(ByteRange rangeToPrefetch, Exception e) {
+        logger.debug(() -> new ParameterizedMessage("failed to prefetch range {} of {}", rangeToPrefetch, this), e);
+    }
+
     private static int positionalWrite(SharedBytes.IO fc, long start, ByteBuffer byteBuffer) throws IOException {
         assert assertCurrentThreadMayWriteCacheFile();
         byteBuffer.flip();
@@ -409,6 +469,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
             frozenCacheFile,
             defaultRangeSize,
             recoveryRangeSize,
+            prefetchRanges,
             sliceHeaderByteRange,
             sliceFooterByteRange
         );
@@ -7,9 +7,12 @@
 
 package org.elasticsearch.xpack.searchablesnapshots.store.input;
 
+import org.apache.lucene.store.IOContext;
 import org.apache.lucene.store.IndexInput;
 import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.common.blobstore.BlobContainer;
+import org.elasticsearch.common.blobstore.support.FilterBlobContainer;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.Tuple;
@@ -34,11 +37,17 @@ import org.elasticsearch.xpack.searchablesnapshots.cache.shared.SharedBytes;
 import org.elasticsearch.xpack.searchablesnapshots.store.SearchableSnapshotDirectory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.elasticsearch.xpack.searchablesnapshots.cache.full.CacheService.resolveSnapshotCache;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
@@ -85,6 +94,7 @@ public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
             .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), regionSize)
             .put(FrozenCacheService.SHARED_CACHE_RANGE_SIZE_SETTING.getKey(), rangeSize)
             .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), cacheSize)
+            .put(FrozenCacheService.SHARED_CACHE_PREFETCH_RANGES_SETTING.getKey(), randomIntBetween(0, 2))
             .put("path.home", createTempDir())
             .build();
         final Environment environment = TestEnvironment.newEnvironment(settings);
@@ -104,7 +114,7 @@ public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
                 cacheService,
                 fileInfo,
                 snapshotId,
-                fileData,
+                TestUtils.singleBlobContainer(fileInfo.partName(0), fileData),
                 shardPath,
                 cacheDir
             )
@@ -124,6 +134,91 @@ public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
         }
     }
 
+    public void testPrefetchesRangesAfterSequentialReads() throws Exception {
+        final int rangeSize = SharedBytes.PAGE_SIZE;
+        final int prefetchRanges = randomIntBetween(1, 3);
+        final String fileName = "_0.fdt";
+        final Tuple<String, byte[]> bytes = randomChecksumBytes(8 * rangeSize);
+        final byte[] fileData = bytes.v2();
+        final FileInfo fileInfo = new FileInfo(
+            randomAlphaOfLength(10),
+            new StoreFileMetadata(fileName, fileData.length, bytes.v1(), Version.CURRENT.luceneVersion.toString()),
+            new ByteSizeValue(fileData.length)
+        );
+
+        final ByteSizeValue regionSize = new ByteSizeValue(16L * SharedBytes.PAGE_SIZE);
+        final Settings settings = Settings.builder()
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), regionSize)
+            .put(FrozenCacheService.SHARED_CACHE_RANGE_SIZE_SETTING.getKey(), new ByteSizeValue(rangeSize))
+            .put(FrozenCacheService.SHARED_CACHE_RECOVERY_RANGE_SIZE_SETTING.getKey(), new ByteSizeValue(rangeSize))
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(2 * regionSize.getBytes()))
+            .put(FrozenCacheService.SHARED_CACHE_PREFETCH_RANGES_SETTING.getKey(), prefetchRanges)
+            .put("path.home", createTempDir())
+            .build();
+        final Environment environment = TestEnvironment.newEnvironment(settings);
+        for (Path path : environment.dataFiles()) {
+            Files.createDirectories(path);
+        }
+
+        // the start of every range fetched from the blob store
+        final List<Long> fetchedRanges = Collections.synchronizedList(new ArrayList<>());
+        final BlobContainer blobContainer = new FilterBlobContainer(TestUtils.singleBlobContainer(fileInfo.partName(0), fileData)) {
+            @Override
+            protected BlobContainer wrapChild(BlobContainer child) {
+                return child;
+            }
+
+            @Override
+            public InputStream readBlob(String blobName, long position, long length) throws IOException {
+                fetchedRanges.add(position);
+                return super.readBlob(blobName, position, length);
+            }
+        };
+
+        SnapshotId snapshotId = new SnapshotId("_name", "_uuid");
+        final Path shardDir = randomShardPath(SHARD_ID);
+        final ShardPath shardPath = new ShardPath(false, shardDir, shardDir, SHARD_ID);
+        final Path cacheDir = Files.createDirectories(resolveSnapshotCache(shardDir).resolve(snapshotId.getUUID()));
+        try (
+            NodeEnvironment nodeEnvironment = new NodeEnvironment(settings, environment);
+            FrozenCacheService frozenCacheService = new FrozenCacheService(nodeEnvironment, settings, threadPool);
+            CacheService cacheService = randomCacheService();
+            TestSearchableSnapshotDirectory directory = new TestSearchableSnapshotDirectory(
+                frozenCacheService,
+                cacheService,
+                fileInfo,
+                snapshotId,
+                blobContainer,
+                shardPath,
+                cacheDir
+            )
+        ) {
+            cacheService.start();
+            directory.loadSnapshot(createRecoveryState(true), ActionListener.wrap(() -> {}));
+
+            try (IndexInput indexInput = directory.openInput(fileName, IOContext.DEFAULT)) {
+                assertThat(indexInput, instanceOf(FrozenIndexInput.class));
+                final byte[] buffer = new byte[rangeSize];
+
+                // the first read isn't sequential so only the demanded range is fetched
+                indexInput.seek(rangeSize);
+                indexInput.readBytes(buffer, 0, rangeSize);
+                assertArrayEquals(Arrays.copyOfRange(fileData, rangeSize, 2 * rangeSize), buffer);
+                assertThat(fetchedRanges, contains((long) rangeSize));
+
+                // the next read continues where the previous one ended, so the ranges that follow the demanded one are prefetched
+                indexInput.readBytes(buffer, 0, rangeSize);
+                assertArrayEquals(Arrays.copyOfRange(fileData, 2 * rangeSize, 3 * rangeSize), buffer);
+                final List<Long> expectedRanges = new ArrayList<>();
+                for (int range = 1; range <= 2 + prefetchRanges; range++) {
+                    expectedRanges.add((long) range * rangeSize);
+                }
+                // each range is fetched exactly once, the prefetched ones in the background
+                assertBusy(() -> assertThat(fetchedRanges.stream().sorted().toList(), equalTo(expectedRanges)));
+            }
+        }
+    }
+
     private class TestSearchableSnapshotDirectory extends SearchableSnapshotDirectory {
 
         TestSearchableSnapshotDirectory(
@@ -131,12 +226,12 @@ public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
             CacheService cacheService,
             FileInfo fileInfo,
             SnapshotId snapshotId,
-            byte[] fileData,
+            BlobContainer blobContainer,
             ShardPath shardPath,
             Path cacheDir
         ) {
             super(
-                () -> TestUtils.singleBlobContainer(fileInfo.partName(0), fileData),
+                () -> blobContainer,
                 () -> new BlobStoreIndexShardSnapshot("_snapshot_id", 0L, List.of(fileInfo), 0L, 0L, 0, 0L),
                 new TestUtils.SimpleBlobStoreCacheService(),
                 "_repository",